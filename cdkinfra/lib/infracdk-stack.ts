@@ -24,9 +24,21 @@ export class InfracdkStack extends cdk.Stack {
       encryption: s3.BucketEncryption.S3_MANAGED,
       blockPublicAccess: s3.BlockPublicAccess.BLOCK_ALL,
       versioned: true,
-      lifecycleRules: [{
-        expiration: cdk.Duration.days(90)
-      }],
+      lifecycleRules: [
+        {
+          // Documentos subidos por los usuarios
+          prefix: 'solicitudes/',
+          expiration: cdk.Duration.days(90),
+        },
+        {
+          // Solicitudes archivadas (NDJSON comprimido): almacenamiento frío con lectura inmediata
+          prefix: 'archivo/',
+          transitions: [{
+            storageClass: s3.StorageClass.GLACIER_INSTANT_RETRIEVAL,
+            transitionAfter: cdk.Duration.days(30),
+          }],
+        },
+      ],
       removalPolicy: cdk.RemovalPolicy.RETAIN,
     });
 
@@ -41,6 +53,10 @@ export class InfracdkStack extends cdk.Stack {
       },
     });
 
+    // Eventos desde la replicación lógica (EVENTOS_FUENTE=cdc) con `cdk deploy -c eventosCdc=true`.
+    // rds.logical_replication requiere reiniciar el writer para aplicarse.
+    const eventosCdc = this.node.tryGetContext('eventosCdc') === 'true';
+
     // Base de datos Aurora Postgres Serverless v2
     const db = new rds.DatabaseCluster(this, 'SolicitudesDB', {
       engine: rds.DatabaseClusterEngine.auroraPostgres({
@@ -58,6 +74,7 @@ export class InfracdkStack extends cdk.Stack {
           scaleWithWriter: true,
         }),
       ],
+      parameters: eventosCdc ? { 'rds.logical_replication': '1' } : undefined,
       serverlessV2MinCapacity: 0.5,
       serverlessV2MaxCapacity: 2,
       backup: {
@@ -73,6 +90,20 @@ export class InfracdkStack extends cdk.Stack {
       retentionPeriod: cdk.Duration.days(14),
     });
 
+    // SQS FIFO: orden y deduplicación por grupo (patente). Alto rendimiento: el límite de
+    // mensajes por segundo aplica por grupo y la deduplicación también es por grupo.
+    // La aplicación la usa con `cdk deploy -c eventosFifo=true`.
+    const SQS_fifo_queue = new sqs.Queue(this, 'SolicitudesFifoQueue', {
+      fifo: true,
+      contentBasedDeduplication: false,
+      deduplicationScope: sqs.DeduplicationScope.MESSAGE_GROUP,
+      fifoThroughputLimit: sqs.FifoThroughputLimit.PER_MESSAGE_GROUP_ID,
+      encryption: sqs.QueueEncryption.KMS_MANAGED,
+      visibilityTimeout: cdk.Duration.seconds(300),
+      retentionPeriod: cdk.Duration.days(14),
+    });
+    const eventosQueue = this.node.tryGetContext('eventosFifo') === 'true' ? SQS_fifo_queue : SQS_queue;
+
     // ECS Cluster
     const cluster = new ecs.Cluster(this, 'FleetCluster', {
       vpc,
@@ -86,7 +117,7 @@ export class InfracdkStack extends cdk.Stack {
 
     // IAM: Principio de mínimo privilegio
     documentsBucket.grantReadWrite(taskDef.taskRole);
-    SQS_queue.grantSendMessages(taskDef.taskRole);
+    eventosQueue.grantSendMessages(taskDef.taskRole);
     dbCredentials.grantRead(taskDef.taskRole);
     
     // Container con puerto expuesto
@@ -97,7 +128,8 @@ export class InfracdkStack extends cdk.Stack {
         DB_PORT: db.clusterEndpoint.port.toString(),
         DB_NAME: 'fleet_management',
         S3_BUCKET: documentsBucket.bucketName,
-        SQS_QUEUE_URL: SQS_queue.queueUrl,
+        SQS_QUEUE_URL: eventosQueue.queueUrl,
+        EVENTOS_FUENTE: eventosCdc ? 'cdc' : 'aplicacion',
         AWS_REGION: cdk.Stack.of(this).region,
       },
       secrets: {
@@ -106,11 +138,13 @@ export class InfracdkStack extends cdk.Stack {
       },
       logging: ecs.LogDrivers.awsLogs({ streamPrefix: 'fleet-service' }),
       healthCheck: {
-        command: ['CMD-SHELL', 'curl -f http://localhost:8080/actuator/health || exit 1'],
-        interval: cdk.Duration.seconds(30),
+        // Liveness: ECS reinicia la tarea solo si el proceso está colgado, no si una dependencia falla
+        command: ['CMD-SHELL', 'curl -f http://localhost:8080/actuator/health/liveness || exit 1'],
+        interval: cdk.Duration.seconds(10),
         timeout: cdk.Duration.seconds(5),
         retries: 3,
-        startPeriod: cdk.Duration.seconds(60),
+        // Imagen con CDS y clientes AWS diferidos: arranca en segundos
+        startPeriod: cdk.Duration.seconds(30),
       },
     });
 
@@ -138,7 +172,7 @@ export class InfracdkStack extends cdk.Stack {
       desiredCount: 2,
       assignPublicIp: false,
       vpcSubnets: { subnetType: ec2.SubnetType.PRIVATE_WITH_EGRESS },
-      healthCheckGracePeriod: cdk.Duration.seconds(60),
+      healthCheckGracePeriod: cdk.Duration.seconds(30),
     });
 
     // Target Group y registro en ALB
@@ -147,8 +181,10 @@ export class InfracdkStack extends cdk.Stack {
       protocol: elbv2.ApplicationProtocol.HTTP,
       targets: [service],
       healthCheck: {
-        path: '/actuator/health',
-        interval: cdk.Duration.seconds(30),
+        // Readiness: 503 hasta que termina el warm-up, así el ALB no envía tráfico a una tarea fría
+        path: '/actuator/health/readiness',
+        // Con 2 chequeos sanos cada 10s una tarea nueva recibe tráfico ~20s después de arrancar
+        interval: cdk.Duration.seconds(10),
         timeout: cdk.Duration.seconds(5),
         healthyThresholdCount: 2,
         unhealthyThresholdCount: 3,
@@ -193,5 +229,11 @@ export class InfracdkStack extends cdk.Stack {
       description: 'URL de la cola SQS',
       exportName: 'FleetSQSQueue',
     });
+
+    new cdk.CfnOutput(this, 'SQSFifoQueueUrl', {
+      value: SQS_fifo_queue.queueUrl,
+      description: 'URL de la cola SQS FIFO',
+      exportName: 'FleetSQSFifoQueue',
+    });
   }
 }
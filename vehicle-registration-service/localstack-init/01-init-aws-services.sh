@@ -25,6 +25,12 @@ awslocal sqs create-queue \
   --queue-name fleet-solicitudes-queue \
   --attributes VisibilityTimeout=300,MessageRetentionPeriod=1209600
 
+echo ""
+echo "2b. Creando cola SQS FIFO: fleet-solicitudes-queue.fifo (orden por grupo, alto rendimiento)"
+awslocal sqs create-queue \
+  --queue-name fleet-solicitudes-queue.fifo \
+  --attributes FifoQueue=true,ContentBasedDeduplication=false,DeduplicationScope=messageGroup,FifoThroughputLimit=perMessageGroupId,VisibilityTimeout=300,MessageRetentionPeriod=1209600
+
 echo ""
 echo "3. Obteniendo URL de la cola SQS"
 QUEUE_URL=$(awslocal sqs get-queue-url --queue-name fleet-solicitudes-queue --query 'QueueUrl' --output text)
@@ -44,6 +50,7 @@ echo ""
 echo "Recursos creados:"
 echo "  - S3 Bucket: fleet-documents"
 echo "  - SQS Queue: fleet-solicitudes-queue"
+echo "  - SQS Queue FIFO: fleet-solicitudes-queue.fifo"
 echo "  - Secret: fleet-db-credentials"
 echo ""
 echo "Endpoints LocalStack:"
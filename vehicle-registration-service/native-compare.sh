@@ -0,0 +1,48 @@
+#!/bin/bash
+# Compara la aplicación en JVM y el binario nativo contra la misma base de datos:
+# tiempo desde el lanzamiento hasta la primera petición atendida y RSS después de las pruebas de humo.
+#
+# Requiere: ./gradlew bootJar  y  ./gradlew -Pnative nativeCompile
+# Uso: ./native-compare.sh   (PUERTO, JAVA_OPTS y GRADLE opcionales; DB_URL etc. como en la aplicación)
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+PUERTO=${PUERTO:-8080}
+GRADLE=${GRADLE:-./gradlew}
+JAR=build/libs/vehicle-registration-service-0.0.1-SNAPSHOT.jar
+NATIVO=build/native/nativeCompile/vehicle-registration-service
+
+medir() {
+    local nombre=$1
+    shift
+    local inicio
+    inicio=$(date +%s%N)
+    "$@" --server.port="$PUERTO" > "build/compare-$nombre.log" 2>&1 &
+    local pid=$!
+
+    until curl -sf "http://localhost:$PUERTO/api/v1/solicitudes?size=1" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$nombre terminó sin atender peticiones (ver build/compare-$nombre.log)"
+            return 1
+        fi
+        sleep 0.05
+    done
+    local primera=$(( ($(date +%s%N) - inicio) / 1000000 ))
+
+    $GRADLE -q smokeTest -PsmokeBaseUrl="http://localhost:$PUERTO"
+    local rss
+    rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    printf "%-7s primera petición: %6d ms   RSS tras smoke: %5d MB\n" "$nombre" "$primera" "$rss"
+}
+
+medir jvm java ${JAVA_OPTS:-} -jar "$JAR"
+
+if [ -x "$NATIVO" ]; then
+    medir nativo "$NATIVO"
+else
+    echo "nativo  sin binario en $NATIVO (./gradlew -Pnative nativeCompile)"
+fi
@@ -0,0 +1,10 @@
+#!/bin/bash
+set -e
+
+# Usuario y slot para la réplica de streaming (solo entorno local)
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD '${REPLICATION_PASSWORD:-replicator}';
+    SELECT pg_create_physical_replication_slot('replica_slot');
+EOSQL
+
+echo "host replication replicator all md5" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,14 @@
+#!/bin/bash
+set -e
+
+# Clona el primario la primera vez y arranca como hot standby
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  echo "Clonando primario ${PRIMARY_HOST}..."
+  until pg_basebackup -h "$PRIMARY_HOST" -U replicator -D "$PGDATA" -Fp -Xs -P -R -S replica_slot; do
+    echo "Primario no disponible, reintentando..."
+    sleep 2
+  done
+  chmod 700 "$PGDATA"
+fi
+
+exec postgres -c hot_standby=on
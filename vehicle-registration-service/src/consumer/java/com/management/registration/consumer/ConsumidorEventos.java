@@ -0,0 +1,232 @@
+package com.management.registration.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.management.registration.event.BinarioEventoCodec;
+import com.management.registration.event.EventoCodecs;
+import com.management.registration.event.JsonEventoCodec;
+import com.management.registration.event.SolicitudCreadaEvent;
+import com.management.registration.event.SolicitudEstadoCambiadoEvent;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsClientBuilder;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumidor de la cola de eventos para medir la latencia de punta a punta: desde la fecha del evento
+ * ({@code fechaCreacion} de las altas, {@code fechaCambio} de los cambios de estado) hasta que se consume.
+ * Hace long polling con ReceiveMessage de hasta 10 mensajes en {@code CONSUMIDOR_PARALELISMO} hilos,
+ * borra con DeleteMessageBatch y decodifica según el atributo {@code content-type} (JSON o binario).
+ * Cada {@code CONSUMIDOR_REPORTE} informa eventos por segundo y percentiles; al terminar, el resumen total.
+ * <p>
+ * Las fechas de los eventos no llevan zona: {@code CONSUMIDOR_ZONA} debe ser la de la aplicación
+ * (UTC en la imagen Docker). Variables: {@code AWS_ENDPOINT_URL}, {@code AWS_REGION}, {@code AWS_SQS_QUEUE_URL},
+ * {@code CONSUMIDOR_PARALELISMO} (4), {@code CONSUMIDOR_DURACION} (0 = hasta Ctrl+C), {@code CONSUMIDOR_REPORTE} (5s)
+ * y {@code CONSUMIDOR_INACTIVIDAD} (0 = no termina por falta de mensajes; se cuenta desde el primero).
+ */
+@Slf4j
+public class ConsumidorEventos {
+
+    private static final double[] PERCENTILES = {50, 95, 99, 100};
+    private static final int MAX_MENSAJES_POR_RECEPCION = 10;
+    private static final int ESPERA_LONG_POLLING_SEGUNDOS = 20;
+
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final EventoCodecs codecs;
+    private final ZoneId zona;
+    private final LatenciasEventos latencias = new LatenciasEventos();
+    private final AtomicLong mensajes = new AtomicLong();
+    private final AtomicLong invalidos = new AtomicLong();
+    private volatile long ultimaRecepcion;
+    private volatile boolean activo = true;
+
+    ConsumidorEventos(SqsClient sqsClient, String queueUrl, EventoCodecs codecs, ZoneId zona) {
+        this.sqsClient = sqsClient;
+        this.queueUrl = queueUrl;
+        this.codecs = codecs;
+        this.zona = zona;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int paralelismo = Integer.parseInt(variable("CONSUMIDOR_PARALELISMO", "4"));
+        Duration duracion = Duration.parse("PT" + variable("CONSUMIDOR_DURACION", "0s"));
+        Duration inactividad = Duration.parse("PT" + variable("CONSUMIDOR_INACTIVIDAD", "0s"));
+        Duration reporte = Duration.parse("PT" + variable("CONSUMIDOR_REPORTE", "5s"));
+        ZoneId zona = ZoneId.of(variable("CONSUMIDOR_ZONA", ZoneId.systemDefault().getId()));
+        String queueUrl = variable("AWS_SQS_QUEUE_URL",
+                "http://localhost:4566/000000000000/fleet-solicitudes-queue");
+
+        SqsClientBuilder builder = SqsClient.builder()
+                .region(Region.of(variable("AWS_REGION", "us-east-1")))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(paralelismo + 2)
+                        // Mayor que la espera del long polling
+                        .socketTimeout(Duration.ofSeconds(ESPERA_LONG_POLLING_SEGUNDOS + 10)));
+        String endpoint = variable("AWS_ENDPOINT_URL", "http://localhost:4566");
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        EventoCodecs codecs = new EventoCodecs(
+                List.of(new JsonEventoCodec(objectMapper), new BinarioEventoCodec()), JsonEventoCodec.NOMBRE);
+
+        try (SqsClient sqsClient = builder.build()) {
+            new ConsumidorEventos(sqsClient, queueUrl, codecs, zona).ejecutar(paralelismo, duracion, inactividad, reporte);
+        }
+    }
+
+    void ejecutar(int paralelismo, Duration duracion, Duration inactividad, Duration reporte)
+            throws InterruptedException {
+        log.info("Consumiendo {} con {} hilos (zona de las fechas: {})", queueUrl, paralelismo, zona);
+        Thread resumenAlSalir = new Thread(() -> {
+            activo = false;
+            resumen();
+        });
+        Runtime.getRuntime().addShutdownHook(resumenAlSalir);
+
+        ExecutorService hilos = Executors.newFixedThreadPool(paralelismo);
+        for (int i = 0; i < paralelismo; i++) {
+            hilos.submit(this::consumir);
+        }
+
+        long inicio = System.nanoTime();
+        long eventosAnteriores = 0;
+        while (activo) {
+            Thread.sleep(reporte.toMillis());
+            int eventos = latencias.cantidad();
+            informar("Últimos " + reporte.toSeconds() + "s", eventos - eventosAnteriores, reporte,
+                    latencias.percentiles((int) eventosAnteriores, PERCENTILES));
+            eventosAnteriores = eventos;
+
+            long ahora = System.nanoTime();
+            boolean vencida = !duracion.isZero() && ahora - inicio >= duracion.toNanos();
+            // La inactividad se cuenta desde el último mensaje recibido, no desde el arranque
+            boolean inactivo = !inactividad.isZero() && mensajes.get() > 0
+                    && ahora - ultimaRecepcion >= inactividad.toNanos();
+            if (vencida || inactivo) {
+                activo = false;
+            }
+        }
+
+        hilos.shutdown();
+        // Cada hilo termina al volver de su long polling en curso
+        hilos.awaitTermination(ESPERA_LONG_POLLING_SEGUNDOS + 5, TimeUnit.SECONDS);
+        try {
+            Runtime.getRuntime().removeShutdownHook(resumenAlSalir);
+        } catch (IllegalStateException e) {
+            // Ya se está apagando (Ctrl+C): el resumen lo imprime el hook
+            return;
+        }
+        resumen();
+        hilos.shutdownNow();
+    }
+
+    private void consumir() {
+        while (activo) {
+            try {
+                ReceiveMessageResponse respuesta = sqsClient.receiveMessage(builder -> builder
+                        .queueUrl(queueUrl)
+                        .maxNumberOfMessages(MAX_MENSAJES_POR_RECEPCION)
+                        .waitTimeSeconds(ESPERA_LONG_POLLING_SEGUNDOS)
+                        .messageAttributeNames("All"));
+                if (respuesta.messages().isEmpty()) {
+                    continue;
+                }
+                ultimaRecepcion = System.nanoTime();
+
+                List<DeleteMessageBatchRequestEntry> procesados = new ArrayList<>();
+                for (Message mensaje : respuesta.messages()) {
+                    if (procesar(mensaje)) {
+                        procesados.add(DeleteMessageBatchRequestEntry.builder()
+                                .id(String.valueOf(procesados.size()))
+                                .receiptHandle(mensaje.receiptHandle())
+                                .build());
+                    }
+                }
+                if (!procesados.isEmpty()) {
+                    sqsClient.deleteMessageBatch(builder -> builder.queueUrl(queueUrl).entries(procesados));
+                }
+            } catch (Exception e) {
+                log.warn("Error al consumir de SQS: {}", e.getMessage());
+                dormir();
+            }
+        }
+    }
+
+    // Los mensajes que no se pueden decodificar no se borran: vuelven a la cola (o a la DLQ)
+    private boolean procesar(Message mensaje) {
+        mensajes.incrementAndGet();
+        MessageAttributeValue tipoContenido = mensaje.messageAttributes().get(EventoCodecs.ATRIBUTO_TIPO_CONTENIDO);
+        try {
+            LocalDateTime ahora = LocalDateTime.now(zona);
+            List<Object> eventos = codecs.porTipoContenido(tipoContenido != null ? tipoContenido.stringValue() : null)
+                    .decodificar(mensaje.body());
+            for (Object evento : eventos) {
+                LocalDateTime fecha = switch (evento) {
+                    case SolicitudCreadaEvent creada -> creada.getFechaCreacion();
+                    case SolicitudEstadoCambiadoEvent cambio -> cambio.getFechaCambio();
+                    default -> null;
+                };
+                if (fecha != null) {
+                    latencias.registrar(Duration.between(fecha, ahora).toMillis());
+                }
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            invalidos.incrementAndGet();
+            log.warn("Mensaje {} no decodificable: {}", mensaje.messageId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void resumen() {
+        log.info("Total: {} mensajes, {} no decodificables", mensajes.get(), invalidos.get());
+        informar("Total", latencias.cantidad(), null, latencias.percentiles(0, PERCENTILES));
+    }
+
+    private static void informar(String periodo, long eventos, Duration intervalo, long[] percentiles) {
+        if (percentiles.length == 0) {
+            log.info("{}: sin eventos", periodo);
+            return;
+        }
+        String tasa = intervalo != null ? String.format(" (%.1f/s)", eventos * 1000.0 / intervalo.toMillis()) : "";
+        log.info("{}: {} eventos{} - latencia ms p50={} p95={} p99={} max={}",
+                periodo, eventos, tasa, percentiles[0], percentiles[1], percentiles[2], percentiles[3]);
+    }
+
+    private static void dormir() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String variable(String nombre, String porDefecto) {
+        String valor = System.getenv(nombre);
+        return valor != null ? valor : porDefecto;
+    }
+}
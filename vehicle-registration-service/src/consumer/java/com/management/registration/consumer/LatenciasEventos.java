@@ -0,0 +1,41 @@
+package com.management.registration.consumer;
+
+import java.util.Arrays;
+
+/**
+ * Latencias de punta a punta (ms) de los eventos consumidos, para calcular percentiles.
+ * Guarda todas las muestras: pensado para corridas de benchmark, no para producción.
+ */
+class LatenciasEventos {
+
+    private long[] muestras = new long[1 << 16];
+    private int cantidad;
+
+    synchronized void registrar(long milisegundos) {
+        if (cantidad == muestras.length) {
+            muestras = Arrays.copyOf(muestras, cantidad * 2);
+        }
+        muestras[cantidad++] = milisegundos;
+    }
+
+    synchronized int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Percentiles pedidos (0 a 100) sobre las muestras desde {@code desde}; vacío si no hay muestras.
+     */
+    synchronized long[] percentiles(int desde, double... percentiles) {
+        if (desde >= cantidad) {
+            return new long[0];
+        }
+        long[] ordenadas = Arrays.copyOfRange(muestras, desde, cantidad);
+        Arrays.sort(ordenadas);
+        long[] resultado = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            int posicion = (int) Math.ceil(percentiles[i] / 100 * ordenadas.length) - 1;
+            resultado[i] = ordenadas[Math.clamp(posicion, 0, ordenadas.length - 1)];
+        }
+        return resultado;
+    }
+}
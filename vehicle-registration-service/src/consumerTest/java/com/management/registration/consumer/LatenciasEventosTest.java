@@ -0,0 +1,47 @@
+package com.management.registration.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatenciasEventosTest {
+
+    @Test
+    @DisplayName("Debe calcular percentiles por rango más cercano sin importar el orden de llegada")
+    void percentiles_DebeUsarRangoMasCercano() {
+        LatenciasEventos latencias = new LatenciasEventos();
+        for (int i = 100; i >= 1; i--) {
+            latencias.registrar(i);
+        }
+
+        assertArrayEquals(new long[]{1, 50, 95, 99, 100}, latencias.percentiles(0, 0, 50, 95, 99, 100));
+    }
+
+    @Test
+    @DisplayName("Debe considerar solo las muestras desde la posición pedida")
+    void percentiles_Desde_DebeIgnorarMuestrasAnteriores() {
+        LatenciasEventos latencias = new LatenciasEventos();
+        latencias.registrar(1000);
+        latencias.registrar(2000);
+        latencias.registrar(5);
+        latencias.registrar(7);
+
+        assertArrayEquals(new long[]{5, 7}, latencias.percentiles(2, 50, 100));
+        assertEquals(0, latencias.percentiles(4, 50).length);
+        assertEquals(0, new LatenciasEventos().percentiles(0, 50).length);
+    }
+
+    @Test
+    @DisplayName("Debe conservar todas las muestras al crecer sobre la capacidad inicial")
+    void registrar_SobreCapacidadInicial_DebeConservarMuestras() {
+        LatenciasEventos latencias = new LatenciasEventos();
+        int total = (1 << 16) + 10;
+        for (int i = 1; i <= total; i++) {
+            latencias.registrar(i);
+        }
+
+        assertEquals(total, latencias.cantidad());
+        assertArrayEquals(new long[]{1, total}, latencias.percentiles(0, 0, 100));
+    }
+}
@@ -0,0 +1,84 @@
+package com.management.registration.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.event.SolicitudCreadaEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de los DTOs del alta con el {@code ObjectMapper} por defecto (introspección del bean)
+ * frente al mismo mapper con {@link SerializadoresModule}.
+ * {@code ./gradlew jmh}; resultados en build/results/jmh/results.txt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    private ObjectMapper porDefecto;
+    private ObjectMapper conModulo;
+    private SolicitudResponse respuesta;
+    private SolicitudCreadaEvent evento;
+
+    @Setup
+    public void preparar() {
+        porDefecto = mapper();
+        conModulo = mapper().registerModule(new SerializadoresModule());
+
+        LocalDateTime ahora = LocalDateTime.now();
+        respuesta = SolicitudResponse.builder()
+                .id(UUID.randomUUID())
+                .nombrePropietario("Juan Pérez González")
+                .rut("12345678-5")
+                .email("juan.perez@example.com")
+                .telefono("+56912345678")
+                .patente("BCDF12")
+                .marca("Toyota")
+                .modelo("Yaris")
+                .anio(2020)
+                .color("Rojo")
+                .tipoVehiculo("AUTOMOVIL")
+                .estado(EstadoSolicitud.PENDIENTE)
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .build();
+        evento = SolicitudCreadaEvent.fromSolicitud(respuesta.getId(), respuesta.getPatente(),
+                respuesta.getNombrePropietario(), respuesta.getRut(), respuesta.getEmail());
+    }
+
+    @Benchmark
+    public byte[] respuestaPorDefecto() throws Exception {
+        return porDefecto.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public byte[] respuestaConModulo() throws Exception {
+        return conModulo.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public String eventoPorDefecto() throws Exception {
+        return porDefecto.writeValueAsString(evento);
+    }
+
+    @Benchmark
+    public String eventoConModulo() throws Exception {
+        return conModulo.writeValueAsString(evento);
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
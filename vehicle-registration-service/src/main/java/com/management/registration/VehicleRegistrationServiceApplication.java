@@ -2,14 +2,20 @@ package com.management.registration;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class VehicleRegistrationServiceApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(VehicleRegistrationServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(VehicleRegistrationServiceApplication.class);
+		// Registra cada paso del arranque para el reporte por fases (StartupReport y /actuator/startup)
+		application.setApplicationStartup(new BufferingApplicationStartup(10000));
+		application.run(args);
 	}
 
 }
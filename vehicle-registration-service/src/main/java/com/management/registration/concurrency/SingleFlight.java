@@ -0,0 +1,82 @@
+package com.management.registration.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave: la primera ejecuta la operación y las que llegan
+ * mientras está en curso reciben su mismo resultado (o su misma excepción).
+ * No es un caché: al terminar la clave se libera y la siguiente llamada vuelve a ejecutar.
+ *
+ * Métricas (tag {@code nombre}): {@code app.singleflight.calls{resultado=ejecutada|compartida}},
+ * {@code app.singleflight.in-flight} y {@code app.singleflight.collapse-ratio} (compartidas / total).
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final Counter ejecutadas;
+    private final Counter compartidas;
+
+    public SingleFlight(String nombre, MeterRegistry meterRegistry) {
+        this.ejecutadas = Counter.builder("app.singleflight.calls")
+                .tag("nombre", nombre)
+                .tag("resultado", "ejecutada")
+                .register(meterRegistry);
+        this.compartidas = Counter.builder("app.singleflight.calls")
+                .tag("nombre", nombre)
+                .tag("resultado", "compartida")
+                .register(meterRegistry);
+        Gauge.builder("app.singleflight.in-flight", enCurso, ConcurrentHashMap::size)
+                .tag("nombre", nombre)
+                .register(meterRegistry);
+        Gauge.builder("app.singleflight.collapse-ratio", this, SingleFlight::getRatioColapso)
+                .tag("nombre", nombre)
+                .register(meterRegistry);
+    }
+
+    public V ejecutar(K clave, Supplier<V> operacion) {
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> vigente = enCurso.putIfAbsent(clave, propio);
+        if (vigente != null) {
+            compartidas.increment();
+            return esperar(vigente);
+        }
+
+        ejecutadas.increment();
+        try {
+            V resultado = operacion.get();
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    public double getRatioColapso() {
+        double total = ejecutadas.count() + compartidas.count();
+        return total == 0 ? 0 : compartidas.count() / total;
+    }
+
+    private V esperar(CompletableFuture<V> vigente) {
+        try {
+            return vigente.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando una lectura en curso", e);
+        }
+    }
+}
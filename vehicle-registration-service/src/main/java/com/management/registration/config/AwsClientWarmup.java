@@ -0,0 +1,49 @@
+package com.management.registration.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+/**
+ * Construye los clientes de AWS ({@code @Lazy}) durante el warm-up, antes de que la tarea reciba tráfico,
+ * para que la primera petición que los use no pague ese costo.
+ */
+@Component
+@Slf4j
+public class AwsClientWarmup {
+
+    private final ObjectProvider<S3Client> s3Client;
+    private final ObjectProvider<S3Presigner> s3Presigner;
+    private final ObjectProvider<SqsClient> sqsClient;
+
+    @Value("${aws.warmup-enabled:true}")
+    private boolean habilitado;
+
+    public AwsClientWarmup(ObjectProvider<S3Client> s3Client,
+                           ObjectProvider<S3Presigner> s3Presigner,
+                           ObjectProvider<SqsClient> sqsClient) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.sqsClient = sqsClient;
+    }
+
+    public void inicializar() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            s3Client.getIfAvailable();
+            s3Presigner.getIfAvailable();
+            sqsClient.getIfAvailable();
+            log.info("Clientes de AWS inicializados en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+        } catch (Exception e) {
+            // Se reintentará al primer uso
+            log.warn("No se pudieron inicializar los clientes de AWS: {}", e.getMessage());
+        }
+    }
+}
@@ -3,43 +3,93 @@ package com.management.registration.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Clientes de AWS. Son {@code @Lazy}: construirlos (modelos del SDK, reglas de endpoints, cliente HTTP)
+ * no retrasa el refresh del contexto; se inyectan como {@code ObjectProvider} y {@link AwsClientWarmup} los crea
+ * durante el warm-up, en paralelo con el resto, antes de que la tarea reciba tráfico.
+ */
 @Configuration
 public class AwsConfig {
 
     @Value("${aws.region:us-east-1}")
     private String awsRegion;
 
+    // Endpoint alternativo (LocalStack); vacío en AWS
+    @Value("${aws.endpoint-url:}")
+    private String endpointUrl;
+
     @Value("${aws.s3.enabled:false}")
     private boolean s3Enabled;
 
     @Value("${aws.sqs.enabled:false}")
     private boolean sqsEnabled;
 
+    // Timeouts explícitos: sin ellos una dependencia lenta retiene el hilo según los defaults del SDK
+    @Value("${aws.http.connection-timeout:1s}")
+    private Duration connectionTimeout;
+
+    @Value("${aws.http.connection-acquisition-timeout:500ms}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${aws.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.max-retries:2}")
+    private int maxRetries;
+
+    @Value("${aws.s3.api-call-timeout:30s}")
+    private Duration s3ApiCallTimeout;
+
+    @Value("${aws.s3.api-call-attempt-timeout:10s}")
+    private Duration s3ApiCallAttemptTimeout;
+
+    @Value("${aws.sqs.api-call-timeout:3s}")
+    private Duration sqsApiCallTimeout;
+
+    @Value("${aws.sqs.api-call-attempt-timeout:1s}")
+    private Duration sqsApiCallAttemptTimeout;
+
     /**
      * Bean para S3 Client
      */
     @Bean
+    @Lazy
     public S3Client s3Client() {
         if (!s3Enabled) {
             return null; // No crear cliente si S3 está deshabilitado
         }
 
-        return S3Client.builder()
+        var builder = S3Client.builder()
                 .region(Region.of(awsRegion))
                 .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .httpClientBuilder(httpClient(s3ApiCallAttemptTimeout))
+                .overrideConfiguration(timeouts(s3ApiCallTimeout, s3ApiCallAttemptTimeout));
+
+        if (tieneEndpointAlternativo()) {
+            builder.endpointOverride(URI.create(endpointUrl)).forcePathStyle(true);
+        }
+        return builder.build();
     }
 
     /**
      * Bean para S3 Presigner (generación de URLs prefirmadas)
      */
     @Bean
+    @Lazy
     public S3Presigner s3Presigner() {
         if (!s3Enabled) {
             // Crear un presigner mock para desarrollo local
@@ -48,24 +98,59 @@ public class AwsConfig {
                     .build();
         }
 
-        return S3Presigner.builder()
+        var builder = S3Presigner.builder()
                 .region(Region.of(awsRegion))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .credentialsProvider(DefaultCredentialsProvider.create());
+
+        if (tieneEndpointAlternativo()) {
+            builder.endpointOverride(URI.create(endpointUrl))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
     }
 
     /**
      * Bean para SQS Client
      */
     @Bean
+    @Lazy
     public SqsClient sqsClient() {
         if (!sqsEnabled) {
             return null; // No crear cliente si SQS está deshabilitado
         }
 
-        return SqsClient.builder()
+        var builder = SqsClient.builder()
                 .region(Region.of(awsRegion))
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(httpClient(sqsApiCallAttemptTimeout))
+                .overrideConfiguration(timeouts(sqsApiCallTimeout, sqsApiCallAttemptTimeout));
+
+        if (tieneEndpointAlternativo()) {
+            builder.endpointOverride(URI.create(endpointUrl));
+        }
+        return builder.build();
+    }
+
+    private ApacheHttpClient.Builder httpClient(Duration socketTimeout) {
+        return ApacheHttpClient.builder()
+                .connectionTimeout(connectionTimeout)
+                .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                .socketTimeout(socketTimeout)
+                .maxConnections(maxConnections);
+    }
+
+    /**
+     * Tope por intento y tope total de la llamada (incluye reintentos y sus esperas)
+     */
+    private ClientOverrideConfiguration timeouts(Duration apiCallTimeout, Duration apiCallAttemptTimeout) {
+        return ClientOverrideConfiguration.builder()
+                .apiCallTimeout(apiCallTimeout)
+                .apiCallAttemptTimeout(apiCallAttemptTimeout)
+                .retryPolicy(RetryPolicy.builder().numRetries(maxRetries).build())
                 .build();
     }
+
+    private boolean tieneEndpointAlternativo() {
+        return endpointUrl != null && !endpointUrl.isBlank();
+    }
 }
@@ -0,0 +1,69 @@
+package com.management.registration.config;
+
+import com.management.registration.datasource.DataSourceRoute;
+import com.management.registration.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Separación lectura/escritura: el escritor usa {@code spring.datasource},
+ * el lector de Aurora usa {@code app.datasource.reader} con su propio pool Hikari.
+ * Solo se activa con {@code app.datasource.reader.enabled=true}; en caso contrario
+ * se mantiene el DataSource autoconfigurado por Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.reader", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    /**
+     * Pool del escritor (cluster endpoint)
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writerDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("writer-pool");
+        return dataSource;
+    }
+
+    /**
+     * Pool del lector (reader endpoint)
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.reader")
+    public HikariDataSource readerDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("reader-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("writerDataSource") DataSource writerDataSource,
+            @Qualifier("readerDataSource") DataSource readerDataSource) {
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                DataSourceRoute.PRIMARY, writerDataSource,
+                DataSourceRoute.REPLICA, readerDataSource));
+        routing.setDefaultTargetDataSource(writerDataSource);
+        routing.afterPropertiesSet();
+
+        // La conexión real se obtiene en la primera sentencia, cuando el flag readOnly ya está fijado
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
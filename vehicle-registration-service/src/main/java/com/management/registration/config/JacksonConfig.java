@@ -0,0 +1,14 @@
+package com.management.registration.config;
+
+import com.management.registration.json.SerializadoresModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public SerializadoresModule serializadoresModule() {
+        return new SerializadoresModule();
+    }
+}
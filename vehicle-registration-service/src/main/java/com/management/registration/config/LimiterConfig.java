@@ -0,0 +1,33 @@
+package com.management.registration.config;
+
+import com.management.registration.limiter.LimiterInterceptor;
+import com.management.registration.limiter.RequestLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfig implements WebMvcConfigurer {
+
+    private final RequestLimiter requestLimiter;
+
+    public LimiterConfig(RequestLimiter requestLimiter) {
+        this.requestLimiter = requestLimiter;
+    }
+
+    @Bean
+    public LimiterInterceptor limiterInterceptor() {
+        return new LimiterInterceptor(requestLimiter);
+    }
+
+    // Los streams SSE quedan fuera: son conexiones largas y ocuparían el límite de concurrencia
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(limiterInterceptor())
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/v1/solicitudes/health", "/api/v1/solicitudes/eventos", "/api/v1/solicitudes/*/eventos");
+    }
+}
@@ -0,0 +1,26 @@
+package com.management.registration.config;
+
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.dto.response.ErrorResponse;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.event.SolicitudCreadaEvent;
+import com.management.registration.event.SolicitudEstadoCambiadoEvent;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metadatos de reflexión para la imagen nativa (GraalVM) de los tipos que Jackson (de)serializa
+ * fuera de los controllers: eventos de SQS, notificaciones LISTEN/NOTIFY, eventos SSE y el archivo en S3.
+ * Los tipos de los controllers y las entidades JPA los registra el procesamiento AOT de Spring;
+ * los de Lombok no necesitan nada (se generan al compilar).
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        SolicitudCreadaEvent.class,
+        SolicitudEstadoCambiadoEvent.class,
+        CambioEstadoResponse.class,
+        SolicitudResponse.class,
+        ErrorResponse.class
+})
+public class NativeHintsConfig {
+}
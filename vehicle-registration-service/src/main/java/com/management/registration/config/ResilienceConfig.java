@@ -0,0 +1,58 @@
+package com.management.registration.config;
+
+import com.management.registration.resilience.Bulkhead;
+import com.management.registration.resilience.CircuitBreaker;
+import com.management.registration.resilience.DependenciaProtegida;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Publicación de eventos: con el breaker abierto los eventos van a la tabla eventos_pendientes
+     */
+    @Bean
+    public DependenciaProtegida sqsDependencia(
+            MeterRegistry meterRegistry,
+            @Value("${app.resilience.sqs.max-concurrent:5}") int maxConcurrentes,
+            @Value("${app.resilience.sqs.max-wait:100ms}") Duration esperaMaxima,
+            @Value("${app.resilience.sqs.failure-rate-threshold:50}") int umbralFallos,
+            @Value("${app.resilience.sqs.window-size:20}") int tamanoVentana,
+            @Value("${app.resilience.sqs.minimum-calls:10}") int minimoLlamadas,
+            @Value("${app.resilience.sqs.open-duration:30s}") Duration duracionAbierto,
+            @Value("${app.resilience.sqs.half-open-calls:3}") int llamadasDePrueba) {
+        return crear("sqs", meterRegistry, maxConcurrentes, esperaMaxima, umbralFallos, tamanoVentana,
+                minimoLlamadas, duracionAbierto, llamadasDePrueba);
+    }
+
+    /**
+     * URLs prefirmadas y archivado: con el breaker abierto se responde 503 sin esperar a S3
+     */
+    @Bean
+    public DependenciaProtegida s3Dependencia(
+            MeterRegistry meterRegistry,
+            @Value("${app.resilience.s3.max-concurrent:20}") int maxConcurrentes,
+            @Value("${app.resilience.s3.max-wait:100ms}") Duration esperaMaxima,
+            @Value("${app.resilience.s3.failure-rate-threshold:50}") int umbralFallos,
+            @Value("${app.resilience.s3.window-size:20}") int tamanoVentana,
+            @Value("${app.resilience.s3.minimum-calls:10}") int minimoLlamadas,
+            @Value("${app.resilience.s3.open-duration:30s}") Duration duracionAbierto,
+            @Value("${app.resilience.s3.half-open-calls:3}") int llamadasDePrueba) {
+        return crear("s3", meterRegistry, maxConcurrentes, esperaMaxima, umbralFallos, tamanoVentana,
+                minimoLlamadas, duracionAbierto, llamadasDePrueba);
+    }
+
+    private DependenciaProtegida crear(String nombre, MeterRegistry meterRegistry, int maxConcurrentes,
+                                       Duration esperaMaxima, int umbralFallos, int tamanoVentana,
+                                       int minimoLlamadas, Duration duracionAbierto, int llamadasDePrueba) {
+        return new DependenciaProtegida(nombre,
+                new CircuitBreaker(nombre, umbralFallos, tamanoVentana, minimoLlamadas, duracionAbierto,
+                        llamadasDePrueba, meterRegistry),
+                new Bulkhead(nombre, maxConcurrentes, esperaMaxima, meterRegistry));
+    }
+}
@@ -0,0 +1,19 @@
+package com.management.registration.config;
+
+import com.management.registration.concurrency.SingleFlight;
+import com.management.registration.dto.response.SolicitudResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+@Configuration
+public class SingleFlightConfig {
+
+    // Lecturas concurrentes de la misma solicitud comparten una sola consulta
+    @Bean
+    public SingleFlight<UUID, SolicitudResponse> lecturasSolicitud(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("solicitud-por-id", meterRegistry);
+    }
+}
@@ -1,21 +1,49 @@
 package com.management.registration.controller;
 
 import com.management.registration.dto.request.CrearSolicitudRequest;
+import com.management.registration.dto.request.ReclamoRequest;
+import com.management.registration.dto.request.TransicionEstadoRequest;
+import com.management.registration.dto.request.TransicionLoteRequest;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.dto.response.CompactPageResponse;
+import com.management.registration.dto.response.CursorPageResponse;
 import com.management.registration.dto.response.PresignedUrlResponse;
+import com.management.registration.dto.response.ReclamoResponse;
+import com.management.registration.dto.response.ResultadoBusquedaResponse;
 import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.dto.response.SolicitudResumenResponse;
+import com.management.registration.dto.response.TransicionLoteResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.idempotency.IdempotencyStore;
+import com.management.registration.service.BusquedaService;
+import com.management.registration.service.CambioEstadoBroadcaster;
 import com.management.registration.service.PresignedUrlService;
+import com.management.registration.service.RevisionService;
 import com.management.registration.service.SolicitudService;
+import com.management.registration.service.TransicionEstadoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -26,53 +54,202 @@ public class SolicitudController {
 
     private final SolicitudService solicitudService;
     private final PresignedUrlService presignedUrlService;
+    private final CambioEstadoBroadcaster cambioEstadoBroadcaster;
+    private final TransicionEstadoService transicionEstadoService;
+    private final RevisionService revisionService;
+    private final BusquedaService busquedaService;
+    private final IdempotencyStore idempotencyStore;
+    private final ApplicationAvailability applicationAvailability;
 
-    // Endpoint Health para ssaber salud de servicio
+    // Endpoint Health para ssaber salud de servicio. Refleja el readiness (503 durante el warm-up);
+    // los health checks deben usar /actuator/health/readiness y /actuator/health/liveness
     @GetMapping("/health")
     public ResponseEntity<String> health() {
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("WARMING_UP");
+        }
         return ResponseEntity.ok("OK");
     }
 
+    // Con Idempotency-Key, un reintento recibe el 201 original desde memoria sin volver a la base
     @PostMapping
     public ResponseEntity<SolicitudResponse> crearSolicitud(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CrearSolicitudRequest request) {
 
         log.info("Recibida solicitud de creación para patente: {}", request.getPatente());
+        if (idempotencyKey == null) {
+            return crear(request);
+        }
+        return idempotencyStore.ejecutar(idempotencyKey, request, () -> crear(request));
+    }
+
+    private ResponseEntity<SolicitudResponse> crear(CrearSolicitudRequest request) {
         SolicitudResponse response = solicitudService.crearSolicitud(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping
-    public ResponseEntity<Page<SolicitudResponse>> obtenerSolicitudes(
+    public ResponseEntity<Page<?>> obtenerSolicitudes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "fechaCreacion") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String fields) {
 
-        log.debug("Obteniendo solicitudes - page: {}, size: {}, sort: {} {}",
-                page, size, sortBy, sortDir);
+        log.debug("Obteniendo solicitudes - page: {}, size: {}, sort: {} {}, desde: {}, hasta: {}, fields: {}",
+                page, size, sortBy, sortDir, desde, hasta, fields);
 
-        // Validar límites de paginación
-        if (size > 100) {
-            size = 100; // Máximo 100 elementos por página
+        Pageable pageable = crearPageable(page, size, sortBy, sortDir);
+        Set<String> campos = parsearCampos(fields);
+        if (!campos.isEmpty()) {
+            return ResponseEntity.ok(solicitudService.obtenerCamposSolicitudes(campos, desde, hasta, pageable));
         }
+        Page<SolicitudResponse> solicitudes = solicitudService.obtenerSolicitudes(desde, hasta, pageable);
+        return ResponseEntity.ok(solicitudes);
+    }
 
-        Sort sort = sortDir.equalsIgnoreCase("ASC") ?
-                Sort.by(sortBy).ascending() :
-                Sort.by(sortBy).descending();
+    // Sobre compacto (items, page, size, hasNext) sin metadatos de Spring ni consulta de conteo
+    @GetMapping(params = "format=compact")
+    public ResponseEntity<CompactPageResponse<Map<String, Object>>> obtenerSolicitudesCompactas(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String fields) {
 
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<SolicitudResponse> solicitudes = solicitudService.obtenerSolicitudes(pageable);
-        return ResponseEntity.ok(solicitudes);
+        log.debug("Obteniendo solicitudes compactas - page: {}, size: {}, fields: {}", page, size, fields);
+
+        Pageable pageable = crearPageable(page, size, sortBy, sortDir);
+        return ResponseEntity.ok(solicitudService.obtenerSolicitudesCompactas(
+                parsearCampos(fields), desde, hasta, pageable));
     }
 
+    // Listado liviano: sin email, teléfono ni observaciones
+    @GetMapping("/resumen")
+    public ResponseEntity<Page<SolicitudResumenResponse>> obtenerResumenSolicitudes(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        log.debug("Obteniendo resumen de solicitudes - page: {}, size: {}, sort: {} {}",
+                page, size, sortBy, sortDir);
+
+        Pageable pageable = crearPageable(page, size, sortBy, sortDir);
+        return ResponseEntity.ok(solicitudService.obtenerResumenSolicitudes(desde, hasta, pageable));
+    }
+
+    // Búsqueda por nombre parcial, marca/modelo o patente mal escrita, por relevancia y con cursor keyset
+    @GetMapping("/busqueda")
+    public ResponseEntity<CursorPageResponse<ResultadoBusquedaResponse>> buscarSolicitudes(
+            @RequestParam("q") String texto,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+
+        // El texto suele ser un nombre de persona: no va al log
+        log.debug("Buscando solicitudes - q: {} caracteres, {} palabras, size: {}, cursor: {}",
+                texto.length(), texto.trim().split("\\s+").length, size, cursor);
+        return ResponseEntity.ok(busquedaService.buscar(texto, Math.clamp(size, 1, 100), cursor));
+    }
+
+    // Solicitudes de un propietario (flotas con cientos de vehículos), de la más reciente a la más antigua
+    @GetMapping("/propietarios/{rut}")
+    public ResponseEntity<CursorPageResponse<SolicitudResumenResponse>> obtenerSolicitudesPorRut(
+            @PathVariable String rut,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+
+        log.debug("Obteniendo solicitudes del propietario - rut: {}, size: {}, cursor: {}", rut, size, cursor);
+        return ResponseEntity.ok(solicitudService.obtenerSolicitudesPorRut(rut, Math.clamp(size, 1, 100), cursor));
+    }
+
+    // ETag fuerte a partir de la columna version: si el cliente ya tiene esa versión se responde 304
+    // consultando solo la versión, sin cargar ni serializar la solicitud.
+    // El ETag de la respuesta sale de la versión leída junto con el cuerpo (pudo cambiar entre ambas lecturas)
     @GetMapping("/{id}")
     public ResponseEntity<SolicitudResponse> obtenerSolicitudPorId(
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            WebRequest webRequest) {
 
         log.debug("Obteniendo solicitud con ID: {}", id);
+        Optional<String> etag = solicitudService.obtenerVersion(id).map(version -> "\"" + version + "\"");
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
+
         SolicitudResponse response = solicitudService.obtenerSolicitudPorId(id);
-        return ResponseEntity.ok(response);
+        if (response.getVersion() == null) {
+            return ResponseEntity.ok(response);
+        }
+        // Una archivada no está en la tabla: el 304 se decide con la versión leída del archivo
+        String etagRespuesta = "\"" + response.getVersion() + "\"";
+        if (etag.isEmpty() && webRequest.checkNotModified(etagRespuesta)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etagRespuesta).body(response);
+    }
+
+    // Transición de estado; con If-Match (ETag de GET /{id}) solo se aplica sobre esa versión
+    @PatchMapping("/{id}/estado")
+    public ResponseEntity<CambioEstadoResponse> cambiarEstado(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TransicionEstadoRequest request) {
+
+        log.info("Cambio de estado solicitado para {}: {}", id, request.getEstado());
+        CambioEstadoResponse cambio = transicionEstadoService.transicionar(
+                id, request.getEstado(), request.getObservaciones(), request.getRevisor(), versionDeEtag(ifMatch));
+        return ResponseEntity.ok().eTag("\"" + cambio.getVersion() + "\"").body(cambio);
+    }
+
+    @PostMapping("/transiciones")
+    public ResponseEntity<TransicionLoteResponse> cambiarEstadoEnLote(
+            @Valid @RequestBody TransicionLoteRequest request) {
+
+        log.info("Transición en lote a {} para {} solicitudes", request.getEstado(), request.getIds().size());
+        return ResponseEntity.ok(transicionEstadoService.transicionarLote(
+                request.getIds(), request.getEstado(), request.getObservaciones(), request.getRevisor()));
+    }
+
+    // Asigna al revisor las próximas solicitudes pendientes (pasan a EN_REVISION con lease)
+    @PostMapping("/reclamos")
+    public ResponseEntity<ReclamoResponse> reclamarSolicitudes(
+            @Valid @RequestBody ReclamoRequest request) {
+
+        log.debug("Revisor {} reclama {} solicitudes", request.getRevisor(), request.getCantidad());
+        return ResponseEntity.ok(revisionService.reclamar(request.getRevisor(), request.getCantidad()));
+    }
+
+    // Stream SSE con los cambios de estado de una solicitud; el primer evento es su estado actual
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirCambiosEstado(@PathVariable UUID id) {
+        log.debug("Nueva suscripción a cambios de estado de solicitud: {}", id);
+
+        // Se suscribe antes de leer el estado para no perder un cambio entre ambos pasos
+        SseEmitter emitter = cambioEstadoBroadcaster.suscribir(id);
+        try {
+            cambioEstadoBroadcaster.enviar(emitter, solicitudService.obtenerEstadoActual(id));
+        } catch (RuntimeException e) {
+            cambioEstadoBroadcaster.cancelar(emitter);
+            throw e;
+        }
+        return emitter;
+    }
+
+    // Stream SSE con los cambios hacia cualquiera de los estados indicados (sin filtro: todos)
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirCambiosEstado(
+            @RequestParam(required = false) Set<EstadoSolicitud> estados) {
+
+        log.debug("Nueva suscripción a cambios de estado - estados: {}", estados);
+        return cambioEstadoBroadcaster.suscribir(estados != null ? estados : Set.of());
     }
 
     @PostMapping("/{id}/documentos/upload-url")
@@ -89,4 +266,42 @@ public class SolicitudController {
         PresignedUrlResponse response = presignedUrlService.generarUrlParaSubida(id, tipoDocumento);
         return ResponseEntity.ok(response);
     }
+
+    // "3" o W/"3" -> 3
+    private String versionDeEtag(String etag) {
+        if (etag == null || etag.isBlank()) {
+            return null;
+        }
+        String valor = etag.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        return valor.replace("\"", "");
+    }
+
+    // "patente, estado,fechaCreacion" -> [patente, estado, fechaCreacion]
+    private Set<String> parsearCampos(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String campo : fields.split(",")) {
+                if (!campo.isBlank()) {
+                    campos.add(campo.trim());
+                }
+            }
+        }
+        return campos;
+    }
+
+    private Pageable crearPageable(int page, int size, String sortBy, String sortDir) {
+        // Validar límites de paginación
+        if (size > 100) {
+            size = 100; // Máximo 100 elementos por página
+        }
+
+        Sort sort = sortDir.equalsIgnoreCase("ASC") ?
+                Sort.by(sortBy).ascending() :
+                Sort.by(sortBy).descending();
+
+        return PageRequest.of(page, size, sort);
+    }
 }
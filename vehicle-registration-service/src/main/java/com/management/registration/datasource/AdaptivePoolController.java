@@ -0,0 +1,176 @@
+package com.management.registration.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ajusta en caliente el tamaño de los pools Hikari según la espera por conexión,
+ * las conexiones activas/inactivas y la latencia observada en la BD.
+ * Cada decisión se publica como métrica {@code app.datasource.pool.*}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.adaptive-pool", name = "enabled", havingValue = "true")
+@Slf4j
+public class AdaptivePoolController {
+
+    private final List<HikariDataSource> dataSources;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EstadoPool> estados = new ConcurrentHashMap<>();
+
+    private final int tamanoMinimo;
+    private final int tamanoMaximo;
+    private final double esperaObjetivoMs;
+    private final double latenciaMaximaMs;
+    private final double utilizacionBaja;
+    private final int intervalosParaReducir;
+
+    public AdaptivePoolController(
+            List<HikariDataSource> dataSources,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.adaptive-pool.min-size:5}") int tamanoMinimo,
+            @Value("${app.datasource.adaptive-pool.max-size:30}") int tamanoMaximo,
+            @Value("${app.datasource.adaptive-pool.target-acquire-wait:50ms}") Duration esperaObjetivo,
+            @Value("${app.datasource.adaptive-pool.max-db-latency:200ms}") Duration latenciaMaxima,
+            @Value("${app.datasource.adaptive-pool.low-utilization:0.3}") double utilizacionBaja,
+            @Value("${app.datasource.adaptive-pool.shrink-after-intervals:6}") int intervalosParaReducir) {
+        this.dataSources = dataSources;
+        this.meterRegistry = meterRegistry;
+        this.tamanoMinimo = tamanoMinimo;
+        this.tamanoMaximo = tamanoMaximo;
+        this.esperaObjetivoMs = esperaObjetivo.toNanos() / 1_000_000.0;
+        this.latenciaMaximaMs = latenciaMaxima.toNanos() / 1_000_000.0;
+        this.utilizacionBaja = utilizacionBaja;
+        this.intervalosParaReducir = intervalosParaReducir;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.adaptive-pool.interval:10s}")
+    public void ajustarPools() {
+        for (HikariDataSource dataSource : dataSources) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                continue; // Pool aún no inicializado
+            }
+            try {
+                ajustar(dataSource.getPoolName(), pool, dataSource.getHikariConfigMXBean());
+            } catch (Exception e) {
+                log.warn("No fue posible ajustar el pool {}: {}", dataSource.getPoolName(), e.getMessage());
+            }
+        }
+    }
+
+    private void ajustar(String nombrePool, HikariPoolMXBean pool, HikariConfigMXBean config) {
+        EstadoPool estado = estados.computeIfAbsent(nombrePool, this::registrarPool);
+
+        PoolSnapshot snapshot = new PoolSnapshot(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                config.getMaximumPoolSize(),
+                pool.getThreadsAwaitingConnection(),
+                estado.acquire.mediaMsDesdeUltimaLectura(),
+                estado.usage.mediaMsDesdeUltimaLectura());
+
+        AdaptivePoolSizer.Decision decision = estado.sizer.decidir(snapshot);
+        estado.tamanoObjetivo.set(decision.tamano());
+        estado.contador(decision.accion()).increment();
+
+        if (decision.accion() != AdaptivePoolSizer.Accion.MANTENER) {
+            // Al reducir se baja primero minimumIdle para que Hikari no lo rechace
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), decision.tamano()));
+            config.setMaximumPoolSize(decision.tamano());
+            log.info("Pool {} ajustado {} -> {} ({}; activas={}, esperando={}, espera={}ms, latenciaBD={}ms)",
+                    nombrePool, snapshot.tamanoMaximo(), decision.tamano(), decision.accion(),
+                    snapshot.activas(), snapshot.hilosEsperando(),
+                    Math.round(snapshot.esperaMediaMs()), Math.round(snapshot.latenciaDbMs()));
+        }
+    }
+
+    private EstadoPool registrarPool(String nombrePool) {
+        EstadoPool estado = new EstadoPool(
+                new AdaptivePoolSizer(tamanoMinimo, tamanoMaximo, esperaObjetivoMs,
+                        latenciaMaximaMs, utilizacionBaja, intervalosParaReducir),
+                new TimerDelta(meterRegistry, "hikaricp.connections.acquire", nombrePool),
+                new TimerDelta(meterRegistry, "hikaricp.connections.usage", nombrePool),
+                meterRegistry, nombrePool);
+
+        Gauge.builder("app.datasource.pool.target-size", estado.tamanoObjetivo, AtomicInteger::get)
+                .description("Tamaño de pool decidido por el controlador adaptativo")
+                .tag("pool", nombrePool)
+                .register(meterRegistry);
+        return estado;
+    }
+
+    private static final class EstadoPool {
+        private final AdaptivePoolSizer sizer;
+        private final TimerDelta acquire;
+        private final TimerDelta usage;
+        private final AtomicInteger tamanoObjetivo = new AtomicInteger();
+        private final Map<AdaptivePoolSizer.Accion, Counter> decisiones = new ConcurrentHashMap<>();
+        private final MeterRegistry meterRegistry;
+        private final String nombrePool;
+
+        private EstadoPool(AdaptivePoolSizer sizer, TimerDelta acquire, TimerDelta usage,
+                           MeterRegistry meterRegistry, String nombrePool) {
+            this.sizer = sizer;
+            this.acquire = acquire;
+            this.usage = usage;
+            this.meterRegistry = meterRegistry;
+            this.nombrePool = nombrePool;
+        }
+
+        private Counter contador(AdaptivePoolSizer.Accion accion) {
+            return decisiones.computeIfAbsent(accion, a -> Counter.builder("app.datasource.pool.decisions")
+                    .description("Decisiones del controlador adaptativo de pool")
+                    .tag("pool", nombrePool)
+                    .tag("action", a.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Media de un timer de Hikari restringida al último intervalo (no acumulada desde el arranque)
+     */
+    private static final class TimerDelta {
+        private final MeterRegistry registry;
+        private final String nombre;
+        private final String pool;
+        private long ultimoConteo;
+        private double ultimoTotalMs;
+
+        private TimerDelta(MeterRegistry registry, String nombre, String pool) {
+            this.registry = registry;
+            this.nombre = nombre;
+            this.pool = pool;
+        }
+
+        private double mediaMsDesdeUltimaLectura() {
+            Timer timer = registry.find(nombre).tag("pool", pool).timer();
+            if (timer == null) {
+                return 0;
+            }
+            long conteo = timer.count();
+            double totalMs = timer.totalTime(TimeUnit.MILLISECONDS);
+            long deltaConteo = conteo - ultimoConteo;
+            double deltaTotal = totalMs - ultimoTotalMs;
+            ultimoConteo = conteo;
+            ultimoTotalMs = totalMs;
+            return deltaConteo > 0 ? deltaTotal / deltaConteo : 0;
+        }
+    }
+}
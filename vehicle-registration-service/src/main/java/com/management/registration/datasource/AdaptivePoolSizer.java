@@ -0,0 +1,93 @@
+package com.management.registration.datasource;
+
+/**
+ * Política de dimensionamiento del pool (crecimiento aditivo, reducción multiplicativa).
+ * <ul>
+ *   <li>Si la BD está saturada (latencia sobre el límite) se reduce el pool: más conexiones solo empeoran.</li>
+ *   <li>Si hay espera por conexiones y la BD responde bien, se crece según la cola observada
+ *       (como máximo un 25% por intervalo, y de a una conexión desde el tamaño al que se redujo en la última
+ *       saturación). Si el pool supera sin saturar el tamaño que saturó, esa saturación se olvida.</li>
+ *   <li>Si la utilización es baja durante varios intervalos seguidos, se reduce de a una conexión.</li>
+ * </ul>
+ */
+public class AdaptivePoolSizer {
+
+    public enum Accion { CRECER, REDUCIR, MANTENER }
+
+    public record Decision(int tamano, Accion accion) {
+    }
+
+    private final int tamanoMinimo;
+    private final int tamanoMaximo;
+    private final double esperaObjetivoMs;
+    private final double latenciaMaximaMs;
+    private final double utilizacionBaja;
+    private final int intervalosParaReducir;
+
+    private int intervalosOciosos;
+    private int umbralSaturacion = Integer.MAX_VALUE;
+    private int tamanoSaturado = Integer.MAX_VALUE;
+
+    public AdaptivePoolSizer(int tamanoMinimo, int tamanoMaximo, double esperaObjetivoMs,
+                             double latenciaMaximaMs, double utilizacionBaja, int intervalosParaReducir) {
+        if (tamanoMinimo < 1 || tamanoMaximo < tamanoMinimo) {
+            throw new IllegalArgumentException(
+                    String.format("Límites de pool inválidos: min=%d, max=%d", tamanoMinimo, tamanoMaximo));
+        }
+        this.tamanoMinimo = tamanoMinimo;
+        this.tamanoMaximo = tamanoMaximo;
+        this.esperaObjetivoMs = esperaObjetivoMs;
+        this.latenciaMaximaMs = latenciaMaximaMs;
+        this.utilizacionBaja = utilizacionBaja;
+        this.intervalosParaReducir = intervalosParaReducir;
+    }
+
+    public synchronized Decision decidir(PoolSnapshot snapshot) {
+        int actual = snapshot.tamanoMaximo();
+
+        if (snapshot.latenciaDbMs() > latenciaMaximaMs) {
+            intervalosOciosos = 0;
+            tamanoSaturado = actual;
+            umbralSaturacion = Math.max(tamanoMinimo, (int) Math.floor(actual * 0.75));
+            return ajustar(actual, umbralSaturacion);
+        }
+
+        // La BD ya atiende más conexiones que cuando se saturó: fue un pico pasajero, se vuelve a crecer
+        // en proporción a la cola
+        if (actual > tamanoSaturado) {
+            tamanoSaturado = Integer.MAX_VALUE;
+            umbralSaturacion = Integer.MAX_VALUE;
+        }
+
+        boolean hayEspera = snapshot.hilosEsperando() > 0 || snapshot.esperaMediaMs() > esperaObjetivoMs;
+        if (hayEspera) {
+            intervalosOciosos = 0;
+            int paso = actual >= umbralSaturacion
+                    ? 1
+                    : Math.max(1, Math.min(snapshot.hilosEsperando(), (int) Math.ceil(actual * 0.25)));
+            return ajustar(actual, Math.min(actual + paso, Math.max(actual + 1, umbralSaturacion)));
+        }
+
+        if (snapshot.utilizacion() < utilizacionBaja) {
+            if (++intervalosOciosos >= intervalosParaReducir) {
+                intervalosOciosos = 0;
+                return ajustar(actual, actual - 1);
+            }
+        } else {
+            intervalosOciosos = 0;
+        }
+
+        return ajustar(actual, actual);
+    }
+
+    private Decision ajustar(int actual, int propuesto) {
+        int tamano = Math.max(tamanoMinimo, Math.min(tamanoMaximo, propuesto));
+        if (tamano > actual) {
+            return new Decision(tamano, Accion.CRECER);
+        }
+        if (tamano < actual) {
+            return new Decision(tamano, Accion.REDUCIR);
+        }
+        return new Decision(tamano, Accion.MANTENER);
+    }
+}
@@ -0,0 +1,9 @@
+package com.management.registration.datasource;
+
+/**
+ * Destinos posibles para una conexión JDBC
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,24 @@
+package com.management.registration.datasource;
+
+/**
+ * Estado observado de un pool Hikari durante un intervalo de control
+ *
+ * @param activas        conexiones en uso
+ * @param inactivas      conexiones ociosas
+ * @param tamanoMaximo   maximumPoolSize vigente
+ * @param hilosEsperando hilos bloqueados esperando una conexión
+ * @param esperaMediaMs  tiempo medio de adquisición en el intervalo
+ * @param latenciaDbMs   tiempo medio de uso de la conexión (proxy de la latencia en BD)
+ */
+public record PoolSnapshot(
+        int activas,
+        int inactivas,
+        int tamanoMaximo,
+        int hilosEsperando,
+        double esperaMediaMs,
+        double latenciaDbMs) {
+
+    public double utilizacion() {
+        return tamanoMaximo == 0 ? 0 : (double) activas / tamanoMaximo;
+    }
+}
@@ -0,0 +1,22 @@
+package com.management.registration.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Enruta las transacciones {@code readOnly = true} al lector de Aurora y el resto al escritor.
+ * Debe envolverse en un {@code LazyConnectionDataSourceProxy} para que la decisión
+ * se tome cuando la transacción ya está marcada como de solo lectura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (RoutingContext.esPrimarioForzado()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+    }
+}
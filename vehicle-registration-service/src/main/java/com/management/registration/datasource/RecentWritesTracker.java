@@ -0,0 +1,50 @@
+package com.management.registration.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra las solicitudes escritas recientemente para garantizar read-your-writes:
+ * mientras la réplica pueda no haber aplicado el cambio, las lecturas van al primario.
+ */
+@Component
+public class RecentWritesTracker {
+
+    private static final int UMBRAL_LIMPIEZA = 10_000;
+
+    private final Map<UUID, Long> escrituras = new ConcurrentHashMap<>();
+    private final long ventanaNanos;
+
+    public RecentWritesTracker(
+            @Value("${app.datasource.read-your-writes-window:5s}") Duration ventana) {
+        this.ventanaNanos = ventana.toNanos();
+    }
+
+    public void registrar(UUID id) {
+        if (ventanaNanos <= 0 || id == null) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        escrituras.put(id, ahora + ventanaNanos);
+        if (escrituras.size() > UMBRAL_LIMPIEZA) {
+            escrituras.values().removeIf(expira -> expira - ahora < 0);
+        }
+    }
+
+    public boolean esReciente(UUID id) {
+        Long expira = escrituras.get(id);
+        if (expira == null) {
+            return false;
+        }
+        if (expira - System.nanoTime() < 0) {
+            escrituras.remove(id, expira);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.management.registration.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Permite forzar el uso del primario dentro de una transacción de solo lectura
+ * (por ejemplo, para leer inmediatamente lo que se acaba de escribir).
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> FORZAR_PRIMARIO = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static boolean esPrimarioForzado() {
+        return Boolean.TRUE.equals(FORZAR_PRIMARIO.get());
+    }
+
+    /**
+     * Ejecuta la operación enrutando sus lecturas al primario.
+     * Debe invocarse antes de la primera sentencia de la transacción,
+     * ya que la conexión real se obtiene de forma diferida.
+     */
+    public static <T> T enPrimario(Supplier<T> operacion) {
+        Boolean anterior = FORZAR_PRIMARIO.get();
+        FORZAR_PRIMARIO.set(Boolean.TRUE);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior == null) {
+                FORZAR_PRIMARIO.remove();
+            } else {
+                FORZAR_PRIMARIO.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.management.registration.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReclamoRequest {
+
+    @NotBlank(message = "El revisor es obligatorio")
+    @Size(max = 100, message = "El revisor no puede exceder 100 caracteres")
+    private String revisor;
+
+    @Min(value = 1, message = "Debe reclamar al menos una solicitud")
+    @Max(value = 50, message = "No se pueden reclamar más de 50 solicitudes a la vez")
+    @Builder.Default
+    private int cantidad = 1;
+}
@@ -0,0 +1,26 @@
+package com.management.registration.dto.request;
+
+import com.management.registration.entity.EstadoSolicitud;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransicionEstadoRequest {
+
+    @NotNull(message = "El estado destino es obligatorio")
+    private EstadoSolicitud estado;
+
+    @Size(max = 500, message = "Las observaciones no pueden exceder 500 caracteres")
+    private String observaciones;
+
+    // Obligatorio para resolver solicitudes reclamadas: debe ser el dueño del lease vigente
+    @Size(max = 100, message = "El revisor no puede exceder 100 caracteres")
+    private String revisor;
+}
@@ -0,0 +1,34 @@
+package com.management.registration.dto.request;
+
+import com.management.registration.entity.EstadoSolicitud;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransicionLoteRequest {
+
+    @NotEmpty(message = "Debe indicar al menos una solicitud")
+    @Size(max = 500, message = "Un lote no puede exceder 500 solicitudes")
+    private List<@NotNull UUID> ids;
+
+    @NotNull(message = "El estado destino es obligatorio")
+    private EstadoSolicitud estado;
+
+    @Size(max = 500, message = "Las observaciones no pueden exceder 500 caracteres")
+    private String observaciones;
+
+    // Obligatorio para resolver solicitudes reclamadas: debe ser el dueño del lease vigente
+    @Size(max = 100, message = "El revisor no puede exceder 100 caracteres")
+    private String revisor;
+}
@@ -0,0 +1,27 @@
+package com.management.registration.dto.response;
+
+import com.management.registration.entity.EstadoSolicitud;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cambio de estado enviado a los suscriptores SSE.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CambioEstadoResponse {
+
+    private UUID id;
+    private String patente;
+    private EstadoSolicitud estadoAnterior;
+    private EstadoSolicitud estado;
+    private Long version;
+    private LocalDateTime fechaActualizacion;
+}
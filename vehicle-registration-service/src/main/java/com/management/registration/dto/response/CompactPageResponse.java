@@ -0,0 +1,24 @@
+package com.management.registration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sobre compacto para listados: sin los bloques pageable/sort de Spring.
+ * {@code hasNext} se calcula leyendo una fila extra, sin consulta de conteo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompactPageResponse<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,24 @@
+package com.management.registration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de un listado con paginación keyset. {@code nextCursor} se envía como {@code cursor}
+ * para pedir la siguiente; es null en la última. No hay número de página ni conteo total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.management.registration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Solicitudes asignadas a un revisor; vuelven a PENDIENTE si no se resuelven antes de {@code leaseExpira}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReclamoResponse {
+
+    private String revisor;
+    private LocalDateTime leaseExpira;
+    private List<SolicitudResponse> solicitudes;
+}
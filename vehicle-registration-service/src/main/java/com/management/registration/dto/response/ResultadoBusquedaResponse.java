@@ -0,0 +1,31 @@
+package com.management.registration.dto.response;
+
+import com.management.registration.entity.EstadoSolicitud;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resultado de la búsqueda por texto: los campos del resumen y la relevancia con que se ordenó
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoBusquedaResponse {
+
+    private UUID id;
+    private String nombrePropietario;
+    private String rut;
+    private String patente;
+    private String marca;
+    private String modelo;
+    private Integer anio;
+    private EstadoSolicitud estado;
+    private LocalDateTime fechaCreacion;
+    private float relevancia;
+}
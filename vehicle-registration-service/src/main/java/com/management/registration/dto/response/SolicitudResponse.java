@@ -30,4 +30,8 @@ public class SolicitudResponse {
     private String observaciones;
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaActualizacion;
+
+    // Versión leída junto con el resto de la fila, para el ETag. SolicitudResponseSerializer no la escribe en el
+    // cuerpo de la API; el archivo de S3 sí la guarda
+    private Long version;
 }
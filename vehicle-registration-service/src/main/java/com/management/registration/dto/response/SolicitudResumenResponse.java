@@ -0,0 +1,30 @@
+package com.management.registration.dto.response;
+
+import com.management.registration.entity.EstadoSolicitud;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Vista liviana para listados: sin email, teléfono ni observaciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SolicitudResumenResponse {
+
+    private UUID id;
+    private String nombrePropietario;
+    private String rut;
+    private String patente;
+    private String marca;
+    private String modelo;
+    private Integer anio;
+    private EstadoSolicitud estado;
+    private LocalDateTime fechaCreacion;
+}
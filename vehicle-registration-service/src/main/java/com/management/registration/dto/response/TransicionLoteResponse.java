@@ -0,0 +1,32 @@
+package com.management.registration.dto.response;
+
+import com.management.registration.entity.EstadoSolicitud;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de una transición en lote: las aplicadas y, para el resto, el motivo del rechazo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransicionLoteResponse {
+
+    private EstadoSolicitud estado;
+    private List<CambioEstadoResponse> aplicadas;
+    private List<Rechazo> rechazadas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rechazo {
+        private UUID id;
+        private String motivo;
+    }
+}
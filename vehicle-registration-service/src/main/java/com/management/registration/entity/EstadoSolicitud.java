@@ -1,9 +1,32 @@
 package com.management.registration.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * PENDIENTE → EN_REVISION → APROBADA | RECHAZADA; APROBADA → COMPLETADA.
+ * RECHAZADA y COMPLETADA son terminales (ver archivado).
+ */
 public enum EstadoSolicitud {
     PENDIENTE,
     EN_REVISION,
     APROBADA,
     RECHAZADA,
-    COMPLETADA
+    COMPLETADA;
+
+    /**
+     * Estados desde los que se puede llegar a este
+     */
+    public Set<EstadoSolicitud> origenes() {
+        return switch (this) {
+            case PENDIENTE -> EnumSet.noneOf(EstadoSolicitud.class);
+            case EN_REVISION -> EnumSet.of(PENDIENTE);
+            case APROBADA, RECHAZADA -> EnumSet.of(EN_REVISION);
+            case COMPLETADA -> EnumSet.of(APROBADA);
+        };
+    }
+
+    public boolean puedeTransicionarA(EstadoSolicitud destino) {
+        return destino.origenes().contains(this);
+    }
 }
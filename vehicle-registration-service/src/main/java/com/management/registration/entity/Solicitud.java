@@ -14,10 +14,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name="solicitudes",
-    uniqueConstraints = {
-        @UniqueConstraint(name="uk_patente", columnNames = "patente")
-})
+// Tabla particionada por fecha_creacion; la unicidad de patente (uk_patente) vive en solicitud_patentes
+@Table(name="solicitudes")
 public class Solicitud {
 
     @Id
@@ -37,7 +35,7 @@ public class Solicitud {
     private String telefono;
 
     // Datos del Vehículo
-    @Column(name = "patente", nullable = false, unique = true, length = 10)
+    @Column(name = "patente", nullable = false, length = 10)
     private String patente;
 
     @Column(name = "marca", nullable = false, length = 50)
@@ -63,6 +61,13 @@ public class Solicitud {
     @Column(name = "observaciones", length = 500)
     private String observaciones;
 
+    // Revisor que reclamó la solicitud y vencimiento de su lease (solo en EN_REVISION)
+    @Column(name = "revisor", length = 100)
+    private String revisor;
+
+    @Column(name = "lease_expira")
+    private LocalDateTime leaseExpira;
+
     // Optimistic Locking
     @Version
     @Column(name = "version")
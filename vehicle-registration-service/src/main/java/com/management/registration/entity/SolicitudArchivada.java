@@ -0,0 +1,42 @@
+package com.management.registration.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entrada del índice de solicitudes movidas a S3
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "solicitudes_archivadas")
+public class SolicitudArchivada {
+
+    @Id
+    @Column(name = "solicitud_id")
+    private UUID solicitudId;
+
+    @Column(name = "patente", nullable = false, length = 10)
+    private String patente;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "s3_key", nullable = false, length = 300)
+    private String s3Key;
+
+    @Column(name = "fecha_archivado", nullable = false)
+    private LocalDateTime fechaArchivado;
+
+    // Bloque gzip de la solicitud dentro del objeto; null mientras el lote se está archivando
+    @Column(name = "s3_offset")
+    private Long s3Offset;
+
+    @Column(name = "s3_longitud")
+    private Integer s3Longitud;
+}
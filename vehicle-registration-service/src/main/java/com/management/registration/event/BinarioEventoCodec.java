@@ -0,0 +1,259 @@
+package com.management.registration.event;
+
+import com.management.registration.entity.EstadoSolicitud;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Formato binario compacto, en Base64 porque el cuerpo de un mensaje SQS es texto.
+ * <pre>
+ * versión (1 byte, hoy 1) · cantidad de eventos (varint)
+ * por evento: tipo (1 byte: 1 creada, 2 estado cambiado) · nulos (1 byte, bit i = campo i nulo) · campos
+ * SolicitudCreada:        solicitudId, patente, nombrePropietario, rut, email, fechaCreacion
+ * SolicitudEstadoCambiado: solicitudId, patente, estadoAnterior, estadoNuevo, version, fechaCambio
+ * </pre>
+ * UUID: 16 bytes; texto: largo en varint + UTF-8; estado: 1 byte con su posición en {@link #ESTADOS_V1};
+ * version: varint zigzag; fecha: segundos de época (sin zona, como UTC) en varint zigzag + nanos en varint.
+ * {@code eventType} no viaja: lo da el byte de tipo. Cambiar el orden o los campos exige una versión nueva.
+ */
+@Component
+public class BinarioEventoCodec implements EventoCodec {
+
+    public static final String NOMBRE = "binario";
+    static final byte VERSION = 1;
+
+    private static final byte TIPO_CREADA = 1;
+    private static final byte TIPO_ESTADO_CAMBIADO = 2;
+
+    // Tabla fija del formato: no depende del orden de declaración del enum
+    private static final EstadoSolicitud[] ESTADOS_V1 = {
+            EstadoSolicitud.PENDIENTE,
+            EstadoSolicitud.EN_REVISION,
+            EstadoSolicitud.APROBADA,
+            EstadoSolicitud.RECHAZADA,
+            EstadoSolicitud.COMPLETADA
+    };
+
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public String tipoContenido() {
+        return "application/vnd.registro.eventos+binary;v=" + VERSION;
+    }
+
+    @Override
+    public String codificar(List<?> eventos) {
+        Escritor escritor = new Escritor();
+        escritor.out.write(VERSION);
+        escritor.varint(eventos.size());
+        for (Object evento : eventos) {
+            switch (evento) {
+                case SolicitudCreadaEvent creada -> escribir(escritor, creada);
+                case SolicitudEstadoCambiadoEvent cambio -> escribir(escritor, cambio);
+                default -> throw new IllegalArgumentException("Tipo de evento no soportado: " + evento.getClass());
+            }
+        }
+        return Base64.getEncoder().encodeToString(escritor.out.toByteArray());
+    }
+
+    @Override
+    public List<Object> decodificar(String cuerpo) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(cuerpo));
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Versión de formato no soportada: " + version);
+            }
+            int cantidad = leerVarint(in);
+            List<Object> eventos = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                byte tipo = in.get();
+                int nulos = in.get();
+                eventos.add(switch (tipo) {
+                    case TIPO_CREADA -> leerCreada(in, nulos);
+                    case TIPO_ESTADO_CAMBIADO -> leerEstadoCambiado(in, nulos);
+                    default -> throw new IllegalArgumentException("Tipo de evento desconocido: " + tipo);
+                });
+            }
+            return eventos;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Cuerpo binario truncado", e);
+        }
+    }
+
+    private void escribir(Escritor escritor, SolicitudCreadaEvent evento) {
+        escritor.out.write(TIPO_CREADA);
+        escritor.out.write(nulos(evento.getSolicitudId(), evento.getPatente(), evento.getNombrePropietario(),
+                evento.getRut(), evento.getEmail(), evento.getFechaCreacion()));
+        escritor.uuid(evento.getSolicitudId());
+        escritor.texto(evento.getPatente());
+        escritor.texto(evento.getNombrePropietario());
+        escritor.texto(evento.getRut());
+        escritor.texto(evento.getEmail());
+        escritor.fecha(evento.getFechaCreacion());
+    }
+
+    private void escribir(Escritor escritor, SolicitudEstadoCambiadoEvent evento) {
+        escritor.out.write(TIPO_ESTADO_CAMBIADO);
+        escritor.out.write(nulos(evento.getSolicitudId(), evento.getPatente(), evento.getEstadoAnterior(),
+                evento.getEstadoNuevo(), evento.getVersion(), evento.getFechaCambio()));
+        escritor.uuid(evento.getSolicitudId());
+        escritor.texto(evento.getPatente());
+        escritor.estado(evento.getEstadoAnterior());
+        escritor.estado(evento.getEstadoNuevo());
+        if (evento.getVersion() != null) {
+            escritor.varlong(zigzag(evento.getVersion()));
+        }
+        escritor.fecha(evento.getFechaCambio());
+    }
+
+    private SolicitudCreadaEvent leerCreada(ByteBuffer in, int nulos) {
+        return SolicitudCreadaEvent.builder()
+                .solicitudId(nulo(nulos, 0) ? null : new UUID(in.getLong(), in.getLong()))
+                .patente(nulo(nulos, 1) ? null : leerTexto(in))
+                .nombrePropietario(nulo(nulos, 2) ? null : leerTexto(in))
+                .rut(nulo(nulos, 3) ? null : leerTexto(in))
+                .email(nulo(nulos, 4) ? null : leerTexto(in))
+                .fechaCreacion(nulo(nulos, 5) ? null : leerFecha(in))
+                .eventType(SolicitudCreadaEvent.TIPO)
+                .build();
+    }
+
+    private SolicitudEstadoCambiadoEvent leerEstadoCambiado(ByteBuffer in, int nulos) {
+        return SolicitudEstadoCambiadoEvent.builder()
+                .solicitudId(nulo(nulos, 0) ? null : new UUID(in.getLong(), in.getLong()))
+                .patente(nulo(nulos, 1) ? null : leerTexto(in))
+                .estadoAnterior(nulo(nulos, 2) ? null : leerEstado(in))
+                .estadoNuevo(nulo(nulos, 3) ? null : leerEstado(in))
+                .version(nulo(nulos, 4) ? null : desZigzag(leerVarlong(in)))
+                .fechaCambio(nulo(nulos, 5) ? null : leerFecha(in))
+                .eventType(SolicitudEstadoCambiadoEvent.TIPO)
+                .build();
+    }
+
+    private static int nulos(Object... campos) {
+        int mascara = 0;
+        for (int i = 0; i < campos.length; i++) {
+            if (campos[i] == null) {
+                mascara |= 1 << i;
+            }
+        }
+        return mascara;
+    }
+
+    private static boolean nulo(int mascara, int campo) {
+        return (mascara & (1 << campo)) != 0;
+    }
+
+    private static String leerTexto(ByteBuffer in) {
+        byte[] bytes = new byte[leerVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static EstadoSolicitud leerEstado(ByteBuffer in) {
+        int posicion = in.get();
+        if (posicion < 0 || posicion >= ESTADOS_V1.length) {
+            throw new IllegalArgumentException("Estado desconocido: " + posicion);
+        }
+        return ESTADOS_V1[posicion];
+    }
+
+    private static LocalDateTime leerFecha(ByteBuffer in) {
+        long segundos = desZigzag(leerVarlong(in));
+        return LocalDateTime.ofEpochSecond(segundos, leerVarint(in), ZoneOffset.UTC);
+    }
+
+    private static int leerVarint(ByteBuffer in) {
+        return Math.toIntExact(leerVarlong(in));
+    }
+
+    private static long leerVarlong(ByteBuffer in) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = in.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint demasiado largo");
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long desZigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static final class Escritor {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+        private void uuid(UUID valor) {
+            if (valor != null) {
+                largo(valor.getMostSignificantBits());
+                largo(valor.getLeastSignificantBits());
+            }
+        }
+
+        private void texto(String valor) {
+            if (valor != null) {
+                byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+                varint(bytes.length);
+                out.writeBytes(bytes);
+            }
+        }
+
+        private void estado(EstadoSolicitud valor) {
+            if (valor != null) {
+                for (int i = 0; i < ESTADOS_V1.length; i++) {
+                    if (ESTADOS_V1[i] == valor) {
+                        out.write(i);
+                        return;
+                    }
+                }
+                throw new IllegalArgumentException("Estado sin código en la versión " + VERSION + ": " + valor);
+            }
+        }
+
+        private void fecha(LocalDateTime valor) {
+            if (valor != null) {
+                varlong(zigzag(valor.toEpochSecond(ZoneOffset.UTC)));
+                varint(valor.getNano());
+            }
+        }
+
+        private void varint(int valor) {
+            varlong(valor & 0xFFFFFFFFL);
+        }
+
+        private void varlong(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                out.write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            out.write((int) valor);
+        }
+
+        private void largo(long valor) {
+            for (int desplazamiento = 56; desplazamiento >= 0; desplazamiento -= 8) {
+                out.write((int) (valor >>> desplazamiento));
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.management.registration.event;
+
+import com.management.registration.entity.EstadoSolicitud;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuente CDC de eventos ({@code app.eventos.fuente=cdc}): lee los INSERT y UPDATE de {@code solicitudes}
+ * desde un slot de replicación lógica ({@code pgoutput}, publicación de V10) y los publica por
+ * {@link EventPublisher} en lotes, fuera del camino de las peticiones. Así también salen los cambios
+ * hechos por migraciones, SQL manual o cargas masivas.
+ * <p>
+ * Un INSERT es {@link SolicitudCreadaEvent}; un UPDATE que cambia el estado es {@link SolicitudEstadoCambiadoEvent}.
+ * El LSN se confirma al slot solo después de publicar (o guardar en eventos_pendientes) los eventos de las
+ * transacciones confirmadas: tras una caída se reciben de nuevo desde la última confirmación (al menos una vez).
+ * El slot admite un solo lector: con varios nodos, el resto reintenta la conexión y toma el relevo si el
+ * primero cae. Al conectar activa REPLICA IDENTITY FULL en {@code solicitudes} y sus particiones (solo con esta
+ * fuente: agranda el WAL de cada UPDATE). Una fila que no se puede convertir en evento se registra y se descarta.
+ * Métricas: {@code app.eventos.cdc.eventos}, {@code app.eventos.cdc.descartados} y {@code app.eventos.cdc.retraso}
+ * (del commit a la publicación del evento más antiguo de cada lote).
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.eventos", name = "fuente", havingValue = "cdc")
+@Slf4j
+public class CdcSolicitudesPublisher {
+
+    static final String TABLA = "solicitudes";
+    private static final long SONDEO_MILIS = 10;
+    private static final Duration BACKOFF_MAXIMO = Duration.ofSeconds(30);
+
+    // Microsegundos entre 1970-01-01 y 2000-01-01, la época de las horas de commit de Postgres
+    private static final long EPOCA_POSTGRES_MICROS = 946_684_800_000_000L;
+
+    // Formato texto de timestamp en pgoutput: "2026-10-19 12:34:56.123456" (fracción opcional)
+    private static final DateTimeFormatter FECHA_POSTGRES = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .appendLiteral(' ')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .toFormatter();
+
+    private final EventPublisher eventPublisher;
+    private final Counter eventos;
+    private final Counter descartados;
+    private final Timer retraso;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${app.eventos.cdc.slot:registro_eventos}")
+    private String slot;
+
+    @Value("${app.eventos.cdc.publicacion:eventos_solicitudes}")
+    private String publicacion;
+
+    @Value("${app.eventos.cdc.lote:100}")
+    private int maxPorLote;
+
+    @Value("${app.eventos.cdc.espera:200ms}")
+    private Duration espera;
+
+    private volatile boolean activo;
+    private volatile Connection conexion;
+    private Thread hilo;
+
+    public CdcSolicitudesPublisher(EventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.eventos = Counter.builder("app.eventos.cdc.eventos")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("app.eventos.cdc.descartados")
+                .register(meterRegistry);
+        this.retraso = Timer.builder("app.eventos.cdc.retraso")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        activo = true;
+        hilo = Thread.ofPlatform().daemon().name("cdc-" + slot).start(this::replicar);
+    }
+
+    /**
+     * Lo leído y no confirmado se vuelve a recibir al reconectar.
+     */
+    @PreDestroy
+    public void detener() {
+        activo = false;
+        Connection c = conexion;
+        if (c != null) {
+            try {
+                c.close();
+            } catch (SQLException e) {
+                log.debug("Error al cerrar la conexión de replicación: {}", e.getMessage());
+            }
+        }
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    private void replicar() {
+        Duration backoff = Duration.ofSeconds(1);
+        while (activo) {
+            try (Connection c = abrirConexion()) {
+                conexion = c;
+                PGConnection pg = c.unwrap(PGConnection.class);
+                crearSlotSiFalta(c, pg);
+                replicaIdentityCompleta(c);
+                try (PGReplicationStream stream = pg.getReplicationAPI()
+                        .replicationStream()
+                        .logical()
+                        .withSlotName(slot)
+                        .withSlotOption("proto_version", 1)
+                        .withSlotOption("publication_names", publicacion)
+                        .withStatusInterval(10, TimeUnit.SECONDS)
+                        .start()) {
+                    log.info("Leyendo cambios de {} desde el slot {} (publicación {})", TABLA, slot, publicacion);
+                    backoff = Duration.ofSeconds(1);
+                    consumir(stream);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!activo) {
+                    return;
+                }
+                log.warn("Replicación lógica interrumpida, reintentando en {}: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(BACKOFF_MAXIMO) > 0 ? BACKOFF_MAXIMO : backoff.multipliedBy(2);
+            } finally {
+                conexion = null;
+            }
+        }
+    }
+
+    void consumir(PGReplicationStream stream) throws SQLException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        List<Object> lote = new ArrayList<>();
+        long inicioLote = 0;
+        long commitMasAntiguo = 0;
+        long commitActual = 0;
+        boolean enTransaccion = false;
+        // Fin del último COMMIT recibido: todo lo anterior está en el lote o ya publicado
+        LogSequenceNumber confirmable = null;
+
+        while (activo) {
+            ByteBuffer buffer = stream.readPending();
+            if (buffer == null) {
+                if (!lote.isEmpty() && System.nanoTime() - inicioLote >= espera.toNanos()) {
+                    publicar(stream, lote, commitMasAntiguo, confirmable);
+                } else if (lote.isEmpty() && !enTransaccion) {
+                    // Sin nada pendiente se confirma lo recibido (keepalives incluidos): el slot no retiene WAL
+                    confirmar(stream, stream.getLastReceiveLSN());
+                }
+                dormir();
+                continue;
+            }
+
+            switch (decoder.decodificar(buffer)) {
+                case PgOutputDecoder.Inicio inicio -> {
+                    enTransaccion = true;
+                    commitActual = inicio.commitMicros();
+                }
+                case PgOutputDecoder.Fila fila -> {
+                    Object evento = eventoODescarte(fila);
+                    if (evento != null) {
+                        if (lote.isEmpty()) {
+                            inicioLote = System.nanoTime();
+                            commitMasAntiguo = commitActual;
+                        }
+                        lote.add(evento);
+                    }
+                }
+                case PgOutputDecoder.Confirmacion confirmacion -> {
+                    enTransaccion = false;
+                    confirmable = LogSequenceNumber.valueOf(confirmacion.lsnFin());
+                    if (lote.isEmpty()) {
+                        confirmar(stream, confirmable);
+                    }
+                }
+                case null -> { }
+            }
+
+            // Una transacción grande se publica por partes; su LSN se confirma recién con el COMMIT
+            if (lote.size() >= maxPorLote) {
+                publicar(stream, lote, commitMasAntiguo, confirmable);
+            }
+        }
+    }
+
+    // La confirmación se envía en el momento (no al próximo status interval) para acotar lo que se repite tras una caída
+    private void publicar(PGReplicationStream stream, List<Object> lote, long commitMicros,
+                          LogSequenceNumber confirmable) throws SQLException {
+        eventPublisher.publicarLote(List.copyOf(lote));
+        eventos.increment(lote.size());
+        long commitEpocaMicros = commitMicros + EPOCA_POSTGRES_MICROS;
+        retraso.record(Math.max(0, System.currentTimeMillis() * 1000 - commitEpocaMicros), TimeUnit.MICROSECONDS);
+        lote.clear();
+        if (confirmar(stream, confirmable)) {
+            stream.forceUpdateStatus();
+        }
+    }
+
+    private static boolean confirmar(PGReplicationStream stream, LogSequenceNumber lsn) {
+        if (lsn == null || lsn.compareTo(stream.getLastFlushedLSN()) <= 0) {
+            return false;
+        }
+        stream.setAppliedLSN(lsn);
+        stream.setFlushedLSN(lsn);
+        return true;
+    }
+
+    /**
+     * Evento de un cambio de fila, o null si no corresponde publicar nada
+     * (otra tabla o UPDATE que no cambia el estado).
+     */
+    static Object evento(PgOutputDecoder.Fila fila) {
+        if (!TABLA.equals(fila.tabla())) {
+            return null;
+        }
+        Map<String, String> nueva = fila.nueva();
+        return switch (fila.operacion()) {
+            case INSERT -> SolicitudCreadaEvent.builder()
+                    .solicitudId(UUID.fromString(nueva.get("id")))
+                    .patente(nueva.get("patente"))
+                    .nombrePropietario(nueva.get("nombre_propietario"))
+                    .rut(nueva.get("rut"))
+                    .email(nueva.get("email"))
+                    .fechaCreacion(fecha(nueva.get("fecha_creacion")))
+                    .eventType(SolicitudCreadaEvent.TIPO)
+                    .build();
+            case UPDATE -> {
+                // Sin fila anterior (tabla sin REPLICA IDENTITY FULL) no se sabe el estado de origen: se publica igual
+                String estadoAnterior = fila.anterior() != null ? fila.anterior().get("estado") : null;
+                if (fila.anterior() != null && Objects.equals(estadoAnterior, nueva.get("estado"))) {
+                    yield null;
+                }
+                yield SolicitudEstadoCambiadoEvent.builder()
+                        .solicitudId(UUID.fromString(nueva.get("id")))
+                        .patente(nueva.get("patente"))
+                        .estadoAnterior(estadoAnterior != null ? EstadoSolicitud.valueOf(estadoAnterior) : null)
+                        .estadoNuevo(EstadoSolicitud.valueOf(nueva.get("estado")))
+                        .version(nueva.get("version") != null ? Long.valueOf(nueva.get("version")) : null)
+                        .fechaCambio(fecha(nueva.get("fecha_actualizacion")))
+                        .eventType(SolicitudEstadoCambiadoEvent.TIPO)
+                        .build();
+            }
+        };
+    }
+
+    // Si no se descarta, la fila falla en cada reconexión y el slot no avanza
+    private Object eventoODescarte(PgOutputDecoder.Fila fila) {
+        try {
+            return evento(fila);
+        } catch (RuntimeException e) {
+            descartados.increment();
+            log.error("Cambio de {} descartado, no se pudo convertir en evento - operación: {}, id: {}: {}",
+                    fila.tabla(), fila.operacion(), fila.nueva().get("id"), e.getMessage());
+            return null;
+        }
+    }
+
+    private static LocalDateTime fecha(String valor) {
+        return valor != null ? LocalDateTime.parse(valor, FECHA_POSTGRES) : null;
+    }
+
+    // Conexión de replicación al primario, fuera del pool; solo admite el protocolo simple
+    private Connection abrirConexion() throws SQLException {
+        Properties propiedades = new Properties();
+        PGProperty.USER.set(propiedades, username);
+        PGProperty.PASSWORD.set(propiedades, password);
+        PGProperty.REPLICATION.set(propiedades, "database");
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(propiedades, "10");
+        PGProperty.PREFER_QUERY_MODE.set(propiedades, "simple");
+        return DriverManager.getConnection(url, propiedades);
+    }
+
+    // Un slot nuevo empieza en la posición actual del WAL: los cambios anteriores a su creación no se publican
+    private void crearSlotSiFalta(Connection c, PGConnection pg) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT 1 FROM pg_replication_slots WHERE slot_name = ?")) {
+            ps.setString(1, slot);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        pg.getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(slot)
+                .withOutputPlugin("pgoutput")
+                .make();
+        log.info("Slot de replicación {} creado", slot);
+    }
+
+    // Las particiones nuevas la copian de solicitudes (crear_particion_solicitudes)
+    private void replicaIdentityCompleta(Connection c) throws SQLException {
+        List<String> tablas = new ArrayList<>();
+        try (Statement st = c.createStatement()) {
+            try (ResultSet rs = st.executeQuery("""
+                    SELECT oid::REGCLASS::TEXT FROM pg_class
+                    WHERE relreplident <> 'f'
+                      AND (oid = 'solicitudes'::REGCLASS
+                           OR oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = 'solicitudes'::REGCLASS))
+                    """)) {
+                while (rs.next()) {
+                    tablas.add(rs.getString(1));
+                }
+            }
+            for (String tabla : tablas) {
+                st.execute("ALTER TABLE " + tabla + " REPLICA IDENTITY FULL");
+            }
+        }
+        if (!tablas.isEmpty()) {
+            log.info("REPLICA IDENTITY FULL activada en {}", tablas);
+        }
+    }
+
+    private static void dormir() {
+        try {
+            Thread.sleep(SONDEO_MILIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.management.registration.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Colas de publicación por hilo: cada evento va siempre al mismo hilo según su clave (la del grupo FIFO),
+ * así los eventos de una solicitud se publican en el orden en que se encolaron. Cada hilo toma lo que
+ * tenga acumulado (hasta {@code maxPorLote}, de muchas claves distintas) y lo publica de una vez:
+ * con carga los lotes se llenan solos; con {@code espera} mayor que 0 además se espera a completarlos.
+ * <p>
+ * Con la cola de un hilo llena, quien encola espera hasta {@code esperaEncolado} a que haya lugar; si no lo hay,
+ * el evento pasa al desborde de ese mismo hilo, que lo publica después de lo ya encolado. Mientras el desborde
+ * tenga eventos, los nuevos van detrás de ellos: ningún evento se adelanta a uno anterior de su grupo.
+ */
+@Slf4j
+class ColaPublicacion {
+
+    private static final long SONDEO_MILIS = 100;
+
+    private final List<Carril> carriles = new ArrayList<>();
+    private final List<Thread> hilos = new ArrayList<>();
+    private final Function<Object, String> clave;
+    private final Consumer<List<Object>> publicar;
+    private final int maxPorLote;
+    private final long esperaNanos;
+    private final long esperaEncoladoNanos;
+    private volatile boolean activa = true;
+
+    // Cola acotada de un hilo y su desborde, que solo se atiende con la cola vacía
+    private record Carril(String nombre, BlockingQueue<Object> cola, Queue<Object> desborde) {
+
+        boolean vacio() {
+            return cola.isEmpty() && desborde.isEmpty();
+        }
+    }
+
+    ColaPublicacion(int cantidadHilos, int capacidadPorHilo, int maxPorLote, Duration espera, Duration esperaEncolado,
+                    Function<Object, String> clave, Consumer<List<Object>> publicar) {
+        this.clave = clave;
+        this.publicar = publicar;
+        this.maxPorLote = maxPorLote;
+        this.esperaNanos = espera.toNanos();
+        this.esperaEncoladoNanos = esperaEncolado.toNanos();
+        for (int i = 0; i < cantidadHilos; i++) {
+            Carril carril = new Carril("eventos-" + i, new ArrayBlockingQueue<>(capacidadPorHilo),
+                    new ConcurrentLinkedQueue<>());
+            carriles.add(carril);
+            hilos.add(Thread.ofPlatform().name(carril.nombre()).daemon().start(() -> atender(carril)));
+        }
+    }
+
+    /**
+     * Encola el evento en el hilo de su clave; con la cola llena espera y, si sigue llena, lo desborda.
+     *
+     * @return false si la cola ya se está deteniendo
+     */
+    boolean encolar(Object evento) {
+        if (!activa) {
+            return false;
+        }
+        Carril carril = carriles.get(Math.floorMod(clave.apply(evento).hashCode(), carriles.size()));
+        // Con eventos desbordados, encolarlo en la cola los adelantaría
+        if (carril.desborde().isEmpty()) {
+            try {
+                if (carril.cola().offer(evento, esperaEncoladoNanos, TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        carril.desborde().add(evento);
+        if (carril.desborde().size() == 1) {
+            log.warn("Cola de publicación {} llena; los eventos siguientes esperan en su desborde", carril.nombre());
+        }
+        return true;
+    }
+
+    int pendientes() {
+        return carriles.stream().mapToInt(carril -> carril.cola().size() + carril.desborde().size()).sum();
+    }
+
+    /**
+     * Deja de aceptar eventos y espera a que se publiquen los ya encolados.
+     */
+    void detener(Duration espera) throws InterruptedException {
+        activa = false;
+        long limite = System.nanoTime() + espera.toNanos();
+        for (Thread hilo : hilos) {
+            hilo.join(Duration.ofNanos(Math.max(0, limite - System.nanoTime())));
+        }
+        if (pendientes() > 0) {
+            log.warn("{} eventos sin publicar al detener la cola de publicación", pendientes());
+        }
+    }
+
+    private void atender(Carril carril) {
+        while (activa || !carril.vacio()) {
+            try {
+                List<Object> lote = new ArrayList<>(maxPorLote);
+                if (carril.cola().isEmpty() && !carril.desborde().isEmpty()) {
+                    // Lo desbordado es posterior a todo lo que estaba en la cola
+                    Object siguiente;
+                    while (lote.size() < maxPorLote && (siguiente = carril.desborde().poll()) != null) {
+                        lote.add(siguiente);
+                    }
+                } else {
+                    Object primero = carril.cola().poll(SONDEO_MILIS, TimeUnit.MILLISECONDS);
+                    if (primero == null) {
+                        continue;
+                    }
+                    lote.add(primero);
+                    carril.cola().drainTo(lote, maxPorLote - 1);
+                    completar(carril.cola(), lote);
+                }
+                publicar.accept(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error al publicar un lote de eventos: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void completar(BlockingQueue<Object> cola, List<Object> lote) throws InterruptedException {
+        long limite = System.nanoTime() + esperaNanos;
+        long restante;
+        while (lote.size() < maxPorLote && activa && (restante = limite - System.nanoTime()) > 0) {
+            Object siguiente = cola.poll(restante, TimeUnit.NANOSECONDS);
+            if (siguiente == null) {
+                return;
+            }
+            lote.add(siguiente);
+            cola.drainTo(lote, maxPorLote - lote.size());
+        }
+    }
+}
@@ -2,26 +2,103 @@ package com.management.registration.event;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.registration.dto.response.CambioEstadoResponse;
 import com.management.registration.entity.Solicitud;
+import com.management.registration.exception.DependenciaNoDisponibleException;
+import com.management.registration.resilience.DependenciaProtegida;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Publica los eventos de solicitudes en SQS. Cada envío pasa por el circuit breaker y el bulkhead de SQS;
+ * si se rechaza o falla, el evento se guarda en {@link EventoPendienteStore} y
+ * {@link EventoPendienteReenvioJob} lo reenvía cuando SQS se recupera.
+ * <p>
+ * Los eventos se encolan en {@link ColaPublicacion}: cada grupo (patente o solicitud, {@code app.eventos.grupo})
+ * va siempre al mismo hilo, que publica en orden y en SendMessageBatch con los eventos de muchos grupos.
+ * Con la cola de un hilo llena se espera hasta {@code app.eventos.espera-encolado} y luego el evento queda en el
+ * desborde de ese hilo, detrás de los anteriores.
+ * El cuerpo se codifica con el {@link EventoCodec} de {@code app.eventos.formato} y el mensaje lleva los
+ * atributos {@code content-type} y {@code event-count}; con {@code app.eventos.por-mensaje} mayor que 1
+ * se agrupan varios eventos del mismo grupo por mensaje, esperando hasta {@code app.eventos.espera-agrupacion}.
+ * <p>
+ * Si la URL de la cola termina en {@code .fifo}, cada mensaje lleva MessageGroupId = grupo y un
+ * MessageDeduplicationId derivado de los eventos (tipo, solicitud y versión), así un reenvío no se duplica.
+ * Cada SendMessageBatch lleva a lo más un mensaje por grupo; si uno no se acepta, lo que sigue de su grupo
+ * (y lo de los grupos que ya tienen pendientes) va a eventos_pendientes, detrás de él, en vez de adelantarlo.
+ * <p>
+ * Con {@code app.eventos.fuente=cdc} los servicios ya no publican: los eventos salen de
+ * {@link CdcSolicitudesPublisher}, que lee los cambios de la tabla y los publica con {@link #publicarLote}.
+ * Métricas: {@code app.eventos.mensaje.bytes{formato}} y {@code app.eventos.cola} (eventos sin publicar).
+ */
 @Service
 @Slf4j
 public class EventPublisher {
 
-    private final SqsClient sqsClient;
+    // Máximo de entradas que admite SendMessageBatch
+    static final int MAX_MENSAJES_POR_LOTE = 10;
+
+    // SQS admite 256 KB por mensaje y por lote: 10 mensajes de 25 eventos JSON quedan lejos del límite
+    static final int MAX_EVENTOS_POR_MENSAJE = 25;
+
+    // El cliente se construye al primer uso (o en el warm-up previo a recibir tráfico), no durante el arranque
+    private final ObjectProvider<SqsClient> sqsClient;
     private final ObjectMapper objectMapper;
+    private final DependenciaProtegida sqsDependencia;
+    private final EventoPendienteStore eventoPendienteStore;
+    private final EventoCodec codec;
+    private final EventoCodecs eventoCodecs;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary bytesPorMensaje;
+    private ColaPublicacion cola;
 
-    public EventPublisher(@Autowired(required = false) SqsClient sqsClient, ObjectMapper objectMapper) {
+    public EventPublisher(ObjectProvider<SqsClient> sqsClient, ObjectMapper objectMapper,
+                          @Qualifier("sqsDependencia") DependenciaProtegida sqsDependencia,
+                          EventoPendienteStore eventoPendienteStore, EventoCodecs eventoCodecs,
+                          MeterRegistry meterRegistry, ConfigurableBeanFactory beanFactory) {
         this.sqsClient = sqsClient;
         this.objectMapper = objectMapper;
+        this.sqsDependencia = sqsDependencia;
+        this.eventoPendienteStore = eventoPendienteStore;
+        this.codec = eventoCodecs.publicacion();
+        this.eventoCodecs = eventoCodecs;
+        this.meterRegistry = meterRegistry;
+        this.bytesPorMensaje = DistributionSummary.builder("app.eventos.mensaje.bytes")
+                .tag("formato", codec.nombre())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        // El vaciado de @PreDestroy usa el SqsClient: se declara la dependencia para que se cierre después.
+        // No es @DependsOn porque el cliente es @Lazy y eso lo construiría en el arranque
+        beanFactory.registerDependentBean("sqsClient", "eventPublisher");
     }
 
     @Value("${aws.sqs.queue-url:}")
@@ -30,58 +107,351 @@ public class EventPublisher {
     @Value("${aws.sqs.enabled:false}")
     private boolean sqsEnabled;
 
-    @Async
+    @Value("${app.eventos.por-mensaje:1}")
+    private int eventosPorMensaje;
+
+    @Value("${app.eventos.espera-agrupacion:200ms}")
+    private Duration esperaAgrupacion;
+
+    @Value("${app.eventos.grupo:patente}")
+    private String grupo;
+
+    @Value("${app.eventos.hilos:8}")
+    private int hilos;
+
+    @Value("${app.eventos.capacidad-por-hilo:1000}")
+    private int capacidadPorHilo;
+
+    @Value("${app.eventos.espera-encolado:100ms}")
+    private Duration esperaEncolado;
+
+    @Value("${app.eventos.fuente:aplicacion}")
+    private String fuente;
+
+    @PostConstruct
+    void iniciar() {
+        eventosPorMensaje = Math.clamp(eventosPorMensaje, 1, MAX_EVENTOS_POR_MENSAJE);
+        cola = new ColaPublicacion(hilos, capacidadPorHilo, eventosPorMensaje * MAX_MENSAJES_POR_LOTE,
+                eventosPorMensaje > 1 ? esperaAgrupacion : Duration.ZERO, esperaEncolado,
+                this::claveGrupo, this::publicarLote);
+        Gauge.builder("app.eventos.cola", cola, ColaPublicacion::pendientes)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publica lo ya encolado antes de apagar (hasta 10 segundos).
+     */
+    @PreDestroy
+    void detener() throws InterruptedException {
+        cola.detener(Duration.ofSeconds(10));
+    }
+
     public void publicarSolicitudCreada(Solicitud solicitud) {
-        SolicitudCreadaEvent event = SolicitudCreadaEvent.fromSolicitud(
+        if (desdeCdc()) {
+            return;
+        }
+        encolar(SolicitudCreadaEvent.fromSolicitud(
                 solicitud.getId(),
                 solicitud.getPatente(),
                 solicitud.getNombrePropietario(),
                 solicitud.getRut(),
                 solicitud.getEmail()
-        );
+        ));
+    }
 
-        if (sqsEnabled && queueUrl != null && !queueUrl.isEmpty()) {
-            enviarASQS(event);
-        } else {
-            simularEnvio(event);
+    /**
+     * Publica un evento por transición. Una transición en lote se reparte entre los hilos de publicación
+     * y cada uno la envía en SendMessageBatch de hasta 10 mensajes, no con una llamada por solicitud.
+     */
+    public void publicarCambiosEstado(List<CambioEstadoResponse> cambios) {
+        if (desdeCdc()) {
+            return;
         }
+        cambios.stream()
+                .map(SolicitudEstadoCambiadoEvent::fromCambio)
+                .forEach(this::encolar);
+    }
+
+    public boolean estaHabilitado() {
+        return sqsEnabled && queueUrl != null && !queueUrl.isEmpty() && sqsClient.getIfAvailable() != null;
     }
 
-    private void enviarASQS(SolicitudCreadaEvent event) {
-        if (sqsClient == null) {
+    public boolean esFifo() {
+        return queueUrl != null && queueUrl.endsWith(".fifo");
+    }
+
+    public boolean desdeCdc() {
+        return "cdc".equals(fuente);
+    }
+
+    /**
+     * Envía mensajes ya codificados (hasta 10) con SendMessageBatch a través del breaker de SQS.
+     *
+     * @return los mensajes que SQS no aceptó por un error transitorio (para volver a intentarlos)
+     * @throws DependenciaNoDisponibleException si el breaker está abierto o no hay cupo
+     */
+    List<MensajeEvento> enviarMensajes(List<MensajeEvento> mensajes) {
+        List<SendMessageBatchRequestEntry> entradas = new ArrayList<>();
+        for (int i = 0; i < mensajes.size(); i++) {
+            MensajeEvento mensaje = mensajes.get(i);
+            entradas.add(SendMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .messageBody(mensaje.cuerpo())
+                    .messageAttributes(atributos(mensaje))
+                    .messageGroupId(mensaje.grupo())
+                    .messageDeduplicationId(mensaje.deduplicacion())
+                    .build());
+        }
+
+        SendMessageBatchResponse response = sqsDependencia.ejecutar(() -> sqsClient.getObject().sendMessageBatch(
+                SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entradas)
+                        .build()));
+
+        List<MensajeEvento> reintentables = new ArrayList<>();
+        response.failed().forEach(fallo -> {
+            MensajeEvento mensaje = mensajes.get(Integer.parseInt(fallo.id()));
+            log.error("SQS rechazó un mensaje del lote - código: {}, eventos: {}", fallo.code(), eventoCodecs.claves(mensaje));
+            // Los errores del emisor (mensaje inválido) no se resuelven reintentando
+            if (!fallo.senderFault()) {
+                reintentables.add(mensaje);
+            }
+        });
+        return reintentables;
+    }
+
+    private void encolar(Object evento) {
+        if (cola.encolar(evento)) {
+            return;
+        }
+        log.warn("Cola de publicación detenida, evento guardado para reenvío: {}", claveEvento(evento));
+        if (sqsEnabled) {
+            eventoPendienteStore.guardar(codificar(List.of(evento)), "cola de publicación detenida");
+        }
+    }
+
+    /**
+     * Publica los eventos en el hilo que llama: los de {@link ColaPublicacion} y los de la fuente CDC.
+     * Al volver, cada evento está en SQS o en eventos_pendientes (sin SQS, en el log).
+     */
+    void publicarLote(List<Object> eventos) {
+        if (!sqsEnabled || queueUrl == null || queueUrl.isEmpty()) {
+            eventos.forEach(this::simularEnvio);
+        } else if (sqsClient.getIfAvailable() == null) {
             log.warn("SqsClient no disponible, simulando envío en su lugar");
-            simularEnvio(event);
+            eventos.forEach(this::simularEnvio);
+        } else {
+            enviarEventos(eventos);
+        }
+    }
+
+    private void enviarEventos(List<?> eventos) {
+        List<MensajeEvento> mensajes = codificar(eventos);
+        if (!esFifo()) {
+            for (int inicio = 0; inicio < mensajes.size(); inicio += MAX_MENSAJES_POR_LOTE) {
+                enviarLoteASQS(mensajes.subList(inicio, Math.min(inicio + MAX_MENSAJES_POR_LOTE, mensajes.size())));
+            }
             return;
         }
-        
+
+        // Grupos con mensajes en eventos_pendientes durante esta publicación: lo siguiente de ellos va detrás
+        Set<String> apartados = new HashSet<>();
+        for (List<MensajeEvento> lote : lotesFifo(mensajes)) {
+            apartados.addAll(enviarLoteASQS(apartarGruposConPendientes(lote, apartados)));
+        }
+    }
+
+    // Hasta 10 mensajes por lote y a lo más uno por grupo, en orden dentro de cada grupo: si SQS no acepta
+    // un mensaje, los siguientes de su grupo todavía no se enviaron
+    static List<List<MensajeEvento>> lotesFifo(List<MensajeEvento> mensajes) {
+        List<List<MensajeEvento>> lotes = new ArrayList<>();
+        List<MensajeEvento> restantes = mensajes;
+        while (!restantes.isEmpty()) {
+            List<MensajeEvento> lote = new ArrayList<>(MAX_MENSAJES_POR_LOTE);
+            List<MensajeEvento> siguientes = new ArrayList<>();
+            Set<String> grupos = new HashSet<>();
+            for (MensajeEvento mensaje : restantes) {
+                if (lote.size() < MAX_MENSAJES_POR_LOTE && grupos.add(mensaje.grupo())) {
+                    lote.add(mensaje);
+                } else {
+                    siguientes.add(mensaje);
+                }
+            }
+            lotes.add(lote);
+            restantes = siguientes;
+        }
+        return lotes;
+    }
+
+    // Publicarlos ahora los adelantaría a los pendientes de su grupo: se encolan detrás de ellos.
+    // Se consulta antes de cada lote: el reenvío u otro nodo pueden haber guardado pendientes entre medio
+    private List<MensajeEvento> apartarGruposConPendientes(List<MensajeEvento> mensajes, Set<String> apartados) {
+        Set<String> conPendientes = new HashSet<>(apartados);
         try {
-            String messageBody = objectMapper.writeValueAsString(event);
+            conPendientes.addAll(eventoPendienteStore.gruposConPendientes(mensajes.stream()
+                    .map(MensajeEvento::grupo)
+                    .filter(grupoMensaje -> !apartados.contains(grupoMensaje))
+                    .collect(Collectors.toSet())));
+        } catch (DataAccessException e) {
+            log.warn("No se pudo consultar eventos pendientes, se publica igual: {}", e.getMessage());
+        }
+        if (conPendientes.isEmpty()) {
+            return mensajes;
+        }
 
-            SendMessageRequest sendRequest = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(messageBody)
-                    .build();
+        Map<Boolean, List<MensajeEvento>> partes = mensajes.stream()
+                .collect(Collectors.partitioningBy(mensaje -> conPendientes.contains(mensaje.grupo())));
+        if (!partes.get(true).isEmpty()) {
+            eventoPendienteStore.guardar(partes.get(true), "grupo con eventos pendientes");
+            partes.get(true).forEach(mensaje -> apartados.add(mensaje.grupo()));
+        }
+        return partes.get(false);
+    }
 
-            SendMessageResponse response = sqsClient.sendMessage(sendRequest);
+    // Un mensaje cada app.eventos.por-mensaje eventos; en FIFO, sin mezclar grupos y en orden dentro de cada uno
+    private List<MensajeEvento> codificar(List<?> eventos) {
+        Map<String, List<Object>> porGrupo = new LinkedHashMap<>();
+        for (Object evento : eventos) {
+            porGrupo.computeIfAbsent(esFifo() ? claveGrupo(evento) : "", k -> new ArrayList<>()).add(evento);
+        }
 
-            log.info("Evento enviado a SQS - MessageId: {}, SolicitudId: {}",
-                    response.messageId(), event.getSolicitudId());
+        List<MensajeEvento> mensajes = new ArrayList<>();
+        porGrupo.forEach((clave, delGrupo) -> {
+            for (int inicio = 0; inicio < delGrupo.size(); inicio += eventosPorMensaje) {
+                List<Object> parte = delGrupo.subList(inicio, Math.min(inicio + eventosPorMensaje, delGrupo.size()));
+                try {
+                    mensajes.add(codificarMensaje(parte, esFifo() ? clave : null));
+                } catch (IllegalArgumentException e) {
+                    log.error("Error al codificar eventos: {}", parte.stream().map(EventPublisher::claveEvento).toList(), e);
+                }
+            }
+        });
+        return mensajes;
+    }
 
-        } catch (JsonProcessingException e) {
-            log.error("Error al serializar evento: {}", event, e);
+    private MensajeEvento codificarMensaje(List<?> eventos, String grupoFifo) {
+        String cuerpo = codec.codificar(eventos);
+        bytesPorMensaje.record(cuerpo.length());
+        if (grupoFifo == null) {
+            return new MensajeEvento(cuerpo, codec.tipoContenido(), eventos.size());
+        }
+        return new MensajeEvento(cuerpo, codec.tipoContenido(), eventos.size(), grupoFifo, deduplicacion(eventos));
+    }
+
+    private String claveGrupo(Object evento) {
+        return switch (evento) {
+            case SolicitudCreadaEvent creada -> "solicitud".equals(grupo) || creada.getPatente() == null
+                    ? String.valueOf(creada.getSolicitudId()) : creada.getPatente();
+            case SolicitudEstadoCambiadoEvent cambio -> "solicitud".equals(grupo) || cambio.getPatente() == null
+                    ? String.valueOf(cambio.getSolicitudId()) : cambio.getPatente();
+            default -> throw new IllegalArgumentException("Tipo de evento no soportado: " + evento.getClass());
+        };
+    }
+
+    /**
+     * Identifica el hecho (tipo, solicitud y versión) sin datos personales: se usa para deduplicar y en los logs,
+     * que no deben llevar los cuerpos (RUT, email).
+     */
+    static String claveEvento(Object evento) {
+        return switch (evento) {
+            case SolicitudCreadaEvent creada -> SolicitudCreadaEvent.TIPO + ":" + creada.getSolicitudId();
+            case SolicitudEstadoCambiadoEvent cambio -> SolicitudEstadoCambiadoEvent.TIPO + ":"
+                    + cambio.getSolicitudId() + ":" + cambio.getVersion();
+            default -> throw new IllegalArgumentException("Tipo de evento no soportado: " + evento.getClass());
+        };
+    }
+
+    // Misma clave para el mismo hecho: un reintento o reenvío dentro de los 5 minutos de SQS no se duplica.
+    // Con varios eventos por mensaje se usa el SHA-256 de sus claves (el límite de SQS es de 128 caracteres).
+    private static String deduplicacion(List<?> eventos) {
+        List<String> claves = eventos.stream()
+                .map(EventPublisher::claveEvento)
+                .toList();
+        if (claves.size() == 1) {
+            return claves.get(0);
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("|", claves).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return los grupos FIFO de los mensajes que quedaron en eventos_pendientes
+     */
+    private Set<String> enviarLoteASQS(List<MensajeEvento> mensajes) {
+        if (mensajes.isEmpty()) {
+            return Set.of();
+        }
+
+        List<MensajeEvento> guardados;
+        try {
+            guardados = enviarMensajes(mensajes);
+            log.info("Mensajes de eventos enviados a SQS: {}", mensajes.size() - guardados.size());
+            if (!guardados.isEmpty()) {
+                eventoPendienteStore.guardar(guardados, "fallo parcial de SendMessageBatch");
+            }
+        } catch (DependenciaNoDisponibleException e) {
+            guardados = mensajes;
+            eventoPendienteStore.guardar(mensajes, e.getMessage());
         } catch (Exception e) {
-            log.error("Error al enviar mensaje a SQS: {}", event, e);
+            log.error("Error al enviar lote de eventos a SQS: {}", e.getMessage());
+            guardados = mensajes;
+            eventoPendienteStore.guardar(mensajes, e.getClass().getSimpleName());
+        }
+        return guardados.stream()
+                .map(MensajeEvento::grupo)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static Map<String, MessageAttributeValue> atributos(MensajeEvento mensaje) {
+        return Map.of(
+                EventoCodecs.ATRIBUTO_TIPO_CONTENIDO, MessageAttributeValue.builder()
+                        .dataType("String")
+                        .stringValue(mensaje.tipoContenido())
+                        .build(),
+                EventoCodecs.ATRIBUTO_CANTIDAD, MessageAttributeValue.builder()
+                        .dataType("Number")
+                        .stringValue(String.valueOf(mensaje.eventos()))
+                        .build());
+    }
+
+    private void simularEnvio(Object evento) {
+        switch (evento) {
+            case SolicitudCreadaEvent creada -> simularEnvio(creada);
+            case SolicitudEstadoCambiadoEvent cambio -> simularEnvio(cambio);
+            default -> log.warn("Tipo de evento no soportado: {}", evento.getClass());
+        }
+    }
+
+    private void simularEnvio(SolicitudEstadoCambiadoEvent event) {
+        // Sin SQS el JSON solo sirve para el log: no se serializa si no se va a escribir
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        try {
+            log.info("EVENTO_SIMULADO - SolicitudEstadoCambiado: {}", objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("Error al serializar evento para simulación: {}", claveEvento(event), e);
         }
     }
 
     private void simularEnvio(SolicitudCreadaEvent event) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
         try {
             String eventJson = objectMapper.writeValueAsString(event);
             log.info("EVENTO_SIMULADO - SolicitudCreada: {}", eventJson);
             log.info("Evento SolicitudCreada simulado - ID: {}, Patente: {}",
                     event.getSolicitudId(), event.getPatente());
         } catch (JsonProcessingException e) {
-            log.error("Error al serializar evento para simulación: {}", event, e);
+            log.error("Error al serializar evento para simulación: {}", claveEvento(event), e);
         }
     }
 }
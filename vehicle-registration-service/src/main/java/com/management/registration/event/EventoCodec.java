@@ -0,0 +1,25 @@
+package com.management.registration.event;
+
+import java.util.List;
+
+/**
+ * Formato de los cuerpos de los mensajes SQS. Un cuerpo puede llevar uno o varios eventos
+ * ({@link SolicitudCreadaEvent} o {@link SolicitudEstadoCambiadoEvent}); el consumidor elige el codec
+ * por el atributo {@code content-type} del mensaje ({@link EventoCodecs#ATRIBUTO_TIPO_CONTENIDO}).
+ */
+public interface EventoCodec {
+
+    /**
+     * Nombre con el que se elige en {@code app.eventos.formato}
+     */
+    String nombre();
+
+    /**
+     * Valor del atributo {@code content-type} de los mensajes
+     */
+    String tipoContenido();
+
+    String codificar(List<?> eventos);
+
+    List<Object> decodificar(String cuerpo);
+}
@@ -0,0 +1,62 @@
+package com.management.registration.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Codecs de eventos disponibles. El de publicación se elige con {@code app.eventos.formato};
+ * al leer, cada mensaje se decodifica según su atributo {@code content-type} (sin atributo: JSON).
+ */
+@Component
+public class EventoCodecs {
+
+    public static final String ATRIBUTO_TIPO_CONTENIDO = "content-type";
+    public static final String ATRIBUTO_CANTIDAD = "event-count";
+
+    private final List<EventoCodec> codecs;
+    private final EventoCodec json;
+    private final EventoCodec publicacion;
+
+    public EventoCodecs(List<EventoCodec> codecs, @Value("${app.eventos.formato:json}") String formato) {
+        this.codecs = codecs;
+        this.json = porNombre(JsonEventoCodec.NOMBRE);
+        this.publicacion = porNombre(formato);
+    }
+
+    public EventoCodec publicacion() {
+        return publicacion;
+    }
+
+    public EventoCodec porTipoContenido(String tipoContenido) {
+        if (tipoContenido == null || tipoContenido.isBlank()) {
+            return json;
+        }
+        return codecs.stream()
+                .filter(codec -> codec.tipoContenido().equals(tipoContenido))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Tipo de contenido sin codec: " + tipoContenido));
+    }
+
+    /**
+     * Claves de los eventos de un mensaje (tipo, solicitud y versión), para los logs: sin los cuerpos, que llevan
+     * datos personales
+     */
+    public List<String> claves(MensajeEvento mensaje) {
+        try {
+            return porTipoContenido(mensaje.tipoContenido()).decodificar(mensaje.cuerpo()).stream()
+                    .map(EventPublisher::claveEvento)
+                    .toList();
+        } catch (RuntimeException e) {
+            return List.of(mensaje.deduplicacion() != null ? mensaje.deduplicacion() : "ilegible");
+        }
+    }
+
+    private EventoCodec porNombre(String nombre) {
+        return codecs.stream()
+                .filter(codec -> codec.nombre().equals(nombre))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("app.eventos.formato desconocido: " + nombre));
+    }
+}
@@ -0,0 +1,98 @@
+package com.management.registration.event;
+
+import com.management.registration.exception.DependenciaNoDisponibleException;
+import com.management.registration.resilience.DependenciaProtegida;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reenvía a SQS los eventos guardados en {@code eventos_pendientes}, en lotes de 10 mensajes y del más antiguo
+ * al más nuevo, con el mismo formato ({@code content-type}) con que se intentaron publicar.
+ * No hace nada mientras el breaker de SQS está abierto. Los eventos reenviados pueden llegar después de otros
+ * más nuevos: los consumidores deben ordenar por la fecha del evento, no por la de llegada.
+ * Con una cola FIFO el reenvío lo hace un nodo a la vez y los eventos nuevos de un grupo con pendientes
+ * esperan detrás de ellos, así que el orden por grupo se mantiene.
+ */
+@Component
+@Slf4j
+public class EventoPendienteReenvioJob {
+
+    private final EventPublisher eventPublisher;
+    private final EventoPendienteStore eventoPendienteStore;
+    private final DependenciaProtegida sqsDependencia;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.resilience.sqs.redrive-max-batches:100}")
+    private int maxLotesPorEjecucion;
+
+    public EventoPendienteReenvioJob(EventPublisher eventPublisher,
+                                     EventoPendienteStore eventoPendienteStore,
+                                     @Qualifier("sqsDependencia") DependenciaProtegida sqsDependencia,
+                                     TransactionTemplate transactionTemplate) {
+        this.eventPublisher = eventPublisher;
+        this.eventoPendienteStore = eventoPendienteStore;
+        this.sqsDependencia = sqsDependencia;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${app.resilience.sqs.redrive-interval:15s}")
+    public void reenviar() {
+        if (!eventPublisher.estaHabilitado() || !sqsDependencia.estaDisponible()) {
+            return;
+        }
+
+        int total = 0;
+        try {
+            for (int lote = 0; lote < maxLotesPorEjecucion; lote++) {
+                Integer reenviados = transactionTemplate.execute(status -> reenviarLote());
+                if (reenviados == null || reenviados == 0) {
+                    break;
+                }
+                total += reenviados;
+            }
+        } catch (DependenciaNoDisponibleException e) {
+            log.debug("Reenvío de eventos pendientes interrumpido: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Error al reenviar eventos pendientes: {}", e.getMessage());
+        }
+
+        if (total > 0) {
+            log.info("Eventos pendientes reenviados a SQS: {}", total);
+        }
+    }
+
+    // Si el envío lanza excepción, el rollback devuelve el lote a la tabla.
+    // Un lote sin ningún envío exitoso corta la ejecución para no reintentarlo en bucle.
+    private int reenviarLote() {
+        if (eventPublisher.esFifo() && !eventoPendienteStore.tomarTurnoDeReenvio()) {
+            return 0;
+        }
+        List<MensajeEvento> mensajes = eventoPendienteStore.reclamar(EventPublisher.MAX_MENSAJES_POR_LOTE);
+        if (mensajes.isEmpty()) {
+            return 0;
+        }
+
+        List<MensajeEvento> reintentables = eventPublisher.enviarMensajes(mensajes);
+        if (!reintentables.isEmpty() && eventPublisher.esFifo()) {
+            // Reencolarlos al final los dejaría detrás de mensajes más nuevos de su grupo: se devuelve el lote
+            // entero y los ya aceptados se descartan en SQS por su MessageDeduplicationId (ventana de 5 minutos)
+            throw new IllegalStateException("Fallo parcial de SendMessageBatch en cola FIFO, se reintenta el lote");
+        }
+        if (!reintentables.isEmpty()) {
+            eventoPendienteStore.guardar(reintentables, "fallo parcial de SendMessageBatch");
+        }
+        int reenviados = contarEventos(mensajes) - contarEventos(reintentables);
+        eventoPendienteStore.registrarReenviados(reenviados);
+        return reenviados;
+    }
+
+    private static int contarEventos(List<MensajeEvento> mensajes) {
+        return mensajes.stream().mapToInt(MensajeEvento::eventos).sum();
+    }
+}
@@ -0,0 +1,117 @@
+package com.management.registration.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Respaldo durable de los eventos que no llegaron a SQS (tabla {@code eventos_pendientes}).
+ * Métricas: {@code app.eventos.pendientes{operacion=guardado|reenviado}}.
+ */
+@Component
+@Slf4j
+public class EventoPendienteStore {
+
+    // Toma los más antiguos y los borra en la misma sentencia; SKIP LOCKED reparte entre nodos
+    private static final String SQL_RECLAMAR = """
+            DELETE FROM eventos_pendientes
+            WHERE id IN (
+                SELECT id FROM eventos_pendientes
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, cuerpo, tipo_contenido, eventos, grupo, deduplicacion
+            """;
+
+    // Clave del advisory lock que ordena el reenvío FIFO entre nodos
+    private static final long TURNO_REENVIO = 0x6576656e746f73L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventoCodecs eventoCodecs;
+    private final Counter guardados;
+    private final Counter reenviados;
+
+    public EventoPendienteStore(JdbcTemplate jdbcTemplate, EventoCodecs eventoCodecs, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventoCodecs = eventoCodecs;
+        this.guardados = Counter.builder("app.eventos.pendientes")
+                .tag("operacion", "guardado")
+                .register(meterRegistry);
+        this.reenviados = Counter.builder("app.eventos.pendientes")
+                .tag("operacion", "reenviado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Guarda los mensajes para reenviarlos más tarde. Si tampoco se puede escribir en la base, los eventos se pierden
+     * y en el log quedan sus claves (tipo, solicitud y versión), no los cuerpos.
+     */
+    public void guardar(List<MensajeEvento> mensajes, String motivo) {
+        int eventos = mensajes.stream().mapToInt(MensajeEvento::eventos).sum();
+        try {
+            jdbcTemplate.batchUpdate(
+                    """
+                    INSERT INTO eventos_pendientes (cuerpo, tipo_contenido, eventos, grupo, deduplicacion, motivo)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """,
+                    mensajes, mensajes.size(), (ps, mensaje) -> {
+                        ps.setString(1, mensaje.cuerpo());
+                        ps.setString(2, mensaje.tipoContenido());
+                        ps.setInt(3, mensaje.eventos());
+                        ps.setString(4, mensaje.grupo());
+                        ps.setString(5, mensaje.deduplicacion());
+                        ps.setString(6, motivo);
+                    });
+            guardados.increment(eventos);
+            log.warn("{} eventos ({} mensajes) guardados para reenvío: {}", eventos, mensajes.size(), motivo);
+        } catch (DataAccessException e) {
+            log.error("No se pudieron guardar {} eventos pendientes, se pierden: {}", eventos,
+                    mensajes.stream().flatMap(mensaje -> eventoCodecs.claves(mensaje).stream()).toList(), e);
+        }
+    }
+
+    /**
+     * Toma y borra hasta {@code limite} mensajes, del más antiguo al más nuevo.
+     * Debe llamarse dentro de una transacción: si el reenvío falla, el rollback los devuelve a la tabla.
+     */
+    public List<MensajeEvento> reclamar(int limite) {
+        return jdbcTemplate.query(SQL_RECLAMAR, (rs, rowNum) -> new MensajeEvento(
+                rs.getString("cuerpo"), rs.getString("tipo_contenido"), rs.getInt("eventos"),
+                rs.getString("grupo"), rs.getString("deduplicacion")), limite);
+    }
+
+    /**
+     * Grupos FIFO (de los indicados) que tienen mensajes pendientes de reenvío.
+     * Las filas reclamadas por un reenvío en curso siguen contando hasta que este confirma.
+     */
+    public Set<String> gruposConPendientes(Collection<String> grupos) {
+        if (grupos.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT grupo FROM eventos_pendientes WHERE grupo = ANY (?)", String.class,
+                (Object) grupos.toArray(String[]::new)));
+    }
+
+    /**
+     * Toma el turno de reenvío hasta el fin de la transacción actual; false si lo tiene otro nodo.
+     * Con colas FIFO un solo nodo reenvía a la vez, para que los lotes salgan en orden.
+     */
+    public boolean tomarTurnoDeReenvio() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, TURNO_REENVIO));
+    }
+
+    public void registrarReenviados(int cantidad) {
+        reenviados.increment(cantidad);
+    }
+}
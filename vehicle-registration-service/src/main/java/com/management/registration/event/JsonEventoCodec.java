@@ -0,0 +1,71 @@
+package com.management.registration.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON con nombres de campo: un evento va como objeto (el formato de siempre) y varios como arreglo.
+ * Al decodificar, el tipo se toma de {@code eventType}.
+ */
+@Component
+public class JsonEventoCodec implements EventoCodec {
+
+    public static final String NOMBRE = "json";
+
+    private final ObjectMapper objectMapper;
+
+    public JsonEventoCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public String tipoContenido() {
+        return "application/json";
+    }
+
+    @Override
+    public String codificar(List<?> eventos) {
+        try {
+            return objectMapper.writeValueAsString(eventos.size() == 1 ? eventos.get(0) : eventos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Evento no serializable: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Object> decodificar(String cuerpo) {
+        try {
+            JsonNode raiz = objectMapper.readTree(cuerpo);
+            List<Object> eventos = new ArrayList<>();
+            if (raiz.isArray()) {
+                for (JsonNode nodo : raiz) {
+                    eventos.add(convertir(nodo));
+                }
+            } else {
+                eventos.add(convertir(raiz));
+            }
+            return eventos;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cuerpo JSON inválido: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private Object convertir(JsonNode nodo) throws JsonProcessingException {
+        String tipo = nodo.path("eventType").asText();
+        return switch (tipo) {
+            case SolicitudCreadaEvent.TIPO -> objectMapper.treeToValue(nodo, SolicitudCreadaEvent.class);
+            case SolicitudEstadoCambiadoEvent.TIPO -> objectMapper.treeToValue(nodo, SolicitudEstadoCambiadoEvent.class);
+            default -> throw new IllegalArgumentException("Tipo de evento desconocido: " + tipo);
+        };
+    }
+}
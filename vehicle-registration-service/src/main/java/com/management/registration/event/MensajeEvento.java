@@ -0,0 +1,14 @@
+package com.management.registration.event;
+
+/**
+ * Cuerpo de un mensaje SQS ya codificado, con el tipo de contenido (atributo {@code content-type})
+ * y la cantidad de eventos que lleva (atributo {@code event-count}).
+ * En colas FIFO, {@code grupo} es el MessageGroupId y {@code deduplicacion} el MessageDeduplicationId;
+ * en colas estándar van en null.
+ */
+public record MensajeEvento(String cuerpo, String tipoContenido, int eventos, String grupo, String deduplicacion) {
+
+    public MensajeEvento(String cuerpo, String tipoContenido, int eventos) {
+        this(cuerpo, tipoContenido, eventos, null, null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.management.registration.event;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodifica los mensajes del plugin {@code pgoutput} (protocolo 1) de un slot de replicación lógica.
+ * Solo interesan BEGIN, COMMIT, RELATION, INSERT y UPDATE; el resto (DELETE, TRUNCATE, TYPE, ORIGIN) se ignora.
+ * Los valores llegan en formato texto, como los devolvería un SELECT. Guarda el estado de las relaciones
+ * recibidas, así que hay un decodificador por conexión de replicación.
+ */
+final class PgOutputDecoder {
+
+    enum Operacion { INSERT, UPDATE }
+
+    sealed interface Mensaje permits Inicio, Confirmacion, Fila {}
+
+    /**
+     * BEGIN: {@code commitMicros} es la hora de commit en microsegundos desde 2000-01-01 (época de Postgres).
+     */
+    record Inicio(long lsnFinal, long commitMicros, int xid) implements Mensaje {}
+
+    /**
+     * COMMIT: confirmar {@code lsnFin} al slot da por procesada la transacción entera.
+     */
+    record Confirmacion(long lsnCommit, long lsnFin) implements Mensaje {}
+
+    /**
+     * Fila insertada o actualizada. {@code anterior} es null salvo que la tabla tenga REPLICA IDENTITY FULL
+     * (o cambie la clave).
+     */
+    record Fila(Operacion operacion, String tabla, Map<String, String> anterior, Map<String, String> nueva)
+            implements Mensaje {}
+
+    private record Relacion(String tabla, List<String> columnas) {}
+
+    private final Map<Integer, Relacion> relaciones = new HashMap<>();
+
+    /**
+     * @return el mensaje decodificado, o null si es de un tipo que no interesa
+     */
+    Mensaje decodificar(ByteBuffer buffer) {
+        byte tipo = buffer.get();
+        return switch (tipo) {
+            case 'B' -> new Inicio(buffer.getLong(), buffer.getLong(), buffer.getInt());
+            case 'C' -> {
+                buffer.get(); // flags, sin uso
+                yield new Confirmacion(buffer.getLong(), buffer.getLong());
+            }
+            case 'R' -> {
+                leerRelacion(buffer);
+                yield null;
+            }
+            case 'I' -> {
+                Relacion relacion = relacion(buffer.getInt());
+                esperar(buffer, 'N');
+                yield new Fila(Operacion.INSERT, relacion.tabla(), null, leerTupla(buffer, relacion, null));
+            }
+            case 'U' -> {
+                Relacion relacion = relacion(buffer.getInt());
+                Map<String, String> anterior = null;
+                byte marca = buffer.get();
+                if (marca == 'K' || marca == 'O') {
+                    anterior = leerTupla(buffer, relacion, null);
+                    marca = buffer.get();
+                }
+                if (marca != 'N') {
+                    throw new IllegalArgumentException("UPDATE de pgoutput sin tupla nueva: " + (char) marca);
+                }
+                yield new Fila(Operacion.UPDATE, relacion.tabla(), anterior, leerTupla(buffer, relacion, anterior));
+            }
+            default -> null;
+        };
+    }
+
+    private void leerRelacion(ByteBuffer buffer) {
+        int oid = buffer.getInt();
+        leerTexto(buffer); // esquema: la publicación solo incluye public.solicitudes
+        String tabla = leerTexto(buffer);
+        buffer.get(); // replica identity
+        int cantidad = buffer.getShort();
+        String[] columnas = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            buffer.get(); // flags (parte de la clave)
+            columnas[i] = leerTexto(buffer);
+            buffer.getInt(); // oid del tipo
+            buffer.getInt(); // typmod
+        }
+        relaciones.put(oid, new Relacion(tabla, List.of(columnas)));
+    }
+
+    // Los valores TOAST sin cambios ('u') no viajan: se toman de la fila anterior si la hay
+    private static Map<String, String> leerTupla(ByteBuffer buffer, Relacion relacion, Map<String, String> anterior) {
+        int cantidad = buffer.getShort();
+        Map<String, String> valores = new LinkedHashMap<>();
+        for (int i = 0; i < cantidad; i++) {
+            String columna = relacion.columnas().get(i);
+            byte tipo = buffer.get();
+            switch (tipo) {
+                case 'n' -> valores.put(columna, null);
+                case 'u' -> valores.put(columna, anterior != null ? anterior.get(columna) : null);
+                case 't' -> {
+                    byte[] valor = new byte[buffer.getInt()];
+                    buffer.get(valor);
+                    valores.put(columna, new String(valor, StandardCharsets.UTF_8));
+                }
+                default -> throw new IllegalArgumentException("Tipo de columna de pgoutput no soportado: " + (char) tipo);
+            }
+        }
+        return valores;
+    }
+
+    private Relacion relacion(int oid) {
+        Relacion relacion = relaciones.get(oid);
+        if (relacion == null) {
+            throw new IllegalStateException("Cambio de una relación no anunciada por pgoutput: " + oid);
+        }
+        return relacion;
+    }
+
+    private static void esperar(ByteBuffer buffer, char marca) {
+        byte leida = buffer.get();
+        if (leida != marca) {
+            throw new IllegalArgumentException("Se esperaba '" + marca + "' en pgoutput y llegó '" + (char) leida + "'");
+        }
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        int inicio = buffer.position();
+        int fin = inicio;
+        while (buffer.get(fin) != 0) {
+            fin++;
+        }
+        byte[] bytes = new byte[fin - inicio];
+        buffer.get(bytes);
+        buffer.get(); // terminador
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
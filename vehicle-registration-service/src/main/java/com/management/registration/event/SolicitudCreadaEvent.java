@@ -14,6 +14,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class SolicitudCreadaEvent {
+
+    public static final String TIPO = "SOLICITUD_CREADA";
+
     private UUID solicitudId;
     private String patente;
     private String nombrePropietario;
@@ -36,7 +39,7 @@ public class SolicitudCreadaEvent {
                 .rut(rut)
                 .email(email)
                 .fechaCreacion(LocalDateTime.now())
-                .eventType("SOLICITUD_CREADA")
+                .eventType(TIPO)
                 .build();
     }
 }
@@ -0,0 +1,41 @@
+package com.management.registration.event;
+
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SolicitudEstadoCambiadoEvent {
+
+    public static final String TIPO = "SOLICITUD_ESTADO_CAMBIADO";
+
+    private UUID solicitudId;
+    private String patente;
+    private EstadoSolicitud estadoAnterior;
+    private EstadoSolicitud estadoNuevo;
+    private Long version;
+    private LocalDateTime fechaCambio;
+    private String eventType;
+
+    public static SolicitudEstadoCambiadoEvent fromCambio(CambioEstadoResponse cambio) {
+        return SolicitudEstadoCambiadoEvent.builder()
+                .solicitudId(cambio.getId())
+                .patente(cambio.getPatente())
+                .estadoAnterior(cambio.getEstadoAnterior())
+                .estadoNuevo(cambio.getEstado())
+                .version(cambio.getVersion())
+                .fechaCambio(cambio.getFechaActualizacion())
+                .eventType(TIPO)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.management.registration.exception;
+
+import java.time.Duration;
+
+public class BusquedaDemasiadoAmpliaException extends RuntimeException {
+
+    private final String texto;
+
+    public BusquedaDemasiadoAmpliaException(String texto, Duration limite) {
+        super(String.format("La búsqueda '%s' superó el tiempo máximo (%d ms): agregue más términos",
+                texto, limite.toMillis()));
+        this.texto = texto;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+}
@@ -0,0 +1,8 @@
+package com.management.registration.exception;
+
+public class BusquedaInvalidaException extends RuntimeException {
+
+    public BusquedaInvalidaException(int largoMinimo) {
+        super(String.format("El texto de búsqueda debe tener al menos %d caracteres", largoMinimo));
+    }
+}
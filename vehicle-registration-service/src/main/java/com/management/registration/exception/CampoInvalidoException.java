@@ -0,0 +1,17 @@
+package com.management.registration.exception;
+
+import java.util.Collection;
+
+public class CampoInvalidoException extends RuntimeException {
+
+    private final String campo;
+
+    public CampoInvalidoException(String campo, Collection<String> permitidos) {
+        super(String.format("Campo '%s' no válido. Campos permitidos: %s", campo, permitidos));
+        this.campo = campo;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+}
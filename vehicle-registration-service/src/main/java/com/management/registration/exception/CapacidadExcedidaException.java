@@ -0,0 +1,15 @@
+package com.management.registration.exception;
+
+public class CapacidadExcedidaException extends RuntimeException {
+
+    private final String endpoint;
+
+    public CapacidadExcedidaException(String endpoint, int limite) {
+        super(String.format("El servicio está al máximo de peticiones concurrentes (%d) para %s", limite, endpoint));
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
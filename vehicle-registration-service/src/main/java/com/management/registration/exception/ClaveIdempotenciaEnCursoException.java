@@ -0,0 +1,15 @@
+package com.management.registration.exception;
+
+public class ClaveIdempotenciaEnCursoException extends RuntimeException {
+
+    private final String clave;
+
+    public ClaveIdempotenciaEnCursoException(String clave) {
+        super(String.format("La petición con Idempotency-Key '%s' sigue en curso, reintente más tarde", clave));
+        this.clave = clave;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+}
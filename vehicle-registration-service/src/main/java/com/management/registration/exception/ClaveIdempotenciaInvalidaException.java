@@ -0,0 +1,8 @@
+package com.management.registration.exception;
+
+public class ClaveIdempotenciaInvalidaException extends RuntimeException {
+
+    public ClaveIdempotenciaInvalidaException(int largoMaximo) {
+        super(String.format("El header Idempotency-Key debe tener entre 1 y %d caracteres", largoMaximo));
+    }
+}
@@ -0,0 +1,15 @@
+package com.management.registration.exception;
+
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    private final String clave;
+
+    public ClaveIdempotenciaReutilizadaException(String clave) {
+        super(String.format("La Idempotency-Key '%s' ya se usó con un cuerpo distinto", clave));
+        this.clave = clave;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+}
@@ -0,0 +1,8 @@
+package com.management.registration.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+
+    public CursorInvalidoException(String cursor) {
+        super(String.format("Cursor '%s' no válido: use el nextCursor de la página anterior", cursor));
+    }
+}
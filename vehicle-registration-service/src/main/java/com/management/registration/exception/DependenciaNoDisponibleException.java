@@ -0,0 +1,21 @@
+package com.management.registration.exception;
+
+public class DependenciaNoDisponibleException extends RuntimeException {
+
+    private final String dependencia;
+    private final long reintentarEnSegundos;
+
+    public DependenciaNoDisponibleException(String dependencia, String motivo, long reintentarEnSegundos) {
+        super(String.format("El servicio %s no está disponible temporalmente (%s)", dependencia, motivo));
+        this.dependencia = dependencia;
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public String getDependencia() {
+        return dependencia;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
@@ -0,0 +1,21 @@
+package com.management.registration.exception;
+
+public class LimiteTasaExcedidoException extends RuntimeException {
+
+    private final String cliente;
+    private final long reintentarEnSegundos;
+
+    public LimiteTasaExcedidoException(String cliente, long reintentarEnSegundos) {
+        super("Límite de peticiones por segundo excedido para el cliente");
+        this.cliente = cliente;
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public String getCliente() {
+        return cliente;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
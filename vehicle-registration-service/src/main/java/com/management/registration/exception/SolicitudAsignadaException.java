@@ -0,0 +1,20 @@
+package com.management.registration.exception;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class SolicitudAsignadaException extends RuntimeException {
+
+    private final UUID solicitudId;
+
+    public SolicitudAsignadaException(UUID solicitudId, String revisor, LocalDateTime leaseExpira) {
+        super(leaseExpira != null && leaseExpira.isAfter(LocalDateTime.now())
+                ? String.format("La solicitud '%s' está asignada a %s hasta %s", solicitudId, revisor, leaseExpira)
+                : String.format("El lease de la solicitud '%s' venció; debe reclamarse de nuevo", solicitudId));
+        this.solicitudId = solicitudId;
+    }
+
+    public UUID getSolicitudId() {
+        return solicitudId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.management.registration.exception;
+
+public class SuscripcionesAgotadasException extends RuntimeException {
+
+    public SuscripcionesAgotadasException(int maximo) {
+        super(String.format("Se alcanzó el máximo de %d suscripciones activas en este nodo", maximo));
+    }
+}
@@ -0,0 +1,19 @@
+package com.management.registration.exception;
+
+import com.management.registration.entity.EstadoSolicitud;
+
+import java.util.UUID;
+
+public class TransicionInvalidaException extends RuntimeException {
+
+    private final UUID solicitudId;
+
+    public TransicionInvalidaException(UUID solicitudId, EstadoSolicitud actual, EstadoSolicitud destino) {
+        super(String.format("La solicitud '%s' no puede pasar de %s a %s", solicitudId, actual, destino));
+        this.solicitudId = solicitudId;
+    }
+
+    public UUID getSolicitudId() {
+        return solicitudId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.management.registration.exception;
+
+import java.util.UUID;
+
+public class VersionDesactualizadaException extends RuntimeException {
+
+    private final UUID solicitudId;
+
+    public VersionDesactualizadaException(UUID solicitudId, String esperada, Long actual) {
+        super(String.format("La solicitud '%s' está en la versión %d, no en %s", solicitudId, actual, esperada));
+        this.solicitudId = solicitudId;
+    }
+
+    public UUID getSolicitudId() {
+        return solicitudId;
+    }
+}
@@ -0,0 +1,158 @@
+package com.management.registration.idempotency;
+
+import com.management.registration.exception.ClaveIdempotenciaEnCursoException;
+import com.management.registration.exception.ClaveIdempotenciaInvalidaException;
+import com.management.registration.exception.ClaveIdempotenciaReutilizadaException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas ya entregadas por clave de idempotencia (header {@code Idempotency-Key}), en memoria del nodo.
+ * Un reintento con la misma clave recibe la respuesta original sin volver a ejecutar la operación,
+ * y los duplicados concurrentes esperan a la primera ejecución en vez de correr en paralelo.
+ * Acotado por TTL y por cantidad de entradas (se descartan las más antiguas).
+ * Solo se guardan las respuestas exitosas: si la operación falla, la clave queda libre para reintentar.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+    static final int LARGO_MAXIMO = 255;
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entrada> orden = new ConcurrentLinkedQueue<>();
+    // Tamaño de orden (size() de la cola es O(n)); puede superar a entradas por claves vencidas y reemplazadas
+    private final AtomicInteger enOrden = new AtomicInteger();
+    private final LongSupplier reloj;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.max-entries:10000}")
+    private int maxEntradas;
+
+    @Value("${app.idempotency.wait-timeout:10s}")
+    private Duration esperaMaxima;
+
+    public IdempotencyStore() {
+        this(System::nanoTime);
+    }
+
+    IdempotencyStore(LongSupplier reloj) {
+        this.reloj = reloj;
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave.
+     * {@code cuerpo} identifica la petición: la misma clave con otro cuerpo se rechaza.
+     */
+    public <T> ResponseEntity<T> ejecutar(String clave, Object cuerpo, Supplier<ResponseEntity<T>> operacion) {
+        if (clave.isBlank() || clave.length() > LARGO_MAXIMO) {
+            throw new ClaveIdempotenciaInvalidaException(LARGO_MAXIMO);
+        }
+
+        long ahora = reloj.getAsLong();
+        Entrada nueva = new Entrada(clave, cuerpo, ahora + ttl.toNanos());
+        Entrada vigente = entradas.compute(clave, (k, actual) ->
+                actual == null || actual.vencida(ahora) ? nueva : actual);
+
+        if (vigente != nueva) {
+            return repetir(vigente, cuerpo);
+        }
+
+        orden.add(nueva);
+        enOrden.incrementAndGet();
+        recortar(ahora);
+        try {
+            ResponseEntity<T> respuesta = operacion.get();
+            nueva.resultado.complete(respuesta);
+            return respuesta;
+        } catch (RuntimeException e) {
+            entradas.remove(clave, nueva);
+            // Sin esto la entrada (y su cuerpo) seguiría en la cola hasta vencer, aunque ya no esté en el mapa
+            if (orden.remove(nueva)) {
+                enOrden.decrementAndGet();
+            }
+            nueva.resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int getEntradas() {
+        return entradas.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> repetir(Entrada entrada, Object cuerpo) {
+        if (!Objects.equals(entrada.cuerpo, cuerpo)) {
+            throw new ClaveIdempotenciaReutilizadaException(entrada.clave);
+        }
+
+        try {
+            ResponseEntity<T> original = (ResponseEntity<T>) entrada.resultado
+                    .get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+            log.debug("Respuesta repetida para Idempotency-Key {}", entrada.clave);
+            return ResponseEntity.status(original.getStatusCode())
+                    .headers(original.getHeaders())
+                    .header(HEADER_REPETIDA, "true")
+                    .body(original.getBody());
+        } catch (ExecutionException e) {
+            // La ejecución original falló: el duplicado recibe el mismo error
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ClaveIdempotenciaEnCursoException(entrada.clave);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaveIdempotenciaEnCursoException(entrada.clave);
+        }
+    }
+
+    // Todas las entradas tienen el mismo TTL: el orden de inserción es también el de vencimiento.
+    // El tope se mide sobre la cola, que es la que retiene las entradas
+    private void recortar(long ahora) {
+        Entrada masAntigua;
+        while ((masAntigua = orden.peek()) != null
+                && (enOrden.get() > maxEntradas || masAntigua.vencida(ahora))) {
+            if (orden.remove(masAntigua)) {
+                enOrden.decrementAndGet();
+            }
+            entradas.remove(masAntigua.clave, masAntigua);
+        }
+    }
+
+    private static final class Entrada {
+        private final String clave;
+        private final Object cuerpo;
+        private final long expira;
+        private final CompletableFuture<ResponseEntity<?>> resultado = new CompletableFuture<>();
+
+        private Entrada(String clave, Object cuerpo, long expira) {
+            this.clave = clave;
+            this.cuerpo = cuerpo;
+            this.expira = expira;
+        }
+
+        private boolean vencida(long ahora) {
+            return ahora - expira > 0;
+        }
+    }
+}
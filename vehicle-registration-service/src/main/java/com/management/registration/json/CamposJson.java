@@ -0,0 +1,114 @@
+package com.management.registration.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Escritura de campos con el nombre ya codificado ({@link SerializedString} guarda sus bytes UTF-8 y
+ * su versión escapada), con el mismo resultado que la serialización por defecto: los nulos se escriben
+ * y las fechas van en ISO-8601 salvo que el mapper tenga activado WRITE_DATES_AS_TIMESTAMPS.
+ */
+final class CamposJson {
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int LARGO_FECHA_MAXIMO = 29;
+
+    private CamposJson() {
+    }
+
+    static SerializedString nombre(String campo) {
+        return new SerializedString(campo);
+    }
+
+    static void texto(JsonGenerator gen, SerializedString campo, String valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(valor);
+        }
+    }
+
+    static void uuid(JsonGenerator gen, SerializedString campo, UUID valor) throws IOException {
+        texto(gen, campo, valor == null ? null : valor.toString());
+    }
+
+    static void enumerado(JsonGenerator gen, SerializedString campo, Enum<?> valor) throws IOException {
+        texto(gen, campo, valor == null ? null : valor.name());
+    }
+
+    static void entero(JsonGenerator gen, SerializedString campo, Integer valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(valor);
+        }
+    }
+
+    static void fecha(JsonGenerator gen, SerializerProvider provider, SerializedString campo, LocalDateTime valor)
+            throws IOException {
+        if (valor != null && provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeField(campo.getValue(), valor, gen);
+            return;
+        }
+        if (valor == null) {
+            texto(gen, campo, null);
+            return;
+        }
+        if (valor.getYear() < 0 || valor.getYear() > 9999) {
+            texto(gen, campo, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(valor));
+            return;
+        }
+        char[] iso = new char[LARGO_FECHA_MAXIMO];
+        gen.writeFieldName(campo);
+        gen.writeString(iso, 0, fechaIso(valor, iso));
+    }
+
+    /**
+     * Escribe la fecha como ISO_LOCAL_DATE_TIME (segundos siempre, fracción sin ceros a la derecha)
+     * sin pasar por {@link DateTimeFormatter}. Solo años de 0 a 9999.
+     *
+     * @return caracteres escritos
+     */
+    static int fechaIso(LocalDateTime valor, char[] destino) {
+        int i = digitos(destino, 0, valor.getYear(), 4);
+        destino[i++] = '-';
+        i = digitos(destino, i, valor.getMonthValue(), 2);
+        destino[i++] = '-';
+        i = digitos(destino, i, valor.getDayOfMonth(), 2);
+        destino[i++] = 'T';
+        i = digitos(destino, i, valor.getHour(), 2);
+        destino[i++] = ':';
+        i = digitos(destino, i, valor.getMinute(), 2);
+        destino[i++] = ':';
+        i = digitos(destino, i, valor.getSecond(), 2);
+
+        int nanos = valor.getNano();
+        if (nanos > 0) {
+            int cifras = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                cifras--;
+            }
+            destino[i++] = '.';
+            i = digitos(destino, i, nanos, cifras);
+        }
+        return i;
+    }
+
+    private static int digitos(char[] destino, int desde, int valor, int cifras) {
+        for (int i = desde + cifras - 1; i >= desde; i--) {
+            destino[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return desde + cifras;
+    }
+}
@@ -0,0 +1,22 @@
+package com.management.registration.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.event.SolicitudCreadaEvent;
+
+/**
+ * Serializadores escritos a mano para los DTOs que se serializan en cada alta, en lugar de la
+ * introspección de getters de Lombok. Escriben directo sobre el {@code JsonGenerator}, es decir,
+ * sobre los buffers reciclados de Jackson (la respuesta HTTP va al stream sin copias intermedias).
+ * Spring Boot registra el módulo en el {@code ObjectMapper} de la aplicación al ser un bean.
+ * Asume la configuración por defecto del mapper (sin naming strategy ni inclusión NON_NULL);
+ * {@code SerializadoresModuleTest} compara la salida con la serialización reflexiva.
+ */
+public class SerializadoresModule extends SimpleModule {
+
+    public SerializadoresModule() {
+        super("serializadores-solicitud");
+        addSerializer(SolicitudResponse.class, new SolicitudResponseSerializer());
+        addSerializer(SolicitudCreadaEvent.class, new SolicitudCreadaEventSerializer());
+    }
+}
@@ -0,0 +1,42 @@
+package com.management.registration.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.management.registration.event.SolicitudCreadaEvent;
+
+import java.io.IOException;
+
+/**
+ * Serializador escrito a mano de {@link SolicitudCreadaEvent} (cuerpo del mensaje SQS de cada alta).
+ * Mismo JSON que la introspección del bean, en el mismo orden de campos.
+ */
+public class SolicitudCreadaEventSerializer extends StdSerializer<SolicitudCreadaEvent> {
+
+    private static final SerializedString SOLICITUD_ID = CamposJson.nombre("solicitudId");
+    private static final SerializedString PATENTE = CamposJson.nombre("patente");
+    private static final SerializedString NOMBRE_PROPIETARIO = CamposJson.nombre("nombrePropietario");
+    private static final SerializedString RUT = CamposJson.nombre("rut");
+    private static final SerializedString EMAIL = CamposJson.nombre("email");
+    private static final SerializedString FECHA_CREACION = CamposJson.nombre("fechaCreacion");
+    private static final SerializedString EVENT_TYPE = CamposJson.nombre("eventType");
+
+    public SolicitudCreadaEventSerializer() {
+        super(SolicitudCreadaEvent.class);
+    }
+
+    @Override
+    public void serialize(SolicitudCreadaEvent valor, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(valor);
+        CamposJson.uuid(gen, SOLICITUD_ID, valor.getSolicitudId());
+        CamposJson.texto(gen, PATENTE, valor.getPatente());
+        CamposJson.texto(gen, NOMBRE_PROPIETARIO, valor.getNombrePropietario());
+        CamposJson.texto(gen, RUT, valor.getRut());
+        CamposJson.texto(gen, EMAIL, valor.getEmail());
+        CamposJson.fecha(gen, provider, FECHA_CREACION, valor.getFechaCreacion());
+        CamposJson.texto(gen, EVENT_TYPE, valor.getEventType());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,58 @@
+package com.management.registration.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.management.registration.dto.response.SolicitudResponse;
+
+import java.io.IOException;
+
+/**
+ * Serializador escrito a mano de {@link SolicitudResponse} (cuerpo de cada alta y consulta).
+ * Mismo JSON que la introspección del bean, en el mismo orden de campos, salvo {@code version}: va en el
+ * ETag y no en el cuerpo.
+ */
+public class SolicitudResponseSerializer extends StdSerializer<SolicitudResponse> {
+
+    private static final SerializedString ID = CamposJson.nombre("id");
+    private static final SerializedString NOMBRE_PROPIETARIO = CamposJson.nombre("nombrePropietario");
+    private static final SerializedString RUT = CamposJson.nombre("rut");
+    private static final SerializedString EMAIL = CamposJson.nombre("email");
+    private static final SerializedString TELEFONO = CamposJson.nombre("telefono");
+    private static final SerializedString PATENTE = CamposJson.nombre("patente");
+    private static final SerializedString MARCA = CamposJson.nombre("marca");
+    private static final SerializedString MODELO = CamposJson.nombre("modelo");
+    private static final SerializedString ANIO = CamposJson.nombre("anio");
+    private static final SerializedString COLOR = CamposJson.nombre("color");
+    private static final SerializedString TIPO_VEHICULO = CamposJson.nombre("tipoVehiculo");
+    private static final SerializedString ESTADO = CamposJson.nombre("estado");
+    private static final SerializedString OBSERVACIONES = CamposJson.nombre("observaciones");
+    private static final SerializedString FECHA_CREACION = CamposJson.nombre("fechaCreacion");
+    private static final SerializedString FECHA_ACTUALIZACION = CamposJson.nombre("fechaActualizacion");
+
+    public SolicitudResponseSerializer() {
+        super(SolicitudResponse.class);
+    }
+
+    @Override
+    public void serialize(SolicitudResponse valor, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(valor);
+        CamposJson.uuid(gen, ID, valor.getId());
+        CamposJson.texto(gen, NOMBRE_PROPIETARIO, valor.getNombrePropietario());
+        CamposJson.texto(gen, RUT, valor.getRut());
+        CamposJson.texto(gen, EMAIL, valor.getEmail());
+        CamposJson.texto(gen, TELEFONO, valor.getTelefono());
+        CamposJson.texto(gen, PATENTE, valor.getPatente());
+        CamposJson.texto(gen, MARCA, valor.getMarca());
+        CamposJson.texto(gen, MODELO, valor.getModelo());
+        CamposJson.entero(gen, ANIO, valor.getAnio());
+        CamposJson.texto(gen, COLOR, valor.getColor());
+        CamposJson.texto(gen, TIPO_VEHICULO, valor.getTipoVehiculo());
+        CamposJson.enumerado(gen, ESTADO, valor.getEstado());
+        CamposJson.texto(gen, OBSERVACIONES, valor.getObservaciones());
+        CamposJson.fecha(gen, provider, FECHA_CREACION, valor.getFechaCreacion());
+        CamposJson.fecha(gen, provider, FECHA_ACTUALIZACION, valor.getFechaActualizacion());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,104 @@
+package com.management.registration.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite de concurrencia adaptativo por gradiente de latencia (estilo Gradient2).
+ * Compara la latencia de la última ventana con su promedio de largo plazo: si sube, el límite baja
+ * en proporción (sin suavizar); si se mantiene, crece de a √límite (suavizado).
+ * Solo crece si se está usando al menos la mitad.
+ *
+ * Las muestras se acumulan en LongAdder (contadores striped) y el recálculo lo hace una sola
+ * petición por ventana (CAS sobre el próximo instante de actualización), sin locks.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double GRADIENTE_MINIMO = 0.5;
+    private static final double SUAVIZADO = 0.2;
+    private static final double PESO_LARGO_PLAZO = 0.05;
+    private static final double TOLERANCIA = 1.5;
+    private static final int MUESTRAS_MINIMAS = 10;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long ventanaNanos;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maximoEnCursoVentana = new AtomicInteger();
+    private final LongAdder sumaRtt = new LongAdder();
+    private final LongAdder muestras = new LongAdder();
+    private final AtomicLong proximaActualizacion;
+
+    private volatile double limite;
+    private volatile double rttLargoPlazo;
+
+    public AdaptiveConcurrencyLimit(int limiteInicial, int limiteMinimo, int limiteMaximo, long ventanaNanos, long ahora) {
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.ventanaNanos = ventanaNanos;
+        this.proximaActualizacion = new AtomicLong(ahora + ventanaNanos);
+    }
+
+    public boolean intentarAdquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= (int) limite) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                maximoEnCursoVentana.accumulateAndGet(actual + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void liberar(long rttNanos, long ahora) {
+        enCurso.decrementAndGet();
+        sumaRtt.add(rttNanos);
+        muestras.increment();
+        actualizar(ahora);
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    void actualizar(long ahora) {
+        long proxima = proximaActualizacion.get();
+        if (ahora < proxima || !proximaActualizacion.compareAndSet(proxima, ahora + ventanaNanos)) {
+            return;
+        }
+        long cantidad = muestras.sumThenReset();
+        long suma = sumaRtt.sumThenReset();
+        int maximoEnCurso = maximoEnCursoVentana.getAndSet(enCurso.get());
+        if (cantidad < MUESTRAS_MINIMAS) {
+            return;
+        }
+
+        double rttCorto = (double) suma / cantidad;
+        double rttLargo = rttLargoPlazo == 0 ? rttCorto : rttLargoPlazo;
+        // Si la latencia ya se recuperó, el promedio de largo plazo no debe frenar el crecimiento
+        if (rttLargo > 2 * rttCorto) {
+            rttLargo = 2 * rttCorto;
+        }
+        rttLargoPlazo = rttLargo * (1 - PESO_LARGO_PLAZO) + rttCorto * PESO_LARGO_PLAZO;
+
+        double actual = limite;
+        double gradiente = Math.max(GRADIENTE_MINIMO, Math.min(1.0, TOLERANCIA * rttLargo / rttCorto));
+        double nuevo = maximoEnCurso < actual / 2
+                ? actual
+                : actual * gradiente + Math.sqrt(actual);
+        // Crecer suavizado, bajar de inmediato: ante saturación conviene descartar pronto
+        if (nuevo > actual) {
+            nuevo = actual * (1 - SUAVIZADO) + nuevo * SUAVIZADO;
+        }
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, nuevo));
+    }
+}
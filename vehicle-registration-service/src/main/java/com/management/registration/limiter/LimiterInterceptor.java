@@ -0,0 +1,72 @@
+package com.management.registration.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Aplica los límites antes del controlador. Las excepciones de rechazo las traduce GlobalExceptionHandler.
+ * El cliente se identifica por el usuario autenticado o por una API key conocida ({@code app.limiter.api-keys});
+ * si no, por la IP que vio el balanceador. Un header con una clave desconocida no cuenta: con una clave nueva
+ * por petición cualquiera evitaría el límite.
+ */
+public class LimiterInterceptor implements HandlerInterceptor {
+
+    private static final String ATRIBUTO_LIMITE = LimiterInterceptor.class.getName() + ".limite";
+    private static final String ATRIBUTO_INICIO = LimiterInterceptor.class.getName() + ".inicio";
+
+    private final RequestLimiter requestLimiter;
+
+    @Value("${app.limiter.client-header:X-Api-Key}")
+    private String headerCliente;
+
+    @Value("${app.limiter.api-keys:}")
+    private Set<String> clavesConocidas;
+
+    public LimiterInterceptor(RequestLimiter requestLimiter) {
+        this.requestLimiter = requestLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        requestLimiter.verificarTasa(identificarCliente(request));
+
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (patron != null ? patron : request.getRequestURI());
+        request.setAttribute(ATRIBUTO_LIMITE, requestLimiter.adquirir(endpoint));
+        request.setAttribute(ATRIBUTO_INICIO, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATRIBUTO_LIMITE) instanceof AdaptiveConcurrencyLimit limite
+                && request.getAttribute(ATRIBUTO_INICIO) instanceof Long inicio) {
+            long ahora = System.nanoTime();
+            limite.liberar(ahora - inicio, ahora);
+        }
+    }
+
+    private String identificarCliente(HttpServletRequest request) {
+        Principal usuario = request.getUserPrincipal();
+        if (usuario != null) {
+            return "usuario:" + usuario.getName();
+        }
+        String apiKey = request.getHeader(headerCliente);
+        if (apiKey != null && clavesConocidas.contains(apiKey)) {
+            // La clave no se usa tal cual: el identificador aparece en logs
+            return "key:" + Integer.toHexString(apiKey.hashCode());
+        }
+        // El ALB agrega la IP del cliente al final de X-Forwarded-For; las anteriores las pudo poner el cliente
+        String reenviado = request.getHeader("X-Forwarded-For");
+        if (reenviado != null && !reenviado.isBlank()) {
+            return "ip:" + reenviado.substring(reenviado.lastIndexOf(',') + 1).trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,122 @@
+package com.management.registration.limiter;
+
+import com.management.registration.exception.CapacidadExcedidaException;
+import com.management.registration.exception.LimiteTasaExcedidoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estado de los limitadores: un token bucket por cliente y un límite de concurrencia adaptativo por endpoint.
+ * Al superar un límite se rechaza de inmediato (429 / 503) en vez de encolar la petición,
+ * para que un cliente o un endpoint saturado no agote el pool de conexiones de los demás.
+ * Los buckets forman un LRU acotado por {@code app.limiter.max-clients}: muchas IPs distintas no hacen crecer
+ * la memoria, y el cliente descartado solo recupera su ráfaga inicial.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RequestLimiter {
+
+    // El lock solo cubre buscar o crear el bucket; consumir el token es un CAS fuera de él
+    private final Map<String, TokenBucket> buckets = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                    return size() > maxClientes;
+                }
+            });
+    private final ConcurrentHashMap<String, AdaptiveConcurrencyLimit> limites = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter rechazosTasa;
+    private final Counter rechazosConcurrencia;
+
+    @Value("${app.limiter.rate.per-second:50}")
+    private double tasaPorSegundo;
+
+    @Value("${app.limiter.rate.burst:100}")
+    private int rafaga;
+
+    @Value("${app.limiter.max-clients:10000}")
+    private int maxClientes;
+
+    @Value("${app.limiter.concurrency.initial-limit:20}")
+    private int limiteInicial;
+
+    @Value("${app.limiter.concurrency.min-limit:4}")
+    private int limiteMinimo;
+
+    @Value("${app.limiter.concurrency.max-limit:200}")
+    private int limiteMaximo;
+
+    @Value("${app.limiter.concurrency.window:1s}")
+    private Duration ventana;
+
+    public RequestLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.rechazosTasa = Counter.builder("app.limiter.rejected").tag("motivo", "tasa").register(meterRegistry);
+        this.rechazosConcurrencia = Counter.builder("app.limiter.rejected").tag("motivo", "concurrencia").register(meterRegistry);
+        Gauge.builder("app.limiter.clients", buckets, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Consume un token del cliente o lanza {@link LimiteTasaExcedidoException} con el tiempo de espera
+     */
+    public void verificarTasa(String cliente) {
+        long ahora = System.nanoTime();
+        long espera = buckets.computeIfAbsent(cliente, k -> new TokenBucket(tasaPorSegundo, rafaga, ahora))
+                .intentarConsumir(ahora);
+        if (espera > 0) {
+            rechazosTasa.increment();
+            throw new LimiteTasaExcedidoException(cliente, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + 999_999_999L)));
+        }
+    }
+
+    /**
+     * Ocupa un lugar en el límite del endpoint o lanza {@link CapacidadExcedidaException}
+     */
+    public AdaptiveConcurrencyLimit adquirir(String endpoint) {
+        AdaptiveConcurrencyLimit limite = limites.computeIfAbsent(endpoint, this::crearLimite);
+        if (!limite.intentarAdquirir()) {
+            rechazosConcurrencia.increment();
+            throw new CapacidadExcedidaException(endpoint, limite.getLimite());
+        }
+        return limite;
+    }
+
+    /**
+     * Descarta los buckets llenos: el cliente no consumió nada recientemente y recrearlo es equivalente
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgarClientesInactivos() {
+        long ahora = System.nanoTime();
+        synchronized (buckets) {
+            buckets.values().removeIf(bucket -> bucket.estaLleno(ahora));
+        }
+    }
+
+    private AdaptiveConcurrencyLimit crearLimite(String endpoint) {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(
+                limiteInicial, limiteMinimo, limiteMaximo, ventana.toNanos(), System.nanoTime());
+        Gauge.builder("app.limiter.concurrency.limit", limite, AdaptiveConcurrencyLimit::getLimite)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("app.limiter.concurrency.in-flight", limite, AdaptiveConcurrencyLimit::getEnCurso)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        log.debug("Límite de concurrencia creado para {}: {}", endpoint, limiteInicial);
+        return limite;
+    }
+}
@@ -0,0 +1,46 @@
+package com.management.registration.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket en su forma GCRA: todo el estado es el "instante teórico de llegada" (TAT) en un único
+ * AtomicLong, así que consumir un token es un CAS sin locks.
+ * Con {@code tasa} tokens por segundo y capacidad {@code rafaga}, un pedido se acepta si
+ * TAT - ahora <= (rafaga - 1) * intervalo.
+ */
+public class TokenBucket {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong tat;
+
+    public TokenBucket(double tasaPorSegundo, int rafaga, long ahora) {
+        this.intervaloNanos = (long) (1_000_000_000L / tasaPorSegundo);
+        this.toleranciaNanos = intervaloNanos * (rafaga - 1L);
+        this.tat = new AtomicLong(ahora);
+    }
+
+    /**
+     * @return 0 si se consumió un token; si no, los nanos que faltan para el próximo
+     */
+    public long intentarConsumir(long ahora) {
+        while (true) {
+            long actual = tat.get();
+            long base = Math.max(actual, ahora);
+            long espera = base - ahora - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (tat.compareAndSet(actual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Lleno (sin consumo pendiente): se puede descartar sin perder estado
+     */
+    public boolean estaLleno(long ahora) {
+        return tat.get() <= ahora;
+    }
+}
@@ -0,0 +1,94 @@
+package com.management.registration.migration;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice sobre la tabla particionada {@code solicitudes} sin bloquear escrituras. Un CREATE INDEX sobre la tabla
+ * padre construye el índice de cada partición con un lock que bloquea INSERT y UPDATE hasta terminar, y sobre una
+ * tabla particionada no existe CONCURRENTLY. En su lugar:
+ * <ol>
+ *     <li>{@code CREATE INDEX ... ON ONLY solicitudes}: solo el índice padre, vacío e inválido (instantáneo)</li>
+ *     <li>{@code CREATE INDEX CONCURRENTLY} en cada partición</li>
+ *     <li>{@code ALTER INDEX ... ATTACH PARTITION}: al adjuntar el de la última partición el padre queda válido,
+ *     y las particiones que se creen después reciben el índice solas</li>
+ * </ol>
+ * Se puede volver a ejecutar: se salta las particiones que ya tienen su índice adjunto y un índice inválido
+ * (CONCURRENTLY interrumpido) se elimina y se crea de nuevo. Requiere una migración fuera de transacción.
+ */
+@Slf4j
+final class IndiceParticionado {
+
+    private static final String TABLA = "solicitudes";
+    private static final int LARGO_MAXIMO_NOMBRE = 63;
+
+    private IndiceParticionado() {
+    }
+
+    /**
+     * @param nombre     nombre del índice en {@code solicitudes}
+     * @param sufijo     el índice de cada partición se llama {@code <partición>_<sufijo>}
+     * @param definicion lo que sigue a {@code ON <tabla>}: método y columnas o expresión
+     */
+    static void crear(Connection conexion, String nombre, String sufijo, String definicion) throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            st.execute("CREATE INDEX IF NOT EXISTS " + nombre + " ON ONLY " + TABLA + " " + definicion);
+            for (String particion : particionesSinIndice(conexion, nombre)) {
+                String indice = nombreEnParticion(particion, sufijo);
+                if (esInvalido(conexion, indice)) {
+                    st.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indice);
+                }
+                long inicio = System.nanoTime();
+                st.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indice + " ON " + particion + " " + definicion);
+                st.execute("ALTER INDEX " + nombre + " ATTACH PARTITION " + indice);
+                log.info("Índice {} creado en {} ms", indice, (System.nanoTime() - inicio) / 1_000_000);
+            }
+        }
+    }
+
+    private static List<String> particionesSinIndice(Connection conexion, String nombre) throws SQLException {
+        List<String> particiones = new ArrayList<>();
+        try (PreparedStatement ps = conexion.prepareStatement("""
+                SELECT p.inhrelid::REGCLASS::TEXT
+                FROM pg_inherits p
+                WHERE p.inhparent = ?::REGCLASS
+                  AND NOT EXISTS (SELECT 1
+                                  FROM pg_inherits i
+                                  JOIN pg_index x ON x.indexrelid = i.inhrelid
+                                  WHERE i.inhparent = ?::REGCLASS AND x.indrelid = p.inhrelid)
+                ORDER BY 1
+                """)) {
+            ps.setString(1, TABLA);
+            ps.setString(2, nombre);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    particiones.add(rs.getString(1));
+                }
+            }
+        }
+        return particiones;
+    }
+
+    private static boolean esInvalido(Connection conexion, String indice) throws SQLException {
+        try (PreparedStatement ps = conexion.prepareStatement(
+                "SELECT NOT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            ps.setString(1, indice);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    // Postgres trunca los identificadores a 63 bytes: se trunca aquí para que los nombres coincidan al repetir
+    private static String nombreEnParticion(String particion, String sufijo) {
+        String nombre = particion + "_" + sufijo;
+        return nombre.length() > LARGO_MAXIMO_NOMBRE ? nombre.substring(0, LARGO_MAXIMO_NOMBRE) : nombre;
+    }
+}
@@ -0,0 +1,39 @@
+package com.management.registration.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * Búsqueda por texto (GET /api/v1/solicitudes/busqueda): nombre parcial, marca/modelo o patente mal escrita.
+ * Los índices se crean partición por partición sin bloquear escrituras ({@link IndiceParticionado}); las
+ * particiones que se creen después los reciben solas.
+ */
+@Component
+public class V11__Busqueda_solicitudes extends BaseJavaMigration {
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement st = context.getConnection().createStatement()) {
+            st.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        }
+
+        // Trigramas sobre nombre, patente, marca y modelo en una sola expresión. GiST (no GIN) porque admite
+        // ORDER BY expresion <->> texto LIMIT n: el índice entrega primero los más parecidos y la búsqueda
+        // lee n filas aunque el texto coincida con millones. La consulta debe usar la misma expresión.
+        IndiceParticionado.crear(context.getConnection(), "idx_solicitudes_busqueda_trgm", "busqueda_trgm_idx",
+                "USING gist ((nombre_propietario || ' ' || patente || ' ' || marca || ' ' || modelo) gist_trgm_ops)");
+
+        // Palabras completas. Configuración simple: sin stemming ni stopwords, los nombres propios y modelos
+        // se indexan tal cual
+        IndiceParticionado.crear(context.getConnection(), "idx_solicitudes_busqueda_tsv", "busqueda_tsv_idx",
+                "USING gin (to_tsvector('simple', nombre_propietario || ' ' || marca || ' ' || modelo))");
+    }
+}
@@ -0,0 +1,26 @@
+package com.management.registration.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+/**
+ * Solicitudes de un propietario (GET /api/v1/solicitudes/propietarios/{rut}), de la más reciente a la más
+ * antigua. El índice entrega la página en orden, y el id desempata para el cursor keyset (fecha_creacion, id).
+ * En cada partición se recorre solo el rango del RUT; las particiones se combinan con MergeAppend.
+ * Se crea sin bloquear escrituras ({@link IndiceParticionado}).
+ */
+@Component
+public class V12__Indice_rut_solicitudes extends BaseJavaMigration {
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        IndiceParticionado.crear(context.getConnection(), "idx_solicitudes_rut_fecha", "rut_fecha_idx",
+                "(rut, fecha_creacion DESC, id DESC)");
+    }
+}
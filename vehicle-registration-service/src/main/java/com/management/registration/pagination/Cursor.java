@@ -0,0 +1,50 @@
+package com.management.registration.pagination;
+
+import com.management.registration.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Cursores opacos para paginación keyset: los valores de la clave de orden de la última fila entregada,
+ * en Base64 URL-safe. La página siguiente continúa desde esa fila con un índice, sin OFFSET.
+ */
+public final class Cursor {
+
+    private static final String SEPARADOR = "|";
+
+    private Cursor() {
+    }
+
+    public static String codificar(Object... valores) {
+        StringBuilder texto = new StringBuilder();
+        for (Object valor : valores) {
+            if (!texto.isEmpty()) {
+                texto.append(SEPARADOR);
+            }
+            texto.append(valor);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica el cursor y convierte sus {@code partes} valores con {@code lector}.
+     *
+     * @throws CursorInvalidoException si no es un cursor emitido por la API (o el lector no lo acepta)
+     */
+    public static <T> T leer(String cursor, int partes, Function<String[], T> lector) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] valores = texto.split("\\|", -1);
+            if (valores.length != partes) {
+                throw new CursorInvalidoException(cursor);
+            }
+            return lector.apply(valores);
+        } catch (CursorInvalidoException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+}
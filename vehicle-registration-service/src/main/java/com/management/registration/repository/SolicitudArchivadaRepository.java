@@ -0,0 +1,11 @@
+package com.management.registration.repository;
+
+import com.management.registration.entity.SolicitudArchivada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SolicitudArchivadaRepository extends JpaRepository<SolicitudArchivada, UUID> {
+}
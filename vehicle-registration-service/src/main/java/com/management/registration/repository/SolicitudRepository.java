@@ -1,5 +1,7 @@
 package com.management.registration.repository;
 
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.dto.response.SolicitudResumenResponse;
 import com.management.registration.entity.Solicitud;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,15 +10,88 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface SolicitudRepository extends JpaRepository<Solicitud, UUID> {
+public interface SolicitudRepository extends JpaRepository<Solicitud, UUID>, SolicitudRepositoryCustom {
+
+    // La unicidad de patente vive en solicitud_patentes (la tabla solicitudes está particionada)
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM solicitud_patentes WHERE patente = :patente)",
+            nativeQuery = true)
+    boolean existsByPatente(@Param("patente") String patente);
+
+    // El join por (id, fecha_creacion) permite descartar particiones en ejecución
+    @Query(value = """
+            SELECT s.* FROM solicitud_patentes p
+            JOIN solicitudes s ON s.id = p.solicitud_id AND s.fecha_creacion = p.fecha_creacion
+            WHERE p.patente = :patente
+            """, nativeQuery = true)
+    Optional<Solicitud> findByPatente(@Param("patente") String patente);
 
-    boolean existsByPatente(String patente);
-    Optional<Solicitud> findByPatente(String patente);
     Page<Solicitud> findAll(Pageable pageable);
+    // ========== Proyecciones (sin entidades administradas ni snapshots de dirty-checking) ==========
+
+    String PROYECCION_COMPLETA = """
+            SELECT new com.management.registration.dto.response.SolicitudResponse(
+                s.id, s.nombrePropietario, s.rut, s.email, s.telefono, s.patente, s.marca, s.modelo,
+                s.anio, s.color, s.tipoVehiculo, s.estado, s.observaciones, s.fechaCreacion, s.fechaActualizacion,
+                coalesce(s.version, 0L))
+            FROM Solicitud s
+            """;
+
+    String PROYECCION_RESUMEN = """
+            SELECT new com.management.registration.dto.response.SolicitudResumenResponse(
+                s.id, s.nombrePropietario, s.rut, s.patente, s.marca, s.modelo, s.anio, s.estado, s.fechaCreacion)
+            FROM Solicitud s
+            """;
+
+    // Rango semiabierto [desde, hasta) sobre la clave de partición
+    String FILTRO_FECHA = " WHERE s.fechaCreacion >= :desde AND s.fechaCreacion < :hasta";
+
+    // Solo la columna version, para validar ETags sin cargar la fila completa
+    @Query("SELECT coalesce(s.version, 0) FROM Solicitud s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("SELECT count(s) FROM Solicitud s" + FILTRO_FECHA)
+    long countEntre(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    @Query(value = PROYECCION_COMPLETA, countQuery = "SELECT count(s) FROM Solicitud s")
+    Page<SolicitudResponse> findAllProyectadas(Pageable pageable);
+
+    @Query(value = PROYECCION_COMPLETA + FILTRO_FECHA,
+            countQuery = "SELECT count(s) FROM Solicitud s" + FILTRO_FECHA)
+    Page<SolicitudResponse> findProyectadasEntre(@Param("desde") LocalDateTime desde,
+                                                 @Param("hasta") LocalDateTime hasta,
+                                                 Pageable pageable);
+
+    @Query(value = PROYECCION_RESUMEN, countQuery = "SELECT count(s) FROM Solicitud s")
+    Page<SolicitudResumenResponse> findAllResumen(Pageable pageable);
+
+    @Query(value = PROYECCION_RESUMEN + FILTRO_FECHA,
+            countQuery = "SELECT count(s) FROM Solicitud s" + FILTRO_FECHA)
+    Page<SolicitudResumenResponse> findResumenEntre(@Param("desde") LocalDateTime desde,
+                                                    @Param("hasta") LocalDateTime hasta,
+                                                    Pageable pageable);
+
+    // Solicitudes de un propietario, en el orden de idx_solicitudes_rut_fecha. El Pageable solo aporta el límite
+    String FILTRO_RUT = " WHERE s.rut = :rut";
+    String ORDEN_RUT = " ORDER BY s.fechaCreacion DESC, s.id DESC";
+
+    @Query(PROYECCION_RESUMEN + FILTRO_RUT + ORDEN_RUT)
+    List<SolicitudResumenResponse> findResumenPorRut(@Param("rut") String rut, Pageable pageable);
+
+    // Continúa después de la fila (fecha, id) de la página anterior. El "<= :fecha" redundante es la
+    // condición que el índice usa para empezar en el cursor; el OR solo se evalúa sobre las filas empatadas
+    @Query(PROYECCION_RESUMEN + FILTRO_RUT + " AND s.fechaCreacion <= :fecha"
+            + " AND (s.fechaCreacion < :fecha OR s.id < :id)" + ORDEN_RUT)
+    List<SolicitudResumenResponse> findResumenPorRutDespuesDe(@Param("rut") String rut,
+                                                              @Param("fecha") LocalDateTime fecha,
+                                                              @Param("id") UUID id,
+                                                              Pageable pageable);
+
     @Query("SELECT s FROM Solicitud s WHERE s.estado = :estado")
     Page<Solicitud> findByEstado(@Param("estado") String estado, Pageable pageable);
 
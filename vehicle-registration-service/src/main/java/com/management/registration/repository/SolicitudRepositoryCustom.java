@@ -0,0 +1,30 @@
+package com.management.registration.repository;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface SolicitudRepositoryCustom {
+
+    /**
+     * Campos seleccionables, en el orden de {@code SolicitudResponse}
+     */
+    List<String> CAMPOS = List.of(
+            "id", "nombrePropietario", "rut", "email", "telefono", "patente", "marca", "modelo",
+            "anio", "color", "tipoVehiculo", "estado", "observaciones", "fechaCreacion", "fechaActualizacion");
+
+    /**
+     * Consulta solo las columnas pedidas (fieldsets dispersos).
+     * Las claves del mapa son los nombres de campo de {@code SolicitudResponse}.
+     *
+     * @param campos campos a seleccionar, en el orden en que se devolverán
+     * @param desde  inicio del rango de creación (inclusive), o null
+     * @param hasta  fin del rango de creación (exclusivo), o null
+     * @param limite filas máximas a leer a partir del offset del pageable
+     */
+    List<Map<String, Object>> findCampos(Set<String> campos, LocalDateTime desde, LocalDateTime hasta,
+                                         Pageable pageable, int limite);
+}
@@ -0,0 +1,76 @@
+package com.management.registration.repository;
+
+import com.management.registration.exception.CampoInvalidoException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Implementación de las consultas dinámicas de {@link SolicitudRepository}
+ */
+public class SolicitudRepositoryImpl implements SolicitudRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findCampos(Set<String> campos, LocalDateTime desde, LocalDateTime hasta,
+                                                Pageable pageable, int limite) {
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM Solicitud s");
+        for (String campo : campos) {
+            select.add("s." + atributo(campo) + " AS " + campo);
+        }
+
+        StringBuilder jpql = new StringBuilder(select.toString());
+        if (desde != null && hasta != null) {
+            jpql.append(" WHERE s.fechaCreacion >= :desde AND s.fechaCreacion < :hasta");
+        }
+        agregarOrden(jpql, pageable.getSort());
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limite);
+        if (desde != null && hasta != null) {
+            query.setParameter("desde", desde).setParameter("hasta", hasta);
+        }
+
+        return query.getResultStream()
+                .map(tupla -> {
+                    Map<String, Object> fila = new LinkedHashMap<>();
+                    for (String campo : campos) {
+                        fila.put(campo, tupla.get(campo));
+                    }
+                    return fila;
+                })
+                .toList();
+    }
+
+    private void agregarOrden(StringBuilder jpql, Sort sort) {
+        if (sort.isUnsorted()) {
+            return;
+        }
+        StringJoiner orden = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            orden.add("s." + atributo(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        jpql.append(orden);
+    }
+
+    // Los campos de la API coinciden con los atributos de la entidad; la lista blanca evita inyección en el JPQL
+    private String atributo(String campo) {
+        if (!CAMPOS.contains(campo)) {
+            throw new CampoInvalidoException(campo, CAMPOS);
+        }
+        return campo;
+    }
+}
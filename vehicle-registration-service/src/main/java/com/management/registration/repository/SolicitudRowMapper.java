@@ -0,0 +1,40 @@
+package com.management.registration.repository;
+
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mapea una fila de {@code solicitudes} leída por JDBC (streaming, RETURNING) a su DTO de respuesta.
+ */
+public class SolicitudRowMapper implements RowMapper<SolicitudResponse> {
+
+    public static final SolicitudRowMapper INSTANCE = new SolicitudRowMapper();
+
+    @Override
+    public SolicitudResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return SolicitudResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .nombrePropietario(rs.getString("nombre_propietario"))
+                .rut(rs.getString("rut"))
+                .email(rs.getString("email"))
+                .telefono(rs.getString("telefono"))
+                .patente(rs.getString("patente"))
+                .marca(rs.getString("marca"))
+                .modelo(rs.getString("modelo"))
+                .anio(rs.getInt("anio"))
+                .color(rs.getString("color"))
+                .tipoVehiculo(rs.getString("tipo_vehiculo"))
+                .estado(EstadoSolicitud.valueOf(rs.getString("estado")))
+                .observaciones(rs.getString("observaciones"))
+                .fechaCreacion(rs.getObject("fecha_creacion", LocalDateTime.class))
+                .fechaActualizacion(rs.getObject("fecha_actualizacion", LocalDateTime.class))
+                .version(rs.getLong("version"))
+                .build();
+    }
+}
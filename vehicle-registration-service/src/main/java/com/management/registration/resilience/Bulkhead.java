@@ -0,0 +1,54 @@
+package com.management.registration.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cupo de llamadas concurrentes a una dependencia externa. Si la dependencia se vuelve lenta,
+ * las llamadas en exceso esperan como máximo {@code esperaMaxima} y se rechazan,
+ * en vez de ocupar todos los hilos del pool que las ejecuta.
+ *
+ * Métricas (tag {@code dependencia}): {@code app.bulkhead.available} y {@code app.bulkhead.rejected}.
+ */
+public class Bulkhead {
+
+    private final Semaphore cupos;
+    private final long esperaMaximaNanos;
+    private final Counter rechazadas;
+
+    public Bulkhead(String dependencia, int maxConcurrentes, Duration esperaMaxima, MeterRegistry meterRegistry) {
+        this.cupos = new Semaphore(maxConcurrentes);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.rechazadas = Counter.builder("app.bulkhead.rejected")
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+        Gauge.builder("app.bulkhead.available", cupos, Semaphore::availablePermits)
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+    }
+
+    public boolean adquirir() {
+        try {
+            if (cupos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rechazadas.increment();
+        return false;
+    }
+
+    public void liberar() {
+        cupos.release();
+    }
+
+    public int getDisponibles() {
+        return cupos.availablePermits();
+    }
+}
@@ -0,0 +1,192 @@
+package com.management.registration.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker por dependencia externa, sobre las últimas {@code tamanoVentana} llamadas.
+ * <ul>
+ *   <li>CERRADO: pasan todas. Con al menos {@code minimoLlamadas} en la ventana y una tasa de fallos
+ *   mayor o igual al umbral, se abre.</li>
+ *   <li>ABIERTO: se rechaza sin llamar a la dependencia durante {@code duracionAbierto}.</li>
+ *   <li>SEMI_ABIERTO: pasan hasta {@code llamadasDePrueba}; si todas salen bien se cierra,
+ *   con el primer fallo vuelve a abrirse.</li>
+ * </ul>
+ * Métricas (tag {@code dependencia}): {@code app.circuit-breaker.state} (0 cerrado, 1 abierto, 2 semi-abierto)
+ * y {@code app.circuit-breaker.calls{resultado=exito|fallo|rechazada}}.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum Estado { CERRADO, ABIERTO, SEMI_ABIERTO }
+
+    private final String dependencia;
+    private final int umbralFallosPorcentaje;
+    private final int minimoLlamadas;
+    private final long duracionAbiertoNanos;
+    private final int llamadasDePrueba;
+    private final LongSupplier reloj;
+
+    // Ventana circular de resultados (true = fallo); protegida por el monitor de la instancia
+    private final boolean[] ventana;
+    private int posicion;
+    private int llamadas;
+    private int fallos;
+
+    private volatile Estado estado = Estado.CERRADO;
+    private long abiertoHasta;
+    private int pruebasDisponibles;
+    private int pruebasExitosas;
+
+    private final Counter exitos;
+    private final Counter fallidas;
+    private final Counter rechazadas;
+
+    public CircuitBreaker(String dependencia, int umbralFallosPorcentaje, int tamanoVentana, int minimoLlamadas,
+                          Duration duracionAbierto, int llamadasDePrueba, MeterRegistry meterRegistry) {
+        this(dependencia, umbralFallosPorcentaje, tamanoVentana, minimoLlamadas, duracionAbierto, llamadasDePrueba,
+                meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreaker(String dependencia, int umbralFallosPorcentaje, int tamanoVentana, int minimoLlamadas,
+                   Duration duracionAbierto, int llamadasDePrueba, MeterRegistry meterRegistry, LongSupplier reloj) {
+        this.dependencia = dependencia;
+        this.umbralFallosPorcentaje = umbralFallosPorcentaje;
+        this.ventana = new boolean[tamanoVentana];
+        this.minimoLlamadas = Math.min(minimoLlamadas, tamanoVentana);
+        this.duracionAbiertoNanos = duracionAbierto.toNanos();
+        this.llamadasDePrueba = llamadasDePrueba;
+        this.reloj = reloj;
+
+        Gauge.builder("app.circuit-breaker.state", this, breaker -> breaker.getEstado().ordinal())
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+        this.exitos = contador(meterRegistry, "exito");
+        this.fallidas = contador(meterRegistry, "fallo");
+        this.rechazadas = contador(meterRegistry, "rechazada");
+    }
+
+    /**
+     * Indica si la llamada puede hacerse. En SEMI_ABIERTO consume uno de los permisos de prueba,
+     * que se devuelve con {@link #registrarExito()}, {@link #registrarFallo()} o {@link #liberarPermiso()}.
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABIERTO) {
+            if (reloj.getAsLong() - abiertoHasta < 0) {
+                rechazadas.increment();
+                return false;
+            }
+            cambiarEstado(Estado.SEMI_ABIERTO);
+            pruebasDisponibles = llamadasDePrueba;
+            pruebasExitosas = 0;
+        }
+        if (estado == Estado.SEMI_ABIERTO) {
+            if (pruebasDisponibles == 0) {
+                rechazadas.increment();
+                return false;
+            }
+            pruebasDisponibles--;
+        }
+        return true;
+    }
+
+    public synchronized void registrarExito() {
+        exitos.increment();
+        if (estado == Estado.SEMI_ABIERTO) {
+            if (++pruebasExitosas >= llamadasDePrueba) {
+                reiniciarVentana();
+                cambiarEstado(Estado.CERRADO);
+            }
+            return;
+        }
+        // Las que terminan con el breaker abierto (iniciadas antes de abrirse) no cuentan
+        if (estado == Estado.CERRADO) {
+            registrar(false);
+        }
+    }
+
+    public synchronized void registrarFallo() {
+        fallidas.increment();
+        if (estado == Estado.SEMI_ABIERTO) {
+            abrir();
+            return;
+        }
+        if (estado == Estado.CERRADO) {
+            registrar(true);
+            if (llamadas >= minimoLlamadas && fallos * 100 >= umbralFallosPorcentaje * llamadas) {
+                abrir();
+            }
+        }
+    }
+
+    /**
+     * Devuelve el permiso de una llamada que finalmente no se hizo (p.ej. rechazada por el bulkhead).
+     */
+    public synchronized void liberarPermiso() {
+        if (estado == Estado.SEMI_ABIERTO && pruebasDisponibles < llamadasDePrueba - pruebasExitosas) {
+            pruebasDisponibles++;
+        }
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Segundos (redondeados hacia arriba) hasta que el breaker abierto admita llamadas de prueba; 0 si ya las admite.
+     */
+    public synchronized long segundosParaReintentar() {
+        long restante = abiertoHasta - reloj.getAsLong();
+        if (estado != Estado.ABIERTO || restante <= 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toSeconds(restante - 1) + 1;
+    }
+
+    private void registrar(boolean fallo) {
+        if (llamadas == ventana.length) {
+            if (ventana[posicion]) {
+                fallos--;
+            }
+        } else {
+            llamadas++;
+        }
+        ventana[posicion] = fallo;
+        if (fallo) {
+            fallos++;
+        }
+        posicion = (posicion + 1) % ventana.length;
+    }
+
+    private void abrir() {
+        abiertoHasta = reloj.getAsLong() + duracionAbiertoNanos;
+        reiniciarVentana();
+        cambiarEstado(Estado.ABIERTO);
+    }
+
+    private void reiniciarVentana() {
+        posicion = 0;
+        llamadas = 0;
+        fallos = 0;
+    }
+
+    private void cambiarEstado(Estado nuevo) {
+        if (estado != nuevo) {
+            log.warn("Circuit breaker de {}: {} -> {}", dependencia, estado, nuevo);
+            estado = nuevo;
+        }
+    }
+
+    private Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("app.circuit-breaker.calls")
+                .tag("dependencia", dependencia)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.management.registration.resilience;
+
+import com.management.registration.exception.DependenciaNoDisponibleException;
+
+import java.util.function.Supplier;
+
+/**
+ * Llamadas a una dependencia externa (SQS, S3) detrás de un circuit breaker y un bulkhead.
+ * Con el breaker abierto o sin cupo se lanza {@link DependenciaNoDisponibleException} de inmediato,
+ * sin llamar a la dependencia. Toda excepción de la operación cuenta como fallo para el breaker.
+ */
+public class DependenciaProtegida {
+
+    private final String nombre;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public DependenciaProtegida(String nombre, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.nombre = nombre;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public <T> T ejecutar(Supplier<T> operacion) {
+        if (!circuitBreaker.permitir()) {
+            throw new DependenciaNoDisponibleException(nombre, "circuit breaker abierto",
+                    Math.max(1, circuitBreaker.segundosParaReintentar()));
+        }
+        if (!bulkhead.adquirir()) {
+            circuitBreaker.liberarPermiso();
+            throw new DependenciaNoDisponibleException(nombre, "sin cupo de llamadas concurrentes", 1);
+        }
+
+        try {
+            T resultado = operacion.get();
+            circuitBreaker.registrarExito();
+            return resultado;
+        } catch (RuntimeException e) {
+            circuitBreaker.registrarFallo();
+            throw e;
+        } finally {
+            bulkhead.liberar();
+        }
+    }
+
+    /**
+     * Indica si vale la pena intentar (el breaker no está abierto); no consume permisos.
+     */
+    public boolean estaDisponible() {
+        return circuitBreaker.segundosParaReintentar() == 0;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,160 @@
+package com.management.registration.service;
+
+import com.management.registration.dto.response.CursorPageResponse;
+import com.management.registration.dto.response.ResultadoBusquedaResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.exception.BusquedaDemasiadoAmpliaException;
+import com.management.registration.exception.BusquedaInvalidaException;
+import com.management.registration.pagination.Cursor;
+import com.management.registration.validator.PatenteValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Búsqueda por texto para atención telefónica: nombre parcial del propietario, marca/modelo
+ * o patente mal escrita, con los índices de trigramas y tsvector de V11.
+ * <p>
+ * Para acotar la latencia en tablas de millones de filas, los candidatos son a lo sumo
+ * {@code app.busqueda.max-candidatos} más parecidos según el índice GiST de trigramas (KNN, sin recorrer todas
+ * las coincidencias) más las coincidencias de palabras completas del tsvector, con el mismo tope. Entre ellos,
+ * la relevancia es la similitud de trigramas (por palabras; para la patente, completa) más el ts_rank_cd, y se
+ * descartan los que no llegan a {@code app.busqueda.relevancia-minima}. La consulta tiene un
+ * {@code statement_timeout} propio ({@code app.busqueda.timeout}) y las páginas siguen con un cursor keyset
+ * (relevancia, id).
+ */
+@Service
+@Slf4j
+public class BusquedaService {
+
+    static final int LARGO_MINIMO = 3;
+    private static final String SQLSTATE_CANCELADA = "57014";
+
+    // Las expresiones de texto deben coincidir con las de los índices de V11
+    private static final String SQL_BUSCAR = """
+            WITH candidatas AS (
+                (SELECT s.id, s.fecha_creacion
+                 FROM solicitudes s
+                 ORDER BY (s.nombre_propietario || ' ' || s.patente || ' ' || s.marca || ' ' || s.modelo) <->> :texto
+                 LIMIT :maxCandidatos)
+                UNION
+                (SELECT s.id, s.fecha_creacion
+                 FROM solicitudes s
+                 WHERE to_tsvector('simple', s.nombre_propietario || ' ' || s.marca || ' ' || s.modelo)
+                       @@ plainto_tsquery('simple', :texto)
+                 LIMIT :maxCandidatos)
+            ), ranking AS (
+                SELECT s.id, s.nombre_propietario, s.rut, s.patente, s.marca, s.modelo, s.anio, s.estado,
+                       s.fecha_creacion,
+                       CAST(greatest(word_similarity(:texto, s.nombre_propietario || ' ' || s.patente || ' '
+                                                             || s.marca || ' ' || s.modelo),
+                                     similarity(s.patente, :patente))
+                            + ts_rank_cd(to_tsvector('simple', s.nombre_propietario || ' ' || s.marca || ' ' || s.modelo),
+                                         plainto_tsquery('simple', :texto)) AS REAL) AS relevancia
+                FROM candidatas c
+                JOIN solicitudes s ON s.id = c.id AND s.fecha_creacion = c.fecha_creacion
+            )
+            SELECT * FROM ranking
+            WHERE relevancia >= :relevanciaMinima
+              AND (relevancia < :relevancia OR (relevancia = :relevancia AND id > :id))
+            ORDER BY relevancia DESC, id
+            LIMIT :limite
+            """;
+
+    // Posición de la última fila entregada, en orden (relevancia DESC, id)
+    private record Posicion(float relevancia, UUID id) {}
+
+    // Antes de la primera fila posible
+    private static final Posicion INICIO = new Posicion(Float.POSITIVE_INFINITY, new UUID(0L, 0L));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${app.busqueda.max-candidatos:1000}")
+    private int maxCandidatos;
+
+    @Value("${app.busqueda.relevancia-minima:0.3}")
+    private float relevanciaMinima;
+
+    @Value("${app.busqueda.timeout:2s}")
+    private Duration timeout;
+
+    public BusquedaService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Busca solicitudes por texto libre, de la más a la menos relevante.
+     *
+     * @param cursor {@code nextCursor} de la página anterior, o null para la primera
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ResultadoBusquedaResponse> buscar(String texto, int size, String cursor) {
+        String consulta = texto == null ? "" : texto.trim();
+        if (consulta.length() < LARGO_MINIMO) {
+            throw new BusquedaInvalidaException(LARGO_MINIMO);
+        }
+
+        Posicion desde = cursor == null ? INICIO : Cursor.leer(cursor, 2, valores ->
+                new Posicion(Float.parseFloat(valores[0]), UUID.fromString(valores[1])));
+
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("texto", consulta)
+                .addValue("patente", PatenteValidator.normalizarPatente(consulta))
+                .addValue("maxCandidatos", maxCandidatos)
+                .addValue("relevanciaMinima", relevanciaMinima)
+                .addValue("relevancia", desde.relevancia())
+                .addValue("id", desde.id())
+                .addValue("limite", size + 1);
+
+        List<ResultadoBusquedaResponse> filas;
+        try {
+            // SET LOCAL: solo para esta transacción, la conexión vuelve al pool con el timeout original
+            jdbcTemplate.getJdbcTemplate().execute("SET LOCAL statement_timeout = " + timeout.toMillis());
+            filas = jdbcTemplate.query(SQL_BUSCAR, parametros, (rs, rowNum) -> mapearResultado(rs));
+        } catch (DataAccessException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sql && SQLSTATE_CANCELADA.equals(sql.getSQLState())) {
+                throw new BusquedaDemasiadoAmpliaException(consulta, timeout);
+            }
+            throw e;
+        }
+
+        log.debug("Búsqueda de {} caracteres, {} palabras: {} resultados en la página",
+                consulta.length(), consulta.split("\\s+").length, Math.min(filas.size(), size));
+        boolean hayMas = filas.size() > size;
+        List<ResultadoBusquedaResponse> pagina = hayMas ? filas.subList(0, size) : filas;
+        ResultadoBusquedaResponse ultima = hayMas ? pagina.get(size - 1) : null;
+
+        return CursorPageResponse.<ResultadoBusquedaResponse>builder()
+                .items(pagina)
+                .size(size)
+                .hasNext(hayMas)
+                .nextCursor(ultima != null ? Cursor.codificar(ultima.getRelevancia(), ultima.getId()) : null)
+                .build();
+    }
+
+    private ResultadoBusquedaResponse mapearResultado(ResultSet rs) throws SQLException {
+        return ResultadoBusquedaResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .nombrePropietario(rs.getString("nombre_propietario"))
+                .rut(rs.getString("rut"))
+                .patente(rs.getString("patente"))
+                .marca(rs.getString("marca"))
+                .modelo(rs.getString("modelo"))
+                .anio(rs.getInt("anio"))
+                .estado(EstadoSolicitud.valueOf(rs.getString("estado")))
+                .fechaCreacion(rs.getObject("fecha_creacion", LocalDateTime.class))
+                .relevancia(rs.getFloat("relevancia"))
+                .build();
+    }
+}
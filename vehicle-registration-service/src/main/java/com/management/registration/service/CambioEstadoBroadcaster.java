@@ -0,0 +1,266 @@
+package com.management.registration.service;
+
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.exception.SuscripcionesAgotadasException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte los cambios de estado entre los suscriptores SSE del nodo.
+ * Los emisores son asíncronos (no ocupan hilo mientras esperan). Cada suscriptor tiene su propia cola
+ * de envíos, que vacía un hilo virtual a la vez: un cliente lento no frena al resto y los eventos le
+ * llegan en el orden en que se publicaron. Además se descarta todo cambio de una solicitud cuya versión
+ * no sea mayor que la última enviada a ese suscriptor (p.ej. el estado inicial que se leyó antes de un
+ * cambio ya entregado).
+ */
+@Service
+@Slf4j
+public class CambioEstadoBroadcaster {
+
+    static final String EVENTO_ESTADO = "estado";
+
+    // Envíos sin entregar por suscriptor; si un cliente se atrasa más, se lo desconecta (al reconectar recibe
+    // el estado actual)
+    static final int MAX_PENDIENTES = 256;
+
+    // Solicitudes cuya última versión enviada recuerda cada suscriptor (las suscripciones por estado ven muchas)
+    private static final int MAX_VERSIONES = 1000;
+
+    private static final Object LATIDO = new Object();
+
+    private final ConcurrentHashMap<UUID, Set<SseEmitter>> porSolicitud = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<SseEmitter, Set<EstadoSolicitud>> filtradas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<SseEmitter, Suscriptor> suscriptores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<SseEmitter, Runnable> liberaciones = new ConcurrentHashMap<>();
+    private final AtomicInteger activas = new AtomicInteger();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.estado-stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.estado-stream.max-subscribers:20000}")
+    private int maxSuscriptores;
+
+    /**
+     * Suscribe a los cambios de una solicitud
+     */
+    public SseEmitter suscribir(UUID id) {
+        SseEmitter emitter = crearEmitter();
+        registrar(id, emitter);
+        return emitter;
+    }
+
+    /**
+     * Suscribe a los cambios hacia cualquiera de los estados indicados (vacío = todos)
+     */
+    public SseEmitter suscribir(Set<EstadoSolicitud> estados) {
+        SseEmitter emitter = crearEmitter();
+        registrar(estados, emitter);
+        return emitter;
+    }
+
+    /**
+     * Envía un evento solo a un emisor (p.ej. el estado actual al suscribirse)
+     */
+    public void enviar(SseEmitter emitter, CambioEstadoResponse cambio) {
+        encolar(emitter, cambio);
+    }
+
+    /**
+     * Da de baja un emisor que no llegó a entregarse al cliente (p.ej. la solicitud no existe)
+     */
+    public void cancelar(SseEmitter emitter) {
+        Runnable liberar = liberaciones.get(emitter);
+        if (liberar != null) {
+            liberar.run();
+        }
+    }
+
+    public void publicar(CambioEstadoResponse cambio) {
+        Set<SseEmitter> deLaSolicitud = porSolicitud.get(cambio.getId());
+        if (deLaSolicitud != null) {
+            deLaSolicitud.forEach(emitter -> enviar(emitter, cambio));
+        }
+        filtradas.forEach((emitter, estados) -> {
+            if (estados.isEmpty() || estados.contains(cambio.getEstado())) {
+                enviar(emitter, cambio);
+            }
+        });
+    }
+
+    public int getSuscripcionesActivas() {
+        return activas.get();
+    }
+
+    /**
+     * Comentario SSE periódico: mantiene viva la conexión tras el balanceador y detecta clientes caídos
+     */
+    @Scheduled(fixedRateString = "${app.estado-stream.heartbeat:25s}")
+    public void enviarHeartbeat() {
+        porSolicitud.values().forEach(emitters -> emitters.forEach(this::enviarHeartbeat));
+        filtradas.keySet().forEach(this::enviarHeartbeat);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        porSolicitud.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        filtradas.keySet().forEach(SseEmitter::complete);
+        envios.shutdown();
+    }
+
+    void registrar(UUID id, SseEmitter emitter) {
+        reservarCupo();
+        suscriptores.put(emitter, new Suscriptor(emitter));
+        porSolicitud.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+        alFinalizar(emitter, () -> porSolicitud.computeIfPresent(id, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        }));
+    }
+
+    void registrar(Set<EstadoSolicitud> estados, SseEmitter emitter) {
+        reservarCupo();
+        suscriptores.put(emitter, new Suscriptor(emitter));
+        filtradas.put(emitter, Set.copyOf(estados));
+        alFinalizar(emitter, () -> filtradas.remove(emitter));
+    }
+
+    private SseEmitter crearEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void reservarCupo() {
+        if (activas.incrementAndGet() > maxSuscriptores) {
+            activas.decrementAndGet();
+            throw new SuscripcionesAgotadasException(maxSuscriptores);
+        }
+    }
+
+    private void alFinalizar(SseEmitter emitter, Runnable quitar) {
+        Runnable liberar = () -> {
+            if (liberaciones.remove(emitter) != null) {
+                quitar.run();
+                suscriptores.remove(emitter);
+                activas.decrementAndGet();
+            }
+        };
+        liberaciones.put(emitter, liberar);
+        emitter.onCompletion(liberar);
+        emitter.onTimeout(liberar);
+        emitter.onError(e -> liberar.run());
+    }
+
+    private void encolar(SseEmitter emitter, Object envio) {
+        Suscriptor suscriptor = suscriptores.get(emitter);
+        if (suscriptor != null) {
+            suscriptor.encolar(envio);
+        }
+    }
+
+    private void enviarHeartbeat(SseEmitter emitter) {
+        encolar(emitter, LATIDO);
+    }
+
+    /**
+     * Cola de envíos de un emisor. Solo un hilo a la vez la vacía ({@code enCurso}), así que los envíos
+     * no se solapan ni se reordenan, y {@code versiones} no necesita sincronización.
+     */
+    private final class Suscriptor {
+
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<Object> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger cantidad = new AtomicInteger();
+        private final AtomicBoolean enCurso = new AtomicBoolean();
+        private final Map<UUID, Long> versiones = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                return size() > MAX_VERSIONES;
+            }
+        };
+
+        Suscriptor(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void encolar(Object envio) {
+            if (cantidad.incrementAndGet() > MAX_PENDIENTES) {
+                cantidad.decrementAndGet();
+                log.debug("Suscriptor con {} envíos pendientes, se desconecta", MAX_PENDIENTES);
+                emitter.completeWithError(new IllegalStateException("Suscriptor atrasado"));
+                return;
+            }
+            pendientes.add(envio);
+            programar();
+        }
+
+        private void programar() {
+            if (enCurso.compareAndSet(false, true)) {
+                envios.execute(this::vaciar);
+            }
+        }
+
+        private void vaciar() {
+            try {
+                Object envio;
+                while ((envio = pendientes.poll()) != null) {
+                    cantidad.decrementAndGet();
+                    if (envio == LATIDO) {
+                        enviar(SseEmitter.event().comment("ping"));
+                    } else if (esNuevo((CambioEstadoResponse) envio)) {
+                        CambioEstadoResponse cambio = (CambioEstadoResponse) envio;
+                        enviar(SseEmitter.event()
+                                .name(EVENTO_ESTADO)
+                                .id(cambio.getId() + ":" + cambio.getVersion())
+                                .data(cambio));
+                    }
+                }
+            } finally {
+                enCurso.set(false);
+            }
+            // Lo encolado entre el último poll y la liberación no tiene quién lo envíe
+            if (!pendientes.isEmpty()) {
+                programar();
+            }
+        }
+
+        private boolean esNuevo(CambioEstadoResponse cambio) {
+            if (cambio.getVersion() == null) {
+                return true;
+            }
+            Long ultima = versiones.get(cambio.getId());
+            if (ultima != null && cambio.getVersion() <= ultima) {
+                return false;
+            }
+            versiones.put(cambio.getId(), cambio.getVersion());
+            return true;
+        }
+
+        private void enviar(SseEmitter.SseEventBuilder evento) {
+            try {
+                emitter.send(evento);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Suscriptor desconectado: {}", e.getMessage());
+                pendientes.clear();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
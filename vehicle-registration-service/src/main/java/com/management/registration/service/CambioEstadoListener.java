@@ -0,0 +1,126 @@
+package com.management.registration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Escucha el canal {@code solicitud_estado} (trigger de V5) con una única conexión dedicada
+ * al primario, fuera del pool, y reenvía cada notificación al {@link CambioEstadoBroadcaster}.
+ * Si la conexión se pierde reintenta con backoff; los cambios ocurridos mientras tanto no se reenvían.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.estado-stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CambioEstadoListener {
+
+    static final String CANAL = "solicitud_estado";
+    private static final int ESPERA_NOTIFICACIONES_MS = 5000;
+    private static final Duration BACKOFF_MAXIMO = Duration.ofSeconds(30);
+
+    private final CambioEstadoBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private volatile boolean activo;
+    private volatile Connection conexion;
+    private Thread hilo;
+
+    public CambioEstadoListener(CambioEstadoBroadcaster broadcaster, ObjectMapper objectMapper) {
+        this.broadcaster = broadcaster;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        activo = true;
+        hilo = Thread.ofPlatform().daemon().name("pg-listen-" + CANAL).start(this::escuchar);
+    }
+
+    @PreDestroy
+    public void detener() {
+        activo = false;
+        cerrarConexion();
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    private void escuchar() {
+        Duration backoff = Duration.ofSeconds(1);
+        while (activo) {
+            try (Connection c = DriverManager.getConnection(url, username, password);
+                 Statement st = c.createStatement()) {
+                conexion = c;
+                st.execute("LISTEN " + CANAL);
+                log.info("Escuchando cambios de estado en el canal {}", CANAL);
+                backoff = Duration.ofSeconds(1);
+
+                PGConnection pg = c.unwrap(PGConnection.class);
+                while (activo) {
+                    PGNotification[] notificaciones = pg.getNotifications(ESPERA_NOTIFICACIONES_MS);
+                    if (notificaciones != null) {
+                        for (PGNotification notificacion : notificaciones) {
+                            reenviar(notificacion.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!activo) {
+                    return;
+                }
+                log.warn("Conexión LISTEN perdida, reintentando en {}: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(BACKOFF_MAXIMO) > 0 ? BACKOFF_MAXIMO : backoff.multipliedBy(2);
+            } finally {
+                conexion = null;
+            }
+        }
+    }
+
+    private void reenviar(String payload) {
+        try {
+            broadcaster.publicar(objectMapper.readValue(payload, CambioEstadoResponse.class));
+        } catch (Exception e) {
+            log.error("Notificación de estado inválida: {}", payload, e);
+        }
+    }
+
+    private void cerrarConexion() {
+        Connection c = conexion;
+        if (c != null) {
+            try {
+                c.close();
+            } catch (SQLException e) {
+                log.debug("Error al cerrar conexión LISTEN: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.management.registration.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Crea por adelantado las particiones mensuales de {@code solicitudes}
+ * para que las inserciones nunca caigan en la partición por defecto.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PartitionMaintenanceService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int mesesAdelante;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        crearParticionesFuturas();
+    }
+
+    /**
+     * Idempotente: solo crea las particiones que faltan
+     */
+    @Scheduled(cron = "${app.partitioning.cron:0 0 3 * * *}")
+    public void crearParticionesFuturas() {
+        try {
+            Integer meses = jdbcTemplate.queryForObject(
+                    "SELECT crear_particiones_futuras_solicitudes(?)", Integer.class, mesesAdelante);
+            log.info("Particiones de solicitudes verificadas para {} meses", meses);
+        } catch (Exception e) {
+            log.error("Error al crear particiones futuras de solicitudes: {}", e.getMessage(), e);
+        }
+    }
+}
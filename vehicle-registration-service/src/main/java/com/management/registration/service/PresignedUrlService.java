@@ -2,8 +2,10 @@ package com.management.registration.service;
 
 import com.management.registration.dto.response.PresignedUrlResponse;
 import com.management.registration.exception.S3ServiceException;
-import lombok.RequiredArgsConstructor;
+import com.management.registration.resilience.DependenciaProtegida;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
@@ -17,12 +19,18 @@ import java.util.UUID;
 
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PresignedUrlService {
 
 
-    private final S3Presigner s3Presigner;
+    private final ObjectProvider<S3Presigner> s3Presigner;
+    private final DependenciaProtegida s3Dependencia;
+
+    public PresignedUrlService(ObjectProvider<S3Presigner> s3Presigner,
+                               @Qualifier("s3Dependencia") DependenciaProtegida s3Dependencia) {
+        this.s3Presigner = s3Presigner;
+        this.s3Dependencia = s3Dependencia;
+    }
 
     @Value("${aws.s3.bucket-name:fleet-documents}")
     private String bucketName;
@@ -39,7 +47,8 @@ public class PresignedUrlService {
         String fileKey = generarFileKey(solicitudId, tipoDocumento);
 
         if (s3Enabled) {
-            return generarUrlReal(fileKey);
+            // La firma es local, pero resolver credenciales puede bloquear si el proveedor no responde
+            return s3Dependencia.ejecutar(() -> generarUrlReal(fileKey));
         } else {
             return generarUrlSimulada(fileKey);
         }
@@ -61,7 +70,7 @@ public class PresignedUrlService {
                     .putObjectRequest(putObjectRequest)
                     .build();
 
-            PresignedPutObjectRequest presignedRequest = s3Presigner.presignPutObject(presignRequest);
+            PresignedPutObjectRequest presignedRequest = s3Presigner.getObject().presignPutObject(presignRequest);
 
             log.info("URL prefirmada generada para: {}", fileKey);
 
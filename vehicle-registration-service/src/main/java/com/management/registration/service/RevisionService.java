@@ -0,0 +1,164 @@
+package com.management.registration.service;
+
+import com.management.registration.datasource.RecentWritesTracker;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.dto.response.ReclamoResponse;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.event.EventPublisher;
+import com.management.registration.repository.SolicitudRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cola de trabajo de los revisores.
+ * FOR UPDATE SKIP LOCKED hace que cada revisor tome filas distintas sin esperar los bloqueos de los demás,
+ * por lo que la latencia del reclamo no crece con la cantidad de revisores concurrentes.
+ * Cada operación es una sola sentencia en autocommit: los eventos se publican ya confirmados.
+ */
+@Service
+@Slf4j
+public class RevisionService {
+
+    private static final String SQL_RECLAMAR = """
+            WITH candidatas AS (
+                SELECT id, fecha_creacion
+                FROM solicitudes
+                WHERE estado = 'PENDIENTE'
+                ORDER BY fecha_creacion
+                LIMIT :cantidad
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE solicitudes s
+            SET estado = 'EN_REVISION',
+                revisor = :revisor,
+                lease_expira = :expira,
+                version = coalesce(s.version, 0) + 1,
+                fecha_actualizacion = :ahora
+            FROM candidatas c
+            WHERE s.id = c.id AND s.fecha_creacion = c.fecha_creacion
+            RETURNING s.*
+            """;
+
+    private static final String SQL_LIBERAR_VENCIDAS = """
+            WITH vencidas AS (
+                SELECT id, fecha_creacion
+                FROM solicitudes
+                WHERE estado = 'EN_REVISION' AND lease_expira < :ahora
+                LIMIT :lote
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE solicitudes s
+            SET estado = 'PENDIENTE',
+                revisor = NULL,
+                lease_expira = NULL,
+                version = coalesce(s.version, 0) + 1,
+                fecha_actualizacion = :ahora
+            FROM vencidas v
+            WHERE s.id = v.id AND s.fecha_creacion = v.fecha_creacion
+            RETURNING s.*
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EventPublisher eventPublisher;
+    private final RecentWritesTracker recentWritesTracker;
+
+    @Value("${app.revision.lease-duration:15m}")
+    private Duration duracionLease;
+
+    @Value("${app.revision.reclaim-batch-size:500}")
+    private int tamanoLoteLiberacion;
+
+    public RevisionService(NamedParameterJdbcTemplate jdbcTemplate, EventPublisher eventPublisher,
+                           RecentWritesTracker recentWritesTracker) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.recentWritesTracker = recentWritesTracker;
+    }
+
+    /**
+     * Asigna al revisor las próximas {@code cantidad} solicitudes pendientes (las más antiguas primero)
+     * y las pasa a EN_REVISION. Puede devolver menos, o ninguna, si no quedan pendientes libres.
+     */
+    public ReclamoResponse reclamar(String revisor, int cantidad) {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime expira = ahora.plus(duracionLease);
+
+        List<CambioEstadoResponse> cambios = new ArrayList<>();
+        List<SolicitudResponse> reclamadas = jdbcTemplate.query(SQL_RECLAMAR, new MapSqlParameterSource()
+                        .addValue("cantidad", cantidad)
+                        .addValue("revisor", revisor)
+                        .addValue("expira", expira)
+                        .addValue("ahora", ahora),
+                (rs, rowNum) -> {
+                    cambios.add(mapearCambio(rs, EstadoSolicitud.PENDIENTE));
+                    return SolicitudRowMapper.INSTANCE.mapRow(rs, rowNum);
+                });
+
+        log.info("Revisor {} reclamó {} solicitudes", revisor, reclamadas.size());
+        // El revisor suele abrir enseguida las que reclamó: que esas lecturas vayan al primario
+        cambios.forEach(cambio -> recentWritesTracker.registrar(cambio.getId()));
+        publicar(cambios);
+
+        return ReclamoResponse.builder()
+                .revisor(revisor)
+                .leaseExpira(expira)
+                .solicitudes(reclamadas)
+                .build();
+    }
+
+    /**
+     * Devuelve a PENDIENTE las solicitudes cuyo lease venció, por lotes.
+     * SKIP LOCKED permite que varios nodos lo ejecuten a la vez sin pisarse.
+     */
+    @Scheduled(fixedDelayString = "${app.revision.reclaim-interval:30s}")
+    public void liberarVencidas() {
+        try {
+            int total = 0;
+            List<CambioEstadoResponse> liberadas;
+            do {
+                liberadas = jdbcTemplate.query(SQL_LIBERAR_VENCIDAS, new MapSqlParameterSource()
+                                .addValue("ahora", LocalDateTime.now())
+                                .addValue("lote", tamanoLoteLiberacion),
+                        (rs, rowNum) -> mapearCambio(rs, EstadoSolicitud.EN_REVISION));
+                publicar(liberadas);
+                total += liberadas.size();
+            } while (liberadas.size() == tamanoLoteLiberacion);
+
+            if (total > 0) {
+                log.info("Leases vencidos liberados: {} solicitudes vuelven a PENDIENTE", total);
+            }
+        } catch (Exception e) {
+            log.error("Error al liberar leases vencidos: {}", e.getMessage(), e);
+        }
+    }
+
+    private void publicar(List<CambioEstadoResponse> cambios) {
+        if (!cambios.isEmpty()) {
+            eventPublisher.publicarCambiosEstado(cambios);
+        }
+    }
+
+    private CambioEstadoResponse mapearCambio(ResultSet rs, EstadoSolicitud anterior) throws SQLException {
+        return CambioEstadoResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .patente(rs.getString("patente"))
+                .estadoAnterior(anterior)
+                .estado(EstadoSolicitud.valueOf(rs.getString("estado")))
+                .version(rs.getLong("version"))
+                .fechaActualizacion(rs.getObject("fecha_actualizacion", LocalDateTime.class))
+                .build();
+    }
+}
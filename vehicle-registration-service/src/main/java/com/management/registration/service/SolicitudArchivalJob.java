@@ -0,0 +1,45 @@
+package com.management.registration.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ejecuta periódicamente el archivado por lotes de solicitudes terminales
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.archival", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SolicitudArchivalJob {
+
+    private final SolicitudArchiveService solicitudArchiveService;
+
+    @Value("${app.archival.max-batches-per-run:50}")
+    private int maxLotesPorEjecucion;
+
+    @Scheduled(cron = "${app.archival.cron:0 30 2 * * *}")
+    public void archivar() {
+        if (!solicitudArchiveService.estaDisponible()) {
+            log.warn("Archivado habilitado pero S3 no está disponible; se omite la ejecución");
+            return;
+        }
+
+        int total = 0;
+        try {
+            for (int lote = 0; lote < maxLotesPorEjecucion; lote++) {
+                int archivadas = solicitudArchiveService.archivarLote();
+                if (archivadas == 0) {
+                    break;
+                }
+                total += archivadas;
+            }
+        } catch (Exception e) {
+            log.error("Error durante el archivado de solicitudes: {}", e.getMessage(), e);
+        }
+        log.info("Archivado finalizado - {} solicitudes movidas a S3", total);
+    }
+}
@@ -0,0 +1,352 @@
+package com.management.registration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.entity.SolicitudArchivada;
+import com.management.registration.exception.S3ServiceException;
+import com.management.registration.repository.SolicitudArchivadaRepository;
+import com.management.registration.repository.SolicitudRowMapper;
+import com.management.registration.resilience.DependenciaProtegida;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mueve solicitudes en estado terminal (COMPLETADA, RECHAZADA) a S3 como NDJSON comprimido
+ * y las recupera de forma transparente cuando ya no están en la tabla caliente.
+ * <p>
+ * Cada objeto es una serie de miembros gzip de {@link #LINEAS_POR_BLOQUE} líneas (sigue siendo un
+ * .ndjson.gz válido) y {@code solicitudes_archivadas} guarda el desplazamiento y largo del bloque de cada
+ * solicitud: una lectura pide con Range solo ese bloque. Ninguna transacción queda abierta durante las
+ * llamadas a S3.
+ */
+@Service
+@Slf4j
+public class SolicitudArchiveService {
+
+    private static final DateTimeFormatter FORMATO_CLAVE = DateTimeFormatter.ofPattern("yyyy/MM/dd/HHmmss");
+
+    // Compromiso entre la compresión (bloques más grandes) y los bytes que trae cada lectura
+    static final int LINEAS_POR_BLOQUE = 100;
+
+    // Una reserva sin borrar después de este tiempo es de un archivado interrumpido: se libera
+    private static final Duration RESERVA_ABANDONADA = Duration.ofHours(1);
+
+    // Las reservadas quedan en solicitudes_archivadas sin bloque (s3_offset NULL) hasta que el objeto está en S3;
+    // otras tareas las saltan por el NOT EXISTS y el SKIP LOCKED.
+    // El filtro va sobre fecha_actualizacion tal cual para que idx_solicitudes_terminales acote el recorrido:
+    // a un estado terminal solo se llega por una transición, que siempre la fija
+    private static final String SQL_RESERVAR_LOTE = """
+            WITH lote AS (
+                SELECT id, patente, fecha_creacion FROM solicitudes s
+                WHERE estado IN ('COMPLETADA', 'RECHAZADA')
+                  AND fecha_actualizacion < ?
+                  AND NOT EXISTS (SELECT 1 FROM solicitudes_archivadas a WHERE a.solicitud_id = s.id)
+                ORDER BY fecha_actualizacion
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            INSERT INTO solicitudes_archivadas (solicitud_id, patente, fecha_creacion, s3_key, fecha_archivado)
+            SELECT id, patente, fecha_creacion, ?, now() FROM lote
+            """;
+
+    private static final String SQL_LIBERAR_ABANDONADAS = """
+            DELETE FROM solicitudes_archivadas a
+            WHERE a.s3_offset IS NULL AND a.fecha_archivado < ?
+              AND EXISTS (SELECT 1 FROM solicitudes s WHERE s.id = a.solicitud_id AND s.fecha_creacion = a.fecha_creacion)
+            """;
+
+    private static final String SQL_LEER_LOTE = """
+            SELECT s.* FROM solicitudes s
+            JOIN solicitudes_archivadas a ON a.solicitud_id = s.id AND a.fecha_creacion = s.fecha_creacion
+            WHERE a.s3_key = ?
+            """;
+
+    private static final String SQL_UBICAR = """
+            UPDATE solicitudes_archivadas SET s3_offset = ?, s3_longitud = ?
+            WHERE solicitud_id = ?
+            """;
+
+    private static final String SQL_BORRAR_LOTE = """
+            DELETE FROM solicitudes s USING solicitudes_archivadas a
+            WHERE a.s3_key = ? AND s.id = a.solicitud_id AND s.fecha_creacion = a.fecha_creacion
+            """;
+
+    private static final String SQL_LIBERAR_LOTE = "DELETE FROM solicitudes_archivadas WHERE s3_key = ?";
+
+    // Bloque de un objeto archivado: bytes [offset, offset + longitud)
+    private record Bloque(long offset, int longitud) {}
+
+    private final ObjectProvider<S3Client> s3Client;
+    private final DependenciaProtegida s3Dependencia;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SolicitudArchivadaRepository solicitudArchivadaRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${aws.s3.bucket-name:fleet-documents}")
+    private String bucketName;
+
+    @Value("${app.archival.prefix:archivo/solicitudes}")
+    private String prefijo;
+
+    @Value("${app.archival.older-than:90d}")
+    private Duration antiguedad;
+
+    @Value("${app.archival.batch-size:1000}")
+    private int tamanoLote;
+
+    public SolicitudArchiveService(ObjectProvider<S3Client> s3Client,
+                                   @Qualifier("s3Dependencia") DependenciaProtegida s3Dependencia,
+                                   DataSource dataSource,
+                                   TransactionTemplate transactionTemplate,
+                                   SolicitudArchivadaRepository solicitudArchivadaRepository,
+                                   ObjectMapper objectMapper) {
+        this.s3Client = s3Client;
+        this.s3Dependencia = s3Dependencia;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(200); // Cursor en servidor: las filas no se cargan todas en memoria
+        this.transactionTemplate = transactionTemplate;
+        this.solicitudArchivadaRepository = solicitudArchivadaRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean estaDisponible() {
+        return s3Client.getIfAvailable() != null;
+    }
+
+    /**
+     * Archiva un lote en tres pasos cortos, sin retener locks ni la conexión durante la subida:
+     * reserva (transacción), escribe y sube el objeto (sin transacción) y borra de la tabla (transacción).
+     * Si la subida falla se libera la reserva y no se borra nada.
+     *
+     * @return cantidad de solicitudes archivadas (0 si no quedan candidatas)
+     */
+    public int archivarLote() {
+        if (!estaDisponible()) {
+            throw new S3ServiceException("S3 no está habilitado; no es posible archivar solicitudes");
+        }
+
+        String s3Key = String.format("%s/%s-%s.ndjson.gz",
+                prefijo, LocalDateTime.now().format(FORMATO_CLAVE), UUID.randomUUID());
+
+        Integer reservadas = transactionTemplate.execute(status -> {
+            int liberadas = jdbcTemplate.update(SQL_LIBERAR_ABANDONADAS, LocalDateTime.now().minus(RESERVA_ABANDONADA));
+            if (liberadas > 0) {
+                log.warn("Liberadas {} reservas de archivado abandonadas", liberadas);
+            }
+            return jdbcTemplate.update(SQL_RESERVAR_LOTE, LocalDateTime.now().minus(antiguedad), tamanoLote, s3Key);
+        });
+        if (reservadas == null || reservadas == 0) {
+            return 0;
+        }
+
+        Path archivoTemporal = null;
+        Map<UUID, Bloque> bloques;
+        try {
+            archivoTemporal = Files.createTempFile("solicitudes-archivo-", ".ndjson.gz");
+            Path archivo = archivoTemporal;
+            // El cursor en servidor (fetchSize) necesita una transacción; no es readOnly para leer del primario,
+            // donde está la reserva recién confirmada
+            bloques = transactionTemplate.execute(status -> escribirLote(s3Key, archivo));
+
+            s3Dependencia.ejecutar(() -> s3Client.getObject().putObject(PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(s3Key)
+                            .contentType("application/x-ndjson")
+                            .contentEncoding("gzip")
+                            .build(),
+                    RequestBody.fromFile(archivo)));
+        } catch (IOException | UncheckedIOException e) {
+            liberarReserva(s3Key);
+            throw new S3ServiceException("Error al generar el archivo de solicitudes archivadas", e);
+        } catch (RuntimeException e) {
+            liberarReserva(s3Key);
+            throw e;
+        } finally {
+            eliminarTemporal(archivoTemporal);
+        }
+
+        Integer borradas = transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(SQL_UBICAR, bloques.entrySet().stream()
+                    .map(entrada -> new Object[]{entrada.getValue().offset(), entrada.getValue().longitud(),
+                            entrada.getKey()})
+                    .toList());
+            return jdbcTemplate.update(SQL_BORRAR_LOTE, s3Key);
+        });
+        log.info("Lote archivado en s3://{}/{} - {} solicitudes", bucketName, s3Key, borradas);
+        return borradas == null ? 0 : borradas;
+    }
+
+    private void liberarReserva(String s3Key) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(SQL_LIBERAR_LOTE, s3Key));
+    }
+
+    /**
+     * Busca una solicitud en el archivo de S3. La entrada del índice se lee en su propia transacción
+     * (del repositorio) y la lectura de S3 se hace después, sin conexión tomada.
+     */
+    public Optional<SolicitudResponse> buscarArchivada(UUID id) {
+        if (!estaDisponible()) {
+            return Optional.empty();
+        }
+        return solicitudArchivadaRepository.findById(id)
+                .filter(archivada -> archivada.getS3Offset() != null)
+                .flatMap(archivada -> s3Dependencia.ejecutar(() -> leerDeS3(archivada, id)));
+    }
+
+    // Escribe un miembro gzip cada LINEAS_POR_BLOQUE filas y devuelve el bloque de cada solicitud
+    private Map<UUID, Bloque> escribirLote(String s3Key, Path destino) {
+        Map<UUID, Bloque> bloques = new HashMap<>();
+        try (CountingOutputStream out = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(destino)))) {
+
+            List<UUID> enBloque = new ArrayList<>(LINEAS_POR_BLOQUE);
+            ByteArrayOutputStream lineas = new ByteArrayOutputStream();
+            jdbcTemplate.query(SQL_LEER_LOTE, (ResultSet rs) -> {
+                try {
+                    SolicitudResponse solicitud = SolicitudRowMapper.INSTANCE.mapRow(rs, 0);
+                    // El serializador de la API omite la versión; el archivo la guarda para el ETag de las archivadas
+                    ObjectNode linea = objectMapper.valueToTree(solicitud);
+                    linea.put("version", solicitud.getVersion());
+                    lineas.write(objectMapper.writeValueAsBytes(linea));
+                    lineas.write('\n');
+                    enBloque.add(solicitud.getId());
+                    if (enBloque.size() == LINEAS_POR_BLOQUE) {
+                        escribirBloque(out, lineas, enBloque, bloques);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, s3Key);
+            escribirBloque(out, lineas, enBloque, bloques);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bloques;
+    }
+
+    private static void escribirBloque(CountingOutputStream out, ByteArrayOutputStream lineas, List<UUID> ids,
+                                       Map<UUID, Bloque> bloques) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long inicio = out.escritos();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out.sinCierre())) {
+            lineas.writeTo(gzip);
+        }
+        Bloque bloque = new Bloque(inicio, (int) (out.escritos() - inicio));
+        ids.forEach(id -> bloques.put(id, bloque));
+        ids.clear();
+        lineas.reset();
+    }
+
+    private Optional<SolicitudResponse> leerDeS3(SolicitudArchivada archivada, UUID id) {
+        String idTexto = id.toString();
+        long fin = archivada.getS3Offset() + archivada.getS3Longitud() - 1;
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(archivada.getS3Key())
+                .range("bytes=" + archivada.getS3Offset() + "-" + fin)
+                .build();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(s3Client.getObject().getObject(request)), StandardCharsets.UTF_8))) {
+
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                // Solo se deserializa la línea que contiene el ID buscado
+                if (linea.contains(idTexto)) {
+                    SolicitudResponse respuesta = objectMapper.readValue(linea, SolicitudResponse.class);
+                    if (id.equals(respuesta.getId())) {
+                        return Optional.of(respuesta);
+                    }
+                }
+            }
+            log.warn("Solicitud {} indexada en {} pero no encontrada en su bloque", id, archivada.getS3Key());
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Error al leer solicitud archivada {}: {}", id, e.getMessage(), e);
+            throw new S3ServiceException("Error al recuperar la solicitud archivada", e);
+        }
+    }
+
+    private void eliminarTemporal(Path archivo) {
+        if (archivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No fue posible eliminar el archivo temporal {}", archivo);
+        }
+    }
+
+    // Cuenta los bytes escritos para conocer el desplazamiento de cada bloque
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long escritos;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            escritos++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            escritos += len;
+        }
+
+        long escritos() {
+            return escritos;
+        }
+
+        // Para cerrar cada miembro gzip (y liberar su Deflater) sin cerrar el archivo
+        OutputStream sinCierre() {
+            return new FilterOutputStream(this) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+    }
+}
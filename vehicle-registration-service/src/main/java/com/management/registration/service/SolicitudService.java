@@ -1,24 +1,41 @@
 package com.management.registration.service;
 
+import com.management.registration.concurrency.SingleFlight;
+import com.management.registration.datasource.RecentWritesTracker;
+import com.management.registration.datasource.RoutingContext;
 import com.management.registration.dto.request.CrearSolicitudRequest;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.dto.response.CompactPageResponse;
+import com.management.registration.dto.response.CursorPageResponse;
 import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.dto.response.SolicitudResumenResponse;
 import com.management.registration.entity.Solicitud;
 import com.management.registration.event.EventPublisher;
 import com.management.registration.exception.PatenteYaRegistradaException;
 import com.management.registration.exception.SolicitudNotFoundException;
+import com.management.registration.pagination.Cursor;
 import com.management.registration.repository.SolicitudRepository;
 import com.management.registration.entity.EstadoSolicitud;
 import com.management.registration.validator.PatenteValidator;
 import com.management.registration.validator.RutValidator;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -28,6 +45,12 @@ public class SolicitudService {
 
     private final SolicitudRepository solicitudRepository;
     private final EventPublisher eventPublisher;
+    private final RecentWritesTracker recentWritesTracker;
+    private final SolicitudArchiveService solicitudArchiveService;
+    private final SingleFlight<UUID, SolicitudResponse> lecturasSolicitud;
+
+    // Última fila entregada de las solicitudes de un propietario, en orden (fecha_creacion DESC, id DESC)
+    private record PosicionPropietario(LocalDateTime fecha, UUID id) {}
 
     /**
      * Crea una nueva solicitud de inscripción
@@ -56,6 +79,7 @@ public class SolicitudService {
         try {
             Solicitud solicitudGuardada = solicitudRepository.save(solicitud);
             log.info("Solicitud creada exitosamente con ID: {}", solicitudGuardada.getId());
+            recentWritesTracker.registrar(solicitudGuardada.getId());
 
             eventPublisher.publicarSolicitudCreada(solicitud);
 
@@ -67,28 +91,193 @@ public class SolicitudService {
     }
 
     /**
-     * Obtiene todas las solicitudes con paginación
+     * Obtiene todas las solicitudes con paginación.
+     * Proyecta directamente a DTO: no se hidratan entidades en el contexto de persistencia.
      */
-    @Transactional()
+    @Transactional(readOnly = true)
     public Page<SolicitudResponse> obtenerSolicitudes(Pageable pageable) {
         log.debug("Obteniendo solicitudes - Página: {}, Tamaño: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Solicitud> solicitudes = solicitudRepository.findAll(pageable);
-        return solicitudes.map(this::mapearARespuesta);
+        return solicitudRepository.findAllProyectadas(pageable);
+    }
+
+    /**
+     * Obtiene las solicitudes creadas en el rango [desde, hasta).
+     * Filtrar por fecha_creacion permite a PostgreSQL leer solo las particiones involucradas.
+     */
+    @Transactional(readOnly = true)
+    public Page<SolicitudResponse> obtenerSolicitudes(LocalDate desde, LocalDate hasta, Pageable pageable) {
+        if (desde == null && hasta == null) {
+            return obtenerSolicitudes(pageable);
+        }
+        log.debug("Obteniendo solicitudes entre {} y {} - Página: {}", desde, hasta, pageable.getPageNumber());
+
+        return solicitudRepository.findProyectadasEntre(inicioRango(desde), finRango(hasta), pageable);
+    }
+
+    /**
+     * Listado resumido (sin email, teléfono ni observaciones)
+     */
+    @Transactional(readOnly = true)
+    public Page<SolicitudResumenResponse> obtenerResumenSolicitudes(LocalDate desde, LocalDate hasta,
+                                                                    Pageable pageable) {
+        log.debug("Obteniendo resumen de solicitudes - Página: {}, Tamaño: {}",
+                pageable.getPageNumber(), pageable.getPageSize());
+
+        if (desde == null && hasta == null) {
+            return solicitudRepository.findAllResumen(pageable);
+        }
+        return solicitudRepository.findResumenEntre(inicioRango(desde), finRango(hasta), pageable);
     }
 
     /**
-     * Obtiene una solicitud por su ID
+     * Listado con fieldset disperso: solo las columnas pedidas viajan desde la BD
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> obtenerCamposSolicitudes(Set<String> campos, LocalDate desde,
+                                                              LocalDate hasta, Pageable pageable) {
+        LocalDateTime inicio = hayRango(desde, hasta) ? inicioRango(desde) : null;
+        LocalDateTime fin = hayRango(desde, hasta) ? finRango(hasta) : null;
+
+        List<Map<String, Object>> filas = solicitudRepository.findCampos(
+                campos, inicio, fin, pageable, pageable.getPageSize());
+
+        return PageableExecutionUtils.getPage(filas, pageable, () -> inicio != null
+                ? solicitudRepository.countEntre(inicio, fin)
+                : solicitudRepository.count());
+    }
+
+    /**
+     * Listado en sobre compacto. Lee una fila extra para saber si hay página siguiente
+     * en lugar de ejecutar una consulta de conteo.
+     */
+    @Transactional(readOnly = true)
+    public CompactPageResponse<Map<String, Object>> obtenerSolicitudesCompactas(
+            Set<String> campos, LocalDate desde, LocalDate hasta, Pageable pageable) {
+
+        Set<String> seleccion = campos == null || campos.isEmpty()
+                ? new LinkedHashSet<>(SolicitudRepository.CAMPOS)
+                : campos;
+        LocalDateTime inicio = hayRango(desde, hasta) ? inicioRango(desde) : null;
+        LocalDateTime fin = hayRango(desde, hasta) ? finRango(hasta) : null;
+        int tamano = pageable.getPageSize();
+
+        List<Map<String, Object>> filas = solicitudRepository.findCampos(
+                seleccion, inicio, fin, pageable, tamano + 1);
+
+        return CompactPageResponse.<Map<String, Object>>builder()
+                .items(filas.size() > tamano ? filas.subList(0, tamano) : filas)
+                .page(pageable.getPageNumber())
+                .size(tamano)
+                .hasNext(filas.size() > tamano)
+                .build();
+    }
+
+    /**
+     * Solicitudes de un propietario, de la más reciente a la más antigua, con cursor keyset
+     * (fecha_creacion, id) sobre idx_solicitudes_rut_fecha: cada página es una sola consulta por índice,
+     * sin OFFSET ni conteo. El RUT se acepta con o sin puntos y guion.
+     *
+     * @param cursor {@code nextCursor} de la página anterior, o null para la primera
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SolicitudResumenResponse> obtenerSolicitudesPorRut(String rut, int size,
+                                                                                 String cursor) {
+        String rutLimpio = sanitizarRut(rut);
+        Pageable limite = PageRequest.of(0, size + 1);
+
+        List<SolicitudResumenResponse> filas;
+        if (cursor == null) {
+            filas = solicitudRepository.findResumenPorRut(rutLimpio, limite);
+        } else {
+            PosicionPropietario desde = Cursor.leer(cursor, 2, valores ->
+                    new PosicionPropietario(LocalDateTime.parse(valores[0]), UUID.fromString(valores[1])));
+            filas = solicitudRepository.findResumenPorRutDespuesDe(rutLimpio, desde.fecha(), desde.id(), limite);
+        }
+
+        boolean hayMas = filas.size() > size;
+        List<SolicitudResumenResponse> pagina = hayMas ? filas.subList(0, size) : filas;
+        SolicitudResumenResponse ultima = hayMas ? pagina.get(size - 1) : null;
+
+        return CursorPageResponse.<SolicitudResumenResponse>builder()
+                .items(pagina)
+                .size(size)
+                .hasNext(hayMas)
+                .nextCursor(ultima != null ? Cursor.codificar(ultima.getFechaCreacion(), ultima.getId()) : null)
+                .build();
+    }
+
+    /**
+     * Obtiene una solicitud por su ID.
+     * Si fue creada hace instantes se lee del primario, ya que la réplica puede ir atrasada.
+     * Si ya no está en la tabla se busca en el archivo de S3.
+     * Las búsquedas concurrentes del mismo ID comparten una sola consulta (single-flight), salvo tras una
+     * escritura reciente: esa lectura va sola al primario, porque una compartida pudo empezar en la réplica
+     * antes de la escritura.
      */
-    @Transactional()
     public SolicitudResponse obtenerSolicitudPorId(UUID id) {
+        if (recentWritesTracker.esReciente(id)) {
+            return buscarPorId(id);
+        }
+        return lecturasSolicitud.ejecutar(id, () -> buscarPorId(id));
+    }
+
+    // Sin transacción propia: cada consulta del repositorio abre la suya (readOnly → réplica),
+    // así quienes esperan el resultado compartido no retienen conexiones
+    private SolicitudResponse buscarPorId(UUID id) {
         log.debug("Buscando solicitud con ID: {}", id);
 
-        Solicitud solicitud = solicitudRepository.findById(id)
+        return (recentWritesTracker.esReciente(id)
+                ? RoutingContext.enPrimario(() -> solicitudRepository.findById(id))
+                : solicitudRepository.findById(id))
+                .map(this::mapearARespuesta)
+                .or(() -> solicitudArchiveService.buscarArchivada(id))
+                .orElseThrow(() -> new SolicitudNotFoundException(id));
+    }
+
+    /**
+     * Obtiene solo la versión de una solicitud, para responder 304 sin leer ni serializar la fila.
+     * Vacío si no existe en la tabla (por ejemplo, si ya fue archivada).
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> obtenerVersion(UUID id) {
+        return recentWritesTracker.esReciente(id)
+                ? RoutingContext.enPrimario(() -> solicitudRepository.findVersionById(id))
+                : solicitudRepository.findVersionById(id);
+    }
+
+    /**
+     * Estado actual de una solicitud, enviado como primer evento al suscribirse a sus cambios
+     */
+    @Transactional(readOnly = true)
+    public CambioEstadoResponse obtenerEstadoActual(UUID id) {
+        // Siempre del primario: con la réplica atrasada, el estado inicial sería más viejo que los cambios
+        // que el suscriptor ya empezó a recibir por NOTIFY
+        Solicitud solicitud = RoutingContext.enPrimario(() -> solicitudRepository.findById(id))
                 .orElseThrow(() -> new SolicitudNotFoundException(id));
 
-        return mapearARespuesta(solicitud);
+        return CambioEstadoResponse.builder()
+                .id(solicitud.getId())
+                .patente(solicitud.getPatente())
+                .estado(solicitud.getEstado())
+                .version(solicitud.getVersion() != null ? solicitud.getVersion() : 0L)
+                .fechaActualizacion(solicitud.getFechaActualizacion())
+                .build();
+    }
+
+    // ========== Rangos de Fecha ==========
+
+    private boolean hayRango(LocalDate desde, LocalDate hasta) {
+        return desde != null || hasta != null;
+    }
+
+    private LocalDateTime inicioRango(LocalDate desde) {
+        return desde != null ? desde.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+
+    private LocalDateTime finRango(LocalDate hasta) {
+        return hasta != null ? hasta.plusDays(1).atStartOfDay() : LocalDateTime.now().plusDays(1);
     }
 
     // ========== Métodos de Sanitización ==========
@@ -161,6 +350,7 @@ public class SolicitudService {
                 .observaciones(solicitud.getObservaciones())
                 .fechaCreacion(solicitud.getFechaCreacion())
                 .fechaActualizacion(solicitud.getFechaActualizacion())
+                .version(solicitud.getVersion() != null ? solicitud.getVersion() : 0L)
                 .build();
     }
 }
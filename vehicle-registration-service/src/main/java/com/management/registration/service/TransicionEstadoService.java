@@ -0,0 +1,256 @@
+package com.management.registration.service;
+
+import com.management.registration.datasource.RecentWritesTracker;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.dto.response.TransicionLoteResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.entity.Solicitud;
+import com.management.registration.event.EventPublisher;
+import com.management.registration.exception.SolicitudAsignadaException;
+import com.management.registration.exception.SolicitudNotFoundException;
+import com.management.registration.exception.TransicionInvalidaException;
+import com.management.registration.exception.VersionDesactualizadaException;
+import com.management.registration.repository.SolicitudRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Máquina de estados de las solicitudes.
+ * Cada intento corre en su propia transacción; los conflictos de concurrencia (versión o bloqueos)
+ * se reintentan con backoff exponencial y los eventos se publican solo tras el commit.
+ */
+@Service
+@Slf4j
+public class TransicionEstadoService {
+
+    // Una sola sentencia por lote: bloquea las filas en orden de id (evita deadlocks entre lotes)
+    // y solo actualiza las que siguen en un estado de origen válido y, si fueron reclamadas,
+    // cuyo lease vigente pertenece al revisor que pide la transición
+    private static final String SQL_TRANSICION_LOTE = """
+            WITH objetivo AS (
+                SELECT id, fecha_creacion, estado AS estado_anterior
+                FROM solicitudes
+                WHERE id IN (:ids) AND estado IN (:origenes)
+                  AND (revisor IS NULL OR (revisor = :revisor AND lease_expira > :ahora))
+                ORDER BY id
+                FOR UPDATE
+            )
+            UPDATE solicitudes s
+            SET estado = :destino,
+                observaciones = coalesce(CAST(:observaciones AS VARCHAR), s.observaciones),
+                revisor = NULL,
+                lease_expira = NULL,
+                version = coalesce(s.version, 0) + 1,
+                fecha_actualizacion = :ahora
+            FROM objetivo o
+            WHERE s.id = o.id AND s.fecha_creacion = o.fecha_creacion
+            RETURNING s.id, s.patente, o.estado_anterior, s.estado, s.version, s.fecha_actualizacion
+            """;
+
+    private final SolicitudRepository solicitudRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventPublisher eventPublisher;
+    private final RecentWritesTracker recentWritesTracker;
+
+    @Value("${app.transiciones.max-intentos:3}")
+    private int maxIntentos;
+
+    @Value("${app.transiciones.backoff-inicial:50ms}")
+    private Duration backoffInicial;
+
+    public TransicionEstadoService(SolicitudRepository solicitudRepository,
+                                   NamedParameterJdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   EventPublisher eventPublisher,
+                                   RecentWritesTracker recentWritesTracker) {
+        this.solicitudRepository = solicitudRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.recentWritesTracker = recentWritesTracker;
+    }
+
+    /**
+     * Cambia el estado de una solicitud.
+     * Con {@code versionEsperada} (If-Match) la transición solo se aplica si nadie la modificó antes.
+     * Una solicitud reclamada solo la puede mover el {@code revisor} dueño del lease, mientras esté vigente.
+     */
+    public CambioEstadoResponse transicionar(UUID id, EstadoSolicitud destino, String observaciones,
+                                             String revisor, String versionEsperada) {
+        CambioEstadoResponse cambio = conReintentos(() -> transactionTemplate.execute(status ->
+                aplicarTransicion(id, destino, observaciones, revisor, versionEsperada)));
+
+        log.info("Solicitud {} pasó de {} a {}", id, cambio.getEstadoAnterior(), destino);
+        recentWritesTracker.registrar(id);
+        eventPublisher.publicarCambiosEstado(List.of(cambio));
+        return cambio;
+    }
+
+    /**
+     * Cambia el estado de varias solicitudes con una sola sentencia UPDATE.
+     * Las que no existen, no están en un estado de origen válido o están reclamadas por otro revisor
+     * (o con el lease vencido) se informan como rechazadas.
+     */
+    public TransicionLoteResponse transicionarLote(List<UUID> ids, EstadoSolicitud destino, String observaciones,
+                                                   String revisor) {
+        List<UUID> unicos = ids.stream().distinct().toList();
+        if (destino.origenes().isEmpty()) {
+            return TransicionLoteResponse.builder()
+                    .estado(destino)
+                    .aplicadas(List.of())
+                    .rechazadas(unicos.stream()
+                            .map(id -> new TransicionLoteResponse.Rechazo(id, "Ningún estado puede pasar a " + destino))
+                            .toList())
+                    .build();
+        }
+
+        List<CambioEstadoResponse> aplicadas = conReintentos(() -> transactionTemplate.execute(status ->
+                actualizarLote(unicos, destino, observaciones, revisor)));
+
+        log.info("Transición en lote a {}: {} aplicadas de {}", destino, aplicadas.size(), unicos.size());
+        aplicadas.forEach(cambio -> recentWritesTracker.registrar(cambio.getId()));
+        if (!aplicadas.isEmpty()) {
+            eventPublisher.publicarCambiosEstado(aplicadas);
+        }
+
+        return TransicionLoteResponse.builder()
+                .estado(destino)
+                .aplicadas(aplicadas)
+                .rechazadas(calcularRechazos(unicos, aplicadas, destino, revisor))
+                .build();
+    }
+
+    private CambioEstadoResponse aplicarTransicion(UUID id, EstadoSolicitud destino, String observaciones,
+                                                   String revisor, String versionEsperada) {
+        Solicitud solicitud = solicitudRepository.findById(id)
+                .orElseThrow(() -> new SolicitudNotFoundException(id));
+
+        long versionActual = solicitud.getVersion() != null ? solicitud.getVersion() : 0L;
+        if (versionEsperada != null && !versionEsperada.equals(String.valueOf(versionActual))) {
+            throw new VersionDesactualizadaException(id, versionEsperada, versionActual);
+        }
+
+        EstadoSolicitud anterior = solicitud.getEstado();
+        if (!anterior.puedeTransicionarA(destino)) {
+            throw new TransicionInvalidaException(id, anterior, destino);
+        }
+        // El UPDATE ... WHERE version = ? del flush garantiza que el lease comprobado es el vigente
+        if (solicitud.getRevisor() != null && !leaseVigenteDe(solicitud.getRevisor(), solicitud.getLeaseExpira(), revisor)) {
+            throw new SolicitudAsignadaException(id, solicitud.getRevisor(), solicitud.getLeaseExpira());
+        }
+
+        solicitud.setEstado(destino);
+        // Resuelta (o tomada sin reclamo): ya no debe volver a la cola por vencimiento
+        solicitud.setRevisor(null);
+        solicitud.setLeaseExpira(null);
+        if (observaciones != null) {
+            solicitud.setObservaciones(observaciones);
+        }
+        // El flush ejecuta el UPDATE ... WHERE version = ? dentro del intento
+        Solicitud guardada = solicitudRepository.saveAndFlush(solicitud);
+
+        return CambioEstadoResponse.builder()
+                .id(guardada.getId())
+                .patente(guardada.getPatente())
+                .estadoAnterior(anterior)
+                .estado(guardada.getEstado())
+                .version(guardada.getVersion())
+                .fechaActualizacion(guardada.getFechaActualizacion())
+                .build();
+    }
+
+    private List<CambioEstadoResponse> actualizarLote(List<UUID> ids, EstadoSolicitud destino, String observaciones,
+                                                      String revisor) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("origenes", destino.origenes().stream().map(Enum::name).toList())
+                .addValue("destino", destino.name())
+                .addValue("observaciones", observaciones)
+                .addValue("revisor", revisor)
+                .addValue("ahora", LocalDateTime.now());
+
+        return jdbcTemplate.query(SQL_TRANSICION_LOTE, parametros, (rs, rowNum) -> mapearCambio(rs));
+    }
+
+    private List<TransicionLoteResponse.Rechazo> calcularRechazos(List<UUID> ids, List<CambioEstadoResponse> aplicadas,
+                                                                 EstadoSolicitud destino, String revisor) {
+        Set<UUID> pendientes = new LinkedHashSet<>(ids);
+        aplicadas.forEach(cambio -> pendientes.remove(cambio.getId()));
+        if (pendientes.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, String> motivos = new HashMap<>();
+        jdbcTemplate.query("SELECT id, estado, revisor, lease_expira FROM solicitudes WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", pendientes),
+                rs -> {
+                    EstadoSolicitud estado = EstadoSolicitud.valueOf(rs.getString("estado"));
+                    String asignado = rs.getString("revisor");
+                    LocalDateTime leaseExpira = rs.getObject("lease_expira", LocalDateTime.class);
+                    motivos.put(rs.getObject("id", UUID.class), !estado.puedeTransicionarA(destino)
+                            ? String.format("No puede pasar de %s a %s", estado, destino)
+                            : leaseExpira != null && leaseExpira.isAfter(LocalDateTime.now())
+                                    ? String.format("Asignada a %s hasta %s", asignado, leaseExpira)
+                                    : "Lease vencido: debe reclamarse de nuevo");
+                });
+
+        return pendientes.stream()
+                .map(id -> new TransicionLoteResponse.Rechazo(id, motivos.getOrDefault(id, "Solicitud no encontrada")))
+                .toList();
+    }
+
+    private boolean leaseVigenteDe(String asignado, LocalDateTime leaseExpira, String revisor) {
+        return asignado.equals(revisor) && leaseExpira != null && leaseExpira.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Reintenta ante conflictos de concurrencia (versión desactualizada, deadlock, lock timeout)
+     * con backoff exponencial y jitter. Agotados los intentos se propaga el último conflicto.
+     */
+    private <T> T conReintentos(Supplier<T> operacion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return operacion.get();
+            } catch (ConcurrencyFailureException e) {
+                if (intento >= maxIntentos) {
+                    log.warn("Conflicto de concurrencia tras {} intentos: {}", intento, e.getMessage());
+                    throw e;
+                }
+                long tope = backoffInicial.toMillis() << (intento - 1);
+                long espera = ThreadLocalRandom.current().nextLong(tope / 2, tope + 1);
+                log.debug("Conflicto de concurrencia (intento {}), reintentando en {} ms", intento, espera);
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private CambioEstadoResponse mapearCambio(ResultSet rs) throws SQLException {
+        return CambioEstadoResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .patente(rs.getString("patente"))
+                .estadoAnterior(EstadoSolicitud.valueOf(rs.getString("estado_anterior")))
+                .estado(EstadoSolicitud.valueOf(rs.getString("estado")))
+                .version(rs.getLong("version"))
+                .fechaActualizacion(rs.getObject("fecha_actualizacion", LocalDateTime.class))
+                .build();
+    }
+}
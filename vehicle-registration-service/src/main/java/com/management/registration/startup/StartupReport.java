@@ -0,0 +1,96 @@
+package com.management.registration.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Al quedar lista la aplicación, resume en el log cuánto tomó cada fase del arranque:
+ * JVM hasta {@code main}, de {@code main} a {@code ApplicationReadyEvent}, preparación del entorno
+ * y refresh del contexto (con Flyway y JPA por separado). También lista los beans más lentos de crear.
+ * El detalle completo queda en {@code /actuator/startup}.
+ */
+@Component
+@Slf4j
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final int BEANS_MAS_LENTOS = 5;
+
+    // Beans cuya creación representa una fase conocida
+    private static final Map<String, String> FASES_POR_BEAN = Map.of(
+            "flywayInitializer", "flyway",
+            "entityManagerFactory", "jpa");
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        Instant inicioJvm = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        Duration total = Duration.between(inicioJvm, timeline.getStartTime()).plus(event.getTimeTaken());
+
+        Map<String, Duration> fases = new HashMap<>();
+        Map<String, Duration> beans = new HashMap<>();
+        for (StartupTimeline.TimelineEvent evento : timeline.getEvents()) {
+            String nombre = evento.getStartupStep().getName();
+            switch (nombre) {
+                case "spring.boot.application.environment-prepared" -> fases.put("entorno", evento.getDuration());
+                case "spring.context.refresh" -> fases.put("refresh", evento.getDuration());
+                case "spring.beans.instantiate" -> {
+                    String bean = tag(evento.getStartupStep(), "beanName");
+                    if (bean != null) {
+                        // "&entityManagerFactory": la FactoryBean, no el objeto que produce
+                        beans.merge(bean.startsWith("&") ? bean.substring(1) : bean, evento.getDuration(), Duration::plus);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        FASES_POR_BEAN.forEach((bean, fase) -> fases.put(fase, beans.getOrDefault(bean, Duration.ZERO)));
+
+        log.info("Arranque en {} ms - JVM hasta main: {} ms, main hasta ready: {} ms "
+                        + "(entorno: {} ms, refresh del contexto: {} ms, de ellos flyway: {} ms y jpa: {} ms)",
+                total.toMillis(),
+                Duration.between(inicioJvm, timeline.getStartTime()).toMillis(),
+                event.getTimeTaken().toMillis(),
+                ms(fases, "entorno"),
+                ms(fases, "refresh"),
+                ms(fases, "flyway"),
+                ms(fases, "jpa"));
+
+        // Incluye el tiempo de crear sus dependencias
+        log.info("Beans más lentos de crear: {}", beans.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+                .limit(BEANS_MAS_LENTOS)
+                .map(entrada -> entrada.getKey() + "=" + entrada.getValue().toMillis() + " ms")
+                .collect(Collectors.joining(", ")));
+    }
+
+    private static long ms(Map<String, Duration> fases, String fase) {
+        return fases.getOrDefault(fase, Duration.ZERO).toMillis();
+    }
+
+    private static String tag(StartupStep paso, String clave) {
+        for (StartupStep.Tag tag : paso.getTags()) {
+            if (clave.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+}
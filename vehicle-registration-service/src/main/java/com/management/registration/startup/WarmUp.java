@@ -0,0 +1,202 @@
+package com.management.registration.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.registration.config.AwsClientWarmup;
+import com.management.registration.datasource.RoutingContext;
+import com.management.registration.dto.request.CrearSolicitudRequest;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.service.SolicitudService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calienta la aplicación antes de recibir tráfico: validadores, mapeo y Jackson (para el JIT),
+ * varias consultas concurrentes por los pools de escritura y lectura, los clientes de AWS y el camino HTTP completo.
+ * Corre como {@link ApplicationRunner}: mientras dura, el servidor ya escucha pero el estado de readiness sigue
+ * en REFUSING_TRAFFIC ({@code /actuator/health/readiness} responde 503), así el ALB no envía tráfico a una tarea fría.
+ * Acotado por {@code app.warmup.timeout}; si falla o se agota, la aplicación queda lista igual.
+ *
+ * Métrica: {@code app.warmup.duration{resultado=completo|incompleto}}.
+ */
+@Component
+@Slf4j
+public class WarmUp implements ApplicationRunner {
+
+    private static final String CLIENTE_WARMUP = "warm-up";
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final SolicitudService solicitudService;
+    private final AwsClientWarmup awsClientWarmup;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${app.warmup.iterations:500}")
+    private int iteraciones;
+
+    @Value("${app.warmup.db-concurrency:5}")
+    private int concurrenciaDb;
+
+    @Value("${app.warmup.http-requests:30}")
+    private int peticionesHttp;
+
+    @Value("${app.warmup.timeout:30s}")
+    private Duration timeout;
+
+    // Mismo header que usa el limitador para identificar al cliente
+    @Value("${app.limiter.client-header:X-Api-Key}")
+    private String headerCliente;
+
+    public WarmUp(Validator validator, ObjectMapper objectMapper, SolicitudService solicitudService,
+                  AwsClientWarmup awsClientWarmup, Environment environment, MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.solicitudService = solicitudService;
+        this.awsClientWarmup = awsClientWarmup;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!habilitado) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean completo = ejecutar();
+        Duration duracion = Duration.ofNanos(System.nanoTime() - inicio);
+
+        Timer.builder("app.warmup.duration")
+                .tag("resultado", completo ? "completo" : "incompleto")
+                .register(meterRegistry)
+                .record(duracion);
+        log.info("Warm-up {} en {} ms", completo ? "completado" : "incompleto", duracion.toMillis());
+    }
+
+    private boolean ejecutar() {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> tareas = new ArrayList<>();
+        tareas.add(executor.submit(awsClientWarmup::inicializar));
+        tareas.add(executor.submit(this::calentarValidacionYJackson));
+        // Consultas concurrentes: Hikari abre varias conexiones en cada pool, no solo una
+        for (int i = 0; i < concurrenciaDb; i++) {
+            tareas.add(executor.submit(this::calentarBaseDeDatos));
+        }
+
+        long limite = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Future<?> tarea : tareas) {
+                tarea.get(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            // Al final, cuando las conexiones y los clientes ya existen
+            calentarHttp(limite);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Warm-up sin terminar tras {}; se continúa sin esperar", timeout);
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("Error durante el warm-up: {}", e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void calentarValidacionYJackson() {
+        try {
+            String json = objectMapper.writeValueAsString(solicitudDeEjemplo("ABCD12", "12345678-5"));
+            for (int i = 0; i < iteraciones; i++) {
+                CrearSolicitudRequest valida = objectMapper.readValue(json, CrearSolicitudRequest.class);
+                validator.validate(valida);
+                validator.validate(solicitudDeEjemplo("A1", "12345678-0"));
+                objectMapper.writeValueAsString(valida);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Lectura (réplica), lectura forzada al primario, mapeo a DTO y serialización
+    private void calentarBaseDeDatos() {
+        PageRequest pagina = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "fechaCreacion"));
+        try {
+            for (int i = 0; i < Math.max(1, iteraciones / 50); i++) {
+                Page<SolicitudResponse> solicitudes = solicitudService.obtenerSolicitudes(pagina);
+                objectMapper.writeValueAsString(solicitudes.getContent());
+                solicitudService.obtenerVersion(UUID.randomUUID());
+                RoutingContext.enPrimario(() -> solicitudService.obtenerVersion(UUID.randomUUID()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Camino HTTP completo (Tomcat, filtros, interceptores, conversores) contra el propio servidor
+    private void calentarHttp(long limite) throws InterruptedException {
+        String puerto = environment.getProperty("local.server.port");
+        if (puerto == null || peticionesHttp <= 0) {
+            return;
+        }
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest listado = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/v1/solicitudes?size=20"))
+                .header(headerCliente, CLIENTE_WARMUP)
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        for (int i = 0; i < peticionesHttp && System.nanoTime() < limite; i++) {
+            try {
+                http.send(listado, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                log.debug("Petición de warm-up fallida: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static CrearSolicitudRequest solicitudDeEjemplo(String patente, String rut) {
+        return CrearSolicitudRequest.builder()
+                .nombrePropietario("Warm Up")
+                .rut(rut)
+                .email("warmup@example.com")
+                .telefono("+56900000000")
+                .patente(patente)
+                .marca("Toyota")
+                .modelo("Corolla")
+                .anio(2024)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+-- Fuente CDC de eventos (app.eventos.fuente=cdc): publicación lógica de solicitudes leída con pgoutput.
+-- publish_via_partition_root: los cambios de cada partición llegan como cambios de la tabla solicitudes,
+-- así las particiones que crea el job de mantenimiento quedan publicadas sin tocar la publicación.
+CREATE PUBLICATION eventos_solicitudes FOR TABLE solicitudes
+    WITH (publish = 'insert, update', publish_via_partition_root = true);
+
+-- REPLICA IDENTITY FULL (cada UPDATE lleva la fila anterior en el WAL, de donde sale el estado de origen) no se
+-- define aquí: agranda el WAL de cada UPDATE y solo sirve con app.eventos.fuente=cdc. Lo aplica
+-- CdcSolicitudesPublisher al arrancar, en solicitudes y en cada partición (no se hereda).
+
+-- Igual que en V3, y además la partición nueva copia REPLICA IDENTITY FULL de solicitudes si la fuente CDC ya la activó
+CREATE OR REPLACE FUNCTION crear_particion_solicitudes(p_mes DATE) RETURNS TEXT AS $$
+DECLARE
+    v_inicio DATE := date_trunc('month', p_mes)::DATE;
+    v_fin    DATE := (date_trunc('month', p_mes) + INTERVAL '1 month')::DATE;
+    v_nombre TEXT := format('solicitudes_y%sm%s', to_char(v_inicio, 'YYYY'), to_char(v_inicio, 'MM'));
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('crear_particion_solicitudes'));
+    IF to_regclass(v_nombre) IS NOT NULL THEN
+        RETURN v_nombre;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM solicitudes_default WHERE fecha_creacion >= v_inicio AND fecha_creacion < v_fin) THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF solicitudes FOR VALUES FROM (%L) TO (%L) WITH (fillfactor = 85)',
+            v_nombre, v_inicio, v_fin);
+    ELSE
+        EXECUTE format('CREATE TABLE %I (LIKE solicitudes INCLUDING DEFAULTS INCLUDING CONSTRAINTS) '
+                       'WITH (fillfactor = 85)', v_nombre);
+        EXECUTE format(
+                'WITH movidas AS (DELETE FROM solicitudes_default WHERE fecha_creacion >= %L AND fecha_creacion < %L '
+                'RETURNING *) INSERT INTO %I SELECT * FROM movidas',
+                v_inicio, v_fin, v_nombre);
+        EXECUTE format('INSERT INTO solicitud_patentes (patente, solicitud_id, fecha_creacion) '
+                       'SELECT patente, id, fecha_creacion FROM %I', v_nombre);
+        EXECUTE format('ALTER TABLE solicitudes ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       v_nombre, v_inicio, v_fin);
+    END IF;
+    IF (SELECT relreplident FROM pg_class WHERE oid = 'solicitudes'::REGCLASS) = 'f' THEN
+        EXECUTE format('ALTER TABLE %I REPLICA IDENTITY FULL', v_nombre);
+    END IF;
+    RETURN v_nombre;
+END;
+$$ LANGUAGE plpgsql;
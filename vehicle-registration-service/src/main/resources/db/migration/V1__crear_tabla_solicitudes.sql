@@ -0,0 +1,27 @@
+-- Esquema base de solicitudes (equivalente al generado antes por ddl-auto: update).
+-- IF NOT EXISTS permite adoptar bases creadas previamente por Hibernate.
+CREATE TABLE IF NOT EXISTS solicitudes (
+    id                  UUID         NOT NULL,
+    nombre_propietario  VARCHAR(200) NOT NULL,
+    rut                 VARCHAR(12)  NOT NULL,
+    email               VARCHAR(100) NOT NULL,
+    telefono            VARCHAR(20),
+    patente             VARCHAR(10)  NOT NULL,
+    marca               VARCHAR(50)  NOT NULL,
+    modelo              VARCHAR(50)  NOT NULL,
+    anio                INTEGER      NOT NULL,
+    color               VARCHAR(30),
+    tipo_vehiculo       VARCHAR(50),
+    estado              VARCHAR(20)  NOT NULL,
+    observaciones       VARCHAR(500),
+    version             BIGINT,
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    CONSTRAINT solicitudes_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_patente UNIQUE (patente),
+    CONSTRAINT chk_estado CHECK (estado IN ('PENDIENTE', 'EN_REVISION', 'APROBADA', 'RECHAZADA', 'COMPLETADA'))
+);
+
+-- estado, version y fecha_actualizacion se actualizan durante la vida de la solicitud.
+-- Dejar 15% libre por página permite updates HOT (sin tocar índices ni mover la fila).
+ALTER TABLE solicitudes SET (fillfactor = 85);
@@ -0,0 +1,15 @@
+-- Índices para los ordenamientos y filtros expuestos por GET /api/v1/solicitudes.
+-- CONCURRENTLY evita bloquear escrituras; Flyway ejecuta esta migración fuera de transacción.
+
+-- Listado por defecto: ORDER BY fecha_creacion DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_fecha_creacion
+    ON solicitudes (fecha_creacion DESC);
+
+-- Filtro por estado con el mismo orden
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_estado_fecha
+    ON solicitudes (estado, fecha_creacion DESC);
+
+-- Bandeja de trabajo: solo estados no terminales, se mantiene pequeño aunque la tabla crezca
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_pendientes
+    ON solicitudes (fecha_creacion)
+    WHERE estado IN ('PENDIENTE', 'EN_REVISION');
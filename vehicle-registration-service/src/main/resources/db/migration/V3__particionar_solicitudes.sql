@@ -0,0 +1,138 @@
+-- Particionado mensual de solicitudes por fecha_creacion.
+-- En una tabla particionada la PK y las UNIQUE deben incluir la clave de partición,
+-- por eso la unicidad de patente pasa a la tabla de búsqueda solicitud_patentes.
+
+ALTER TABLE solicitudes RENAME TO solicitudes_legacy;
+-- Libera los nombres de índice que se recrean sobre la tabla particionada
+ALTER TABLE solicitudes_legacy DROP CONSTRAINT IF EXISTS uk_patente;
+DROP INDEX IF EXISTS idx_solicitudes_fecha_creacion;
+DROP INDEX IF EXISTS idx_solicitudes_estado_fecha;
+DROP INDEX IF EXISTS idx_solicitudes_pendientes;
+
+CREATE TABLE solicitudes (
+    id                  UUID         NOT NULL,
+    nombre_propietario  VARCHAR(200) NOT NULL,
+    rut                 VARCHAR(12)  NOT NULL,
+    email               VARCHAR(100) NOT NULL,
+    telefono            VARCHAR(20),
+    patente             VARCHAR(10)  NOT NULL,
+    marca               VARCHAR(50)  NOT NULL,
+    modelo              VARCHAR(50)  NOT NULL,
+    anio                INTEGER      NOT NULL,
+    color               VARCHAR(30),
+    tipo_vehiculo       VARCHAR(50),
+    estado              VARCHAR(20)  NOT NULL,
+    observaciones       VARCHAR(500),
+    version             BIGINT,
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    CONSTRAINT pk_solicitudes PRIMARY KEY (id, fecha_creacion),
+    CONSTRAINT chk_estado CHECK (estado IN ('PENDIENTE', 'EN_REVISION', 'APROBADA', 'RECHAZADA', 'COMPLETADA'))
+) PARTITION BY RANGE (fecha_creacion);
+
+-- Red de seguridad para filas fuera de rango (p. ej. fechas más allá de los meses creados por adelantado).
+-- Al crear la partición de un mes, crear_particion_solicitudes mueve allí las filas de ese mes
+CREATE TABLE solicitudes_default PARTITION OF solicitudes DEFAULT;
+
+CREATE INDEX idx_solicitudes_fecha_creacion ON solicitudes (fecha_creacion DESC);
+CREATE INDEX idx_solicitudes_estado_fecha ON solicitudes (estado, fecha_creacion DESC);
+CREATE INDEX idx_solicitudes_pendientes ON solicitudes (fecha_creacion)
+    WHERE estado IN ('PENDIENTE', 'EN_REVISION');
+
+-- Crea (si no existe) la partición del mes que contiene la fecha indicada.
+-- La ejecutan todas las tareas al iniciar y el cron diario: el advisory lock serializa a las que coinciden,
+-- y la que llega segunda ve la partición ya creada.
+-- Si la partición por defecto tiene filas del mes, CREATE TABLE ... PARTITION OF fallaría: se mueven a una
+-- tabla nueva y esta se adjunta como partición. El DELETE libera sus patentes (trigger), que se vuelven a
+-- registrar dentro de la misma transacción.
+CREATE OR REPLACE FUNCTION crear_particion_solicitudes(p_mes DATE) RETURNS TEXT AS $$
+DECLARE
+    v_inicio DATE := date_trunc('month', p_mes)::DATE;
+    v_fin    DATE := (date_trunc('month', p_mes) + INTERVAL '1 month')::DATE;
+    v_nombre TEXT := format('solicitudes_y%sm%s', to_char(v_inicio, 'YYYY'), to_char(v_inicio, 'MM'));
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('crear_particion_solicitudes'));
+    IF to_regclass(v_nombre) IS NOT NULL THEN
+        RETURN v_nombre;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM solicitudes_default WHERE fecha_creacion >= v_inicio AND fecha_creacion < v_fin) THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF solicitudes FOR VALUES FROM (%L) TO (%L) WITH (fillfactor = 85)',
+            v_nombre, v_inicio, v_fin);
+        RETURN v_nombre;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE solicitudes INCLUDING DEFAULTS INCLUDING CONSTRAINTS) WITH (fillfactor = 85)',
+                   v_nombre);
+    EXECUTE format(
+            'WITH movidas AS (DELETE FROM solicitudes_default WHERE fecha_creacion >= %L AND fecha_creacion < %L '
+            'RETURNING *) INSERT INTO %I SELECT * FROM movidas',
+            v_inicio, v_fin, v_nombre);
+    EXECUTE format('INSERT INTO solicitud_patentes (patente, solicitud_id, fecha_creacion) '
+                   'SELECT patente, id, fecha_creacion FROM %I', v_nombre);
+    EXECUTE format('ALTER TABLE solicitudes ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_nombre, v_inicio, v_fin);
+    RETURN v_nombre;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Asegura particiones desde el mes actual hasta p_meses_adelante meses en el futuro
+CREATE OR REPLACE FUNCTION crear_particiones_futuras_solicitudes(p_meses_adelante INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    v_mes INTEGER;
+BEGIN
+    FOR v_mes IN 0..p_meses_adelante LOOP
+        PERFORM crear_particion_solicitudes((CURRENT_DATE + make_interval(months => v_mes))::DATE);
+    END LOOP;
+    RETURN p_meses_adelante + 1;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Particiones para los datos existentes y los próximos meses
+SELECT crear_particion_solicitudes(mes::DATE)
+FROM generate_series(
+        date_trunc('month', COALESCE((SELECT min(fecha_creacion) FROM solicitudes_legacy), CURRENT_DATE)),
+        date_trunc('month', CURRENT_DATE),
+        INTERVAL '1 month') AS mes;
+SELECT crear_particiones_futuras_solicitudes(3);
+
+-- Unicidad global de patente (mantiene el nombre uk_patente que reconoce el manejador de errores)
+CREATE TABLE solicitud_patentes (
+    patente        VARCHAR(10)  NOT NULL,
+    solicitud_id   UUID         NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_patente PRIMARY KEY (patente),
+    CONSTRAINT uk_patente_solicitud UNIQUE (solicitud_id)
+);
+
+-- Los triggers mantienen la tabla de búsqueda también ante SQL manual o cargas masivas
+CREATE OR REPLACE FUNCTION registrar_patente_solicitud() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO solicitud_patentes (patente, solicitud_id, fecha_creacion)
+    VALUES (NEW.patente, NEW.id, NEW.fecha_creacion);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION liberar_patente_solicitud() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM solicitud_patentes WHERE solicitud_id = OLD.id;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_solicitudes_registrar_patente
+    AFTER INSERT ON solicitudes
+    FOR EACH ROW EXECUTE FUNCTION registrar_patente_solicitud();
+
+CREATE TRIGGER trg_solicitudes_liberar_patente
+    AFTER DELETE ON solicitudes
+    FOR EACH ROW EXECUTE FUNCTION liberar_patente_solicitud();
+
+INSERT INTO solicitudes SELECT
+    id, nombre_propietario, rut, email, telefono, patente, marca, modelo, anio, color,
+    tipo_vehiculo, estado, observaciones, version, fecha_creacion, fecha_actualizacion
+FROM solicitudes_legacy;
+
+DROP TABLE solicitudes_legacy;
@@ -0,0 +1,29 @@
+-- Índice de solicitudes archivadas en S3 (NDJSON comprimido en bloques gzip).
+-- Permite resolver por ID en qué objeto y en qué bloque (s3_offset, s3_longitud) quedó cada solicitud
+-- sin recorrer el bucket ni descargar el objeto entero. Sin bloque: lote reservado, aún no subido.
+CREATE TABLE solicitudes_archivadas (
+    solicitud_id    UUID         NOT NULL,
+    patente         VARCHAR(10)  NOT NULL,
+    fecha_creacion  TIMESTAMP(6) NOT NULL,
+    s3_key          VARCHAR(300) NOT NULL,
+    fecha_archivado TIMESTAMP(6) NOT NULL,
+    s3_offset       BIGINT,
+    s3_longitud     INTEGER,
+    CONSTRAINT pk_solicitudes_archivadas PRIMARY KEY (solicitud_id)
+);
+
+CREATE INDEX idx_solicitudes_archivadas_s3_key ON solicitudes_archivadas (s3_key);
+
+-- Candidatas a archivar: estados terminales ordenados por última actualización
+CREATE INDEX idx_solicitudes_terminales ON solicitudes (fecha_actualizacion)
+    WHERE estado IN ('COMPLETADA', 'RECHAZADA');
+
+-- Una solicitud archivada sigue ocupando su patente
+CREATE OR REPLACE FUNCTION liberar_patente_solicitud() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM solicitud_patentes p
+    WHERE p.solicitud_id = OLD.id
+      AND NOT EXISTS (SELECT 1 FROM solicitudes_archivadas a WHERE a.solicitud_id = OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,22 @@
+-- Publica cada cambio de estado por LISTEN/NOTIFY (canal solicitud_estado).
+-- Los nodos de la aplicación escuchan una sola conexión y reenvían a sus suscriptores SSE,
+-- en vez de que cada cliente consulte la solicitud periódicamente.
+CREATE OR REPLACE FUNCTION notificar_cambio_estado_solicitud() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('solicitud_estado', json_build_object(
+        'id', NEW.id,
+        'patente', NEW.patente,
+        'estadoAnterior', OLD.estado,
+        'estado', NEW.estado,
+        'version', NEW.version,
+        'fechaActualizacion', NEW.fecha_actualizacion
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_solicitudes_notificar_estado
+    AFTER UPDATE OF estado ON solicitudes
+    FOR EACH ROW
+    WHEN (OLD.estado IS DISTINCT FROM NEW.estado)
+    EXECUTE FUNCTION notificar_cambio_estado_solicitud();
@@ -0,0 +1,10 @@
+-- Cola de trabajo para revisores: cada solicitud en revisión queda asignada (lease) hasta lease_expira.
+ALTER TABLE solicitudes ADD COLUMN revisor VARCHAR(100);
+ALTER TABLE solicitudes ADD COLUMN lease_expira TIMESTAMP(6);
+
+-- Las próximas a reclamar (PENDIENTE por fecha_creacion) salen de idx_solicitudes_pendientes (V3), cuyo predicado
+-- ya las incluye; un índice solo para PENDIENTE lo duplicaría en cada partición.
+
+-- Leases vencidos a devolver a la cola
+CREATE INDEX idx_solicitudes_lease ON solicitudes (lease_expira)
+    WHERE estado = 'EN_REVISION' AND lease_expira IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Eventos que no pudieron publicarse en SQS (breaker abierto, sin cupo o error de envío).
+-- Se reenvían en orden de id cuando SQS vuelve a estar disponible y se borran al confirmarse.
+CREATE TABLE eventos_pendientes (
+    id             BIGSERIAL PRIMARY KEY,
+    cuerpo         TEXT         NOT NULL,
+    motivo         VARCHAR(255),
+    fecha_creacion TIMESTAMP(6) NOT NULL DEFAULT now()
+);
@@ -0,0 +1,6 @@
+-- Formato del cuerpo (atributo content-type del mensaje SQS) y cantidad de eventos que lleva,
+-- para reenviar cada mensaje con los mismos atributos con que se intentó publicar.
+-- Las filas existentes son eventos sueltos en JSON.
+ALTER TABLE eventos_pendientes
+    ADD COLUMN tipo_contenido VARCHAR(100) NOT NULL DEFAULT 'application/json',
+    ADD COLUMN eventos        INTEGER      NOT NULL DEFAULT 1;
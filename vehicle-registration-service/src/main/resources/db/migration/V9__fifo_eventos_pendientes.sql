@@ -0,0 +1,8 @@
+-- Grupo y clave de deduplicación de los mensajes para colas FIFO (null en colas estándar).
+-- Mientras un grupo tenga mensajes pendientes, los nuevos de ese grupo se encolan detrás
+-- en lugar de publicarse directo, para no adelantarlos.
+ALTER TABLE eventos_pendientes
+    ADD COLUMN grupo         VARCHAR(128),
+    ADD COLUMN deduplicacion VARCHAR(128);
+
+CREATE INDEX idx_eventos_pendientes_grupo ON eventos_pendientes (grupo) WHERE grupo IS NOT NULL;
@@ -0,0 +1,80 @@
+package com.management.registration.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("prueba", meterRegistry);
+
+    @Test
+    @DisplayName("Debe compartir una sola ejecución entre llamadas concurrentes con la misma clave")
+    void ejecutar_LlamadasConcurrentes_DebeEjecutarUnaVez() throws Exception {
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> primera = executor.submit(() -> singleFlight.ejecutar("id", () -> {
+                enCurso.countDown();
+                esperar(liberar);
+                return ejecuciones.incrementAndGet();
+            }));
+            enCurso.await();
+
+            List<Future<Integer>> seguidoras = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                seguidoras.add(executor.submit(() -> singleFlight.ejecutar("id", ejecuciones::incrementAndGet)));
+            }
+            while (meterRegistry.get("app.singleflight.calls").tag("resultado", "compartida").counter().count() < 7) {
+                Thread.onSpinWait();
+            }
+            liberar.countDown();
+
+            assertEquals(1, primera.get());
+            for (Future<Integer> seguidora : seguidoras) {
+                assertEquals(1, seguidora.get());
+            }
+            assertEquals(1, ejecuciones.get());
+            assertEquals(7.0 / 8, singleFlight.getRatioColapso(), 1e-9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("No debe cachear: al terminar, la siguiente llamada vuelve a ejecutar")
+    void ejecutar_LlamadasSecuenciales_DebeEjecutarCadaVez() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        singleFlight.ejecutar("id", ejecuciones::incrementAndGet);
+        assertThrows(IllegalStateException.class, () -> singleFlight.ejecutar("id", () -> {
+            throw new IllegalStateException("falla");
+        }));
+        singleFlight.ejecutar("id", ejecuciones::incrementAndGet);
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(0.0, singleFlight.getRatioColapso());
+        assertEquals(0.0, meterRegistry.get("app.singleflight.in-flight").gauge().value());
+    }
+
+    private void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.management.registration.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.management.registration.dto.request.CrearSolicitudRequest;
+import com.management.registration.pagination.Cursor;
 import com.management.registration.repository.SolicitudRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +12,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -51,6 +61,9 @@ class SolicitudControllerIntegrationTest {
         @Autowired
         private SolicitudRepository solicitudRepository;
 
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
         private CrearSolicitudRequest requestValido;
 
         @BeforeEach
@@ -168,6 +181,217 @@ class SolicitudControllerIntegrationTest {
                     .andExpect(jsonPath("$.patente").value("ABCD12"));
         }
 
+        @Test
+        @DisplayName("GET /api/v1/solicitudes/{id} - Debe retornar 304 si el ETag no cambió")
+        void obtenerSolicitudPorId_EtagVigente_DebeRetornar304() throws Exception {
+            String response = mockMvc.perform(post("/api/v1/solicitudes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requestValido)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            String id = objectMapper.readTree(response).get("id").asText();
+
+            String etag = mockMvc.perform(get("/api/v1/solicitudes/" + id))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn()
+                    .getResponse()
+                    .getHeader("ETag");
+
+            mockMvc.perform(get("/api/v1/solicitudes/" + id).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/solicitudes/reclamos - Revisores distintos reciben solicitudes distintas")
+        void reclamarSolicitudes_DosRevisores_NoDebenRepetirse() throws Exception {
+            requestValido.setRut("12345678-5");
+            for (String patente : new String[]{"ABCD12", "BCDF34"}) {
+                requestValido.setPatente(patente);
+                mockMvc.perform(post("/api/v1/solicitudes")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(requestValido)))
+                        .andExpect(status().isCreated());
+            }
+
+            String primero = mockMvc.perform(post("/api/v1/solicitudes/reclamos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"revisor\":\"ana\",\"cantidad\":1}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.solicitudes", hasSize(1)))
+                    .andExpect(jsonPath("$.solicitudes[0].estado").value("EN_REVISION"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            String idPrimero = objectMapper.readTree(primero).at("/solicitudes/0/id").asText();
+
+            mockMvc.perform(post("/api/v1/solicitudes/reclamos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"revisor\":\"luis\",\"cantidad\":5}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.solicitudes", hasSize(1)))
+                    .andExpect(jsonPath("$.solicitudes[0].id").value(not(idPrimero)));
+
+            // Solo quien la reclamó puede resolverla mientras el lease esté vigente
+            mockMvc.perform(patch("/api/v1/solicitudes/" + idPrimero + "/estado")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"estado\":\"APROBADA\",\"revisor\":\"luis\"}"))
+                    .andExpect(status().isConflict());
+            mockMvc.perform(post("/api/v1/solicitudes/transiciones")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[\"" + idPrimero + "\"],\"estado\":\"APROBADA\",\"revisor\":\"luis\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.aplicadas", hasSize(0)))
+                    .andExpect(jsonPath("$.rechazadas[0].motivo").value(startsWith("Asignada a ana")));
+            mockMvc.perform(patch("/api/v1/solicitudes/" + idPrimero + "/estado")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"estado\":\"APROBADA\",\"revisor\":\"ana\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.estado").value("APROBADA"));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/solicitudes/transiciones - Debe aplicar las válidas y rechazar el resto")
+        void cambiarEstadoEnLote_Mixto_DebeAplicarValidasYRechazarResto() throws Exception {
+            requestValido.setRut("12345678-5");
+            String[] ids = new String[3];
+            String[] patentes = {"ABCD12", "BCDF34", "CDFG56"};
+            for (int i = 0; i < patentes.length; i++) {
+                requestValido.setPatente(patentes[i]);
+                String response = mockMvc.perform(post("/api/v1/solicitudes")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(requestValido)))
+                        .andExpect(status().isCreated())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+                ids[i] = objectMapper.readTree(response).get("id").asText();
+            }
+            String inexistente = "123e4567-e89b-12d3-a456-426614174000";
+
+            // Las dos primeras pasan a revisión; el duplicado se ignora y la inexistente se rechaza
+            mockMvc.perform(post("/api/v1/solicitudes/transiciones")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.format("{\"ids\":[\"%s\",\"%s\",\"%s\",\"%s\"],\"estado\":\"EN_REVISION\"}",
+                                    ids[0], ids[1], inexistente, ids[0])))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.aplicadas", hasSize(2)))
+                    .andExpect(jsonPath("$.aplicadas[*].id", containsInAnyOrder(ids[0], ids[1])))
+                    .andExpect(jsonPath("$.aplicadas[*].estadoAnterior", everyItem(is("PENDIENTE"))))
+                    .andExpect(jsonPath("$.aplicadas[*].version", everyItem(is(1))))
+                    .andExpect(jsonPath("$.rechazadas", hasSize(1)))
+                    .andExpect(jsonPath("$.rechazadas[0].id").value(inexistente))
+                    .andExpect(jsonPath("$.rechazadas[0].motivo").value("Solicitud no encontrada"));
+
+            // Solo la que está en revisión puede aprobarse; la pendiente se rechaza con su estado actual
+            mockMvc.perform(post("/api/v1/solicitudes/transiciones")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.format("{\"ids\":[\"%s\",\"%s\"],\"estado\":\"APROBADA\",\"observaciones\":\"ok\"}",
+                                    ids[0], ids[2])))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.aplicadas", hasSize(1)))
+                    .andExpect(jsonPath("$.aplicadas[0].id").value(ids[0]))
+                    .andExpect(jsonPath("$.aplicadas[0].estado").value("APROBADA"))
+                    .andExpect(jsonPath("$.rechazadas", hasSize(1)))
+                    .andExpect(jsonPath("$.rechazadas[0].id").value(ids[2]))
+                    .andExpect(jsonPath("$.rechazadas[0].motivo").value("No puede pasar de PENDIENTE a APROBADA"));
+
+            mockMvc.perform(get("/api/v1/solicitudes/" + ids[0]))
+                    .andExpect(jsonPath("$.estado").value("APROBADA"))
+                    .andExpect(jsonPath("$.observaciones").value("ok"));
+            mockMvc.perform(get("/api/v1/solicitudes/" + ids[2]))
+                    .andExpect(jsonPath("$.estado").value("PENDIENTE"));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/solicitudes/busqueda - Debe encontrar con errores de tipeo y ordenar por relevancia")
+        void buscarSolicitudes_ConErrorDeTipeo_DebeOrdenarPorRelevancia() throws Exception {
+            String exacta = crearSolicitud("Juan Gonzalez", "BCDF12");
+            String parecida = crearSolicitud("Pedro Gonzales", "CDFG34");
+            crearSolicitud("Ana Lopez", "DFGH56");
+
+            String response = mockMvc.perform(get("/api/v1/solicitudes/busqueda").param("q", "Gonzalez"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[*].id", contains(exacta, parecida)))
+                    .andExpect(jsonPath("$.hasNext").value(false))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            JsonNode items = objectMapper.readTree(response).get("items");
+            assertTrue(items.get(0).get("relevancia").asDouble() > items.get(1).get("relevancia").asDouble());
+
+            // Patente con un dígito mal escrito
+            mockMvc.perform(get("/api/v1/solicitudes/busqueda").param("q", "BCDF13"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(exacta));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/solicitudes/busqueda - Las páginas no deben repetir ni saltarse resultados con relevancia empatada")
+        void buscarSolicitudes_Paginas_SinDuplicadosNiHuecos() throws Exception {
+            List<String> creadas = new ArrayList<>();
+            for (String patente : new String[]{"BCDF10", "BCDF11", "BCDF12", "BCDF13", "BCDF14"}) {
+                creadas.add(crearSolicitud("Flota Mella Transportes", patente));
+            }
+
+            List<String> todas = idsDePagina(get("/api/v1/solicitudes/busqueda").param("q", "Mella").param("size", "10"));
+            List<String> paginadas = idsPorCursor(() -> get("/api/v1/solicitudes/busqueda").param("q", "Mella").param("size", "2"));
+
+            assertEquals(todas, paginadas);
+            assertEquals(Set.copyOf(creadas), Set.copyOf(paginadas));
+            assertEquals(creadas.size(), paginadas.size());
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/solicitudes/propietarios/{rut} - Debe aceptar el RUT con o sin puntos y guion")
+        void obtenerSolicitudesPorRut_ConOSinFormato_DebeRetornarLasMismas() throws Exception {
+            String primera = crearSolicitud("Juan Pérez", "12345678-5", "BCDF12");
+            String segunda = crearSolicitud("Juan Pérez", "12.345.678-5", "CDFG34");
+            crearSolicitud("Ana Lopez", "11111111-1", "DFGH56");
+
+            for (String rut : new String[]{"12.345.678-5", "12345678-5", "123456785"}) {
+                List<String> ids = idsDePagina(get("/api/v1/solicitudes/propietarios/" + rut));
+                assertEquals(Set.of(primera, segunda), Set.copyOf(ids), rut);
+                assertEquals(2, ids.size(), rut);
+            }
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/solicitudes/propietarios/{rut} - Con fecha de creación empatada el id debe desempatar entre páginas")
+        void obtenerSolicitudesPorRut_FechaEmpatada_SinDuplicadosNiHuecos() throws Exception {
+            List<String> creadas = new ArrayList<>();
+            for (String patente : new String[]{"BCDF10", "BCDF11", "BCDF12", "BCDF13", "BCDF14"}) {
+                creadas.add(crearSolicitud("Juan Pérez", patente));
+            }
+            jdbcTemplate.update("UPDATE solicitudes SET fecha_creacion = date_trunc('second', now()) WHERE rut = ?",
+                    "123456785");
+
+            List<String> todas = idsDePagina(get("/api/v1/solicitudes/propietarios/12345678-5").param("size", "10"));
+            List<String> paginadas = idsPorCursor(() -> get("/api/v1/solicitudes/propietarios/12345678-5").param("size", "2"));
+
+            assertEquals(todas, paginadas);
+            assertEquals(Set.copyOf(creadas), Set.copyOf(paginadas));
+            assertEquals(creadas.size(), paginadas.size());
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/solicitudes/propietarios/{rut} - Debe retornar 400 con un cursor inválido")
+        void obtenerSolicitudesPorRut_CursorInvalido_DebeRetornar400() throws Exception {
+            crearSolicitud("Juan Pérez", "BCDF12");
+
+            // Texto que no es un cursor, y un cursor bien formado cuyos valores no son (fecha, id)
+            for (String cursor : new String[]{"no-es-un-cursor", Cursor.codificar("ayer", "BCDF12")}) {
+                mockMvc.perform(get("/api/v1/solicitudes/propietarios/12345678-5").param("cursor", cursor))
+                        .andExpect(status().isBadRequest())
+                        .andExpect(jsonPath("$.status").value(400));
+            }
+        }
+
         @Test
         @DisplayName("GET /api/v1/solicitudes/{id} - Debe retornar 404 con ID inexistente")
         void obtenerSolicitudPorId_IdInexistente_DebeRetornar404() throws Exception {
@@ -200,4 +424,51 @@ class SolicitudControllerIntegrationTest {
                     .andExpect(jsonPath("$.fileKey").exists())
                     .andExpect(jsonPath("$.expiresAt").exists());
         }
+
+        private String crearSolicitud(String nombre, String patente) throws Exception {
+            return crearSolicitud(nombre, "12345678-5", patente);
+        }
+
+        private String crearSolicitud(String nombre, String rut, String patente) throws Exception {
+            requestValido.setNombrePropietario(nombre);
+            requestValido.setRut(rut);
+            requestValido.setPatente(patente);
+            String response = mockMvc.perform(post("/api/v1/solicitudes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requestValido)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            return objectMapper.readTree(response).get("id").asText();
+        }
+
+        private List<String> idsDePagina(MockHttpServletRequestBuilder request) throws Exception {
+            String response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hasNext").value(false))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            List<String> ids = new ArrayList<>();
+            objectMapper.readTree(response).get("items").forEach(item -> ids.add(item.get("id").asText()));
+            return ids;
+        }
+
+        // Recorre las páginas siguiendo nextCursor hasta la última
+        private List<String> idsPorCursor(Supplier<MockHttpServletRequestBuilder> pagina) throws Exception {
+            List<String> ids = new ArrayList<>();
+            String cursor = null;
+            do {
+                MockHttpServletRequestBuilder request = pagina.get();
+                JsonNode respuesta = objectMapper.readTree(mockMvc.perform(cursor == null ? request : request.param("cursor", cursor))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString());
+                respuesta.get("items").forEach(item -> ids.add(item.get("id").asText()));
+                cursor = respuesta.get("hasNext").asBoolean() ? respuesta.get("nextCursor").asText() : null;
+            } while (cursor != null);
+            return ids;
+        }
     }
@@ -0,0 +1,91 @@
+package com.management.registration.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePoolSizerTest {
+
+    private static final int MIN = 5;
+    private static final int MAX = 30;
+
+    /**
+     * Modelo simple de la carga: {@code demanda} peticiones concurrentes necesitan conexión
+     * y la BD se degrada linealmente pasado el punto de saturación {@code rodilla}.
+     */
+    private static List<Integer> simular(AdaptivePoolSizer sizer, int inicial, int demanda, int rodilla, int intervalos) {
+        List<Integer> tamanos = new ArrayList<>();
+        int tamano = inicial;
+        for (int i = 0; i < intervalos; i++) {
+            int activas = Math.min(demanda, tamano);
+            int esperando = Math.max(0, demanda - tamano);
+            double latencia = activas <= rodilla ? 20 : 20 + (activas - rodilla) * 60.0;
+            double espera = esperando > 0 ? latencia * esperando / tamano : 0;
+
+            tamano = sizer.decidir(new PoolSnapshot(activas, tamano - activas, tamano, esperando, espera, latencia))
+                    .tamano();
+            tamanos.add(tamano);
+        }
+        return tamanos;
+    }
+
+    private static AdaptivePoolSizer nuevoSizer() {
+        return new AdaptivePoolSizer(MIN, MAX, 50, 200, 0.3, 3);
+    }
+
+    @Test
+    @DisplayName("Debe crecer hasta cubrir la demanda cuando la BD no está saturada")
+    void demandaModerada_DebeConvergerALaDemanda() {
+        List<Integer> tamanos = simular(nuevoSizer(), 10, 18, 25, 20);
+
+        assertEquals(18, tamanos.get(tamanos.size() - 1));
+        tamanos.subList(10, tamanos.size()).forEach(t -> assertEquals(18, t));
+    }
+
+    @Test
+    @DisplayName("Debe oscilar en torno al punto de saturación de la BD sin sobrepasar el máximo")
+    void demandaExcesiva_DebeAcotarseAlPuntoDeSaturacion() {
+        List<Integer> tamanos = simular(nuevoSizer(), 10, 60, 20, 60);
+
+        List<Integer> estables = tamanos.subList(20, tamanos.size());
+        estables.forEach(t -> assertTrue(t >= 15 && t <= 25, "Tamaño fuera de banda: " + t));
+        double media = estables.stream().mapToInt(Integer::intValue).average().orElseThrow();
+        assertEquals(20, media, 3);
+        assertTrue(tamanos.stream().allMatch(t -> t <= MAX));
+    }
+
+    @Test
+    @DisplayName("Debe reducir hasta el mínimo cuando la carga desaparece")
+    void cargaBaja_DebeReducirAlMinimo() {
+        AdaptivePoolSizer sizer = nuevoSizer();
+        simular(sizer, 10, 25, 30, 10);
+
+        List<Integer> tamanos = simular(sizer, 25, 1, 30, 100);
+
+        assertEquals(MIN, tamanos.get(tamanos.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Tras un pico de latencia pasajero debe volver a crecer en proporción a la cola")
+    void picoPasajero_DebeRecuperarCrecimientoProporcional() {
+        AdaptivePoolSizer sizer = nuevoSizer();
+        assertEquals(15, sizer.decidir(new PoolSnapshot(20, 0, 20, 10, 500, 500)).tamano());
+
+        // La BD se recupera y la demanda sigue muy por encima del pool
+        List<Integer> tamanos = simular(sizer, 15, 60, 100, 10);
+
+        // De a una conexión hasta pasar el tamaño que saturó; después vuelve el paso proporcional
+        assertEquals(List.of(16, 17, 18, 19, 20, 21, 27, 30), tamanos.subList(0, 8));
+        assertEquals(MAX, tamanos.get(tamanos.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar límites inválidos")
+    void limitesInvalidos_DebeLanzarExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePoolSizer(10, 5, 50, 200, 0.3, 3));
+    }
+}
@@ -0,0 +1,43 @@
+package com.management.registration.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Transacción de escritura debe ir al primario")
+    void transaccionEscritura_DebeIrAlPrimario() {
+        assertEquals(DataSourceRoute.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Transacción de solo lectura debe ir a la réplica")
+    void transaccionSoloLectura_DebeIrALaReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceRoute.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Lectura forzada al primario debe ignorar el flag readOnly")
+    void lecturaForzada_DebeIrAlPrimario() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object ruta = RoutingContext.enPrimario(routing::determineCurrentLookupKey);
+
+        assertEquals(DataSourceRoute.PRIMARY, ruta);
+        assertEquals(DataSourceRoute.REPLICA, routing.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,202 @@
+package com.management.registration.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lotes y confirmación del LSN al slot, con mensajes pgoutput armados a mano
+ */
+class CdcSolicitudesPublisherTest {
+
+    private static final int OID = 16385;
+    private static final String[] COLUMNAS = {"id", "patente", "nombre_propietario", "rut", "email",
+            "estado", "version", "fecha_creacion", "fecha_actualizacion"};
+
+    private EventPublisher eventPublisher;
+    private CdcSolicitudesPublisher publisher;
+    private PGReplicationStream stream;
+    private final Deque<ByteBuffer> mensajes = new ArrayDeque<>();
+    private final List<Long> confirmados = new ArrayList<>();
+    private LogSequenceNumber ultimoRecibido = LogSequenceNumber.INVALID_LSN;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        eventPublisher = mock(EventPublisher.class);
+        publisher = new CdcSolicitudesPublisher(eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(publisher, "maxPorLote", 2);
+        ReflectionTestUtils.setField(publisher, "espera", Duration.ofHours(1));
+        ReflectionTestUtils.setField(publisher, "activo", true);
+
+        stream = mock(PGReplicationStream.class);
+        // Entrega los mensajes armados y, ya sin mensajes, unas vueltas en vacío antes de detenerse
+        int[] vacios = {0};
+        when(stream.readPending()).thenAnswer(inv -> {
+            if (!mensajes.isEmpty()) {
+                return mensajes.poll();
+            }
+            if (++vacios[0] >= 3) {
+                ReflectionTestUtils.setField(publisher, "activo", false);
+            }
+            return null;
+        });
+        when(stream.getLastReceiveLSN()).thenAnswer(inv -> ultimoRecibido);
+        when(stream.getLastFlushedLSN()).thenAnswer(inv -> confirmados.isEmpty()
+                ? LogSequenceNumber.INVALID_LSN : LogSequenceNumber.valueOf(confirmados.getLast()));
+        doAnswer(inv -> confirmados.add(inv.<LogSequenceNumber>getArgument(0).asLong()))
+                .when(stream).setFlushedLSN(any());
+    }
+
+    @Test
+    @DisplayName("Una transacción grande debe publicarse por partes y confirmar solo hasta el último COMMIT")
+    void consumir_TransaccionGrande_DebeConfirmarSoloHastaElCommit() throws Exception {
+        mensajes.add(relacion());
+        mensajes.add(inicio());
+        mensajes.add(insert(UUID.randomUUID(), "2026-10-19 12:00:00"));
+        mensajes.add(insert(UUID.randomUUID(), "2026-10-19 12:00:00"));
+        mensajes.add(insert(UUID.randomUUID(), "2026-10-19 12:00:00"));
+        mensajes.add(commit(0x100));
+        // La siguiente transacción llena un lote antes de su COMMIT
+        mensajes.add(inicio());
+        mensajes.add(insert(UUID.randomUUID(), "2026-10-19 12:00:00"));
+        ultimoRecibido = LogSequenceNumber.valueOf(0x180);
+
+        publisher.consumir(stream);
+
+        ArgumentCaptor<List<Object>> lotes = lotes();
+        verify(eventPublisher, times(2)).publicarLote(lotes.capture());
+        assertEquals(List.of(2, 2), lotes.getAllValues().stream().map(List::size).toList());
+        // La primera parte se publicó sin COMMIT; la segunda confirma el de la primera transacción y no más,
+        // aunque el stream ya recibió hasta 0x180 (la segunda transacción sigue abierta)
+        assertEquals(List.of(0x100L), confirmados);
+        verify(stream, times(1)).forceUpdateStatus();
+    }
+
+    @Test
+    @DisplayName("Sin eventos pendientes debe confirmar los COMMIT y, en reposo, lo recibido por keepalive")
+    void consumir_EnReposo_DebeConfirmarLoRecibido() throws Exception {
+        mensajes.add(inicio());
+        mensajes.add(commit(0x200));
+        ultimoRecibido = LogSequenceNumber.valueOf(0x900);
+
+        publisher.consumir(stream);
+
+        verify(eventPublisher, never()).publicarLote(any());
+        assertEquals(List.of(0x200L, 0x900L), confirmados);
+    }
+
+    @Test
+    @DisplayName("Una fila que no se puede convertir en evento debe descartarse sin detener la lectura")
+    void consumir_FilaInvalida_DebeDescartarlaYSeguir() throws Exception {
+        UUID valida = UUID.randomUUID();
+        ReflectionTestUtils.setField(publisher, "maxPorLote", 1);
+        mensajes.add(relacion());
+        mensajes.add(inicio());
+        mensajes.add(insert(UUID.randomUUID(), "no es una fecha"));
+        mensajes.add(insert(valida, "2026-10-19 12:00:00"));
+        mensajes.add(commit(0x300));
+
+        publisher.consumir(stream);
+
+        ArgumentCaptor<List<Object>> lotes = lotes();
+        verify(eventPublisher).publicarLote(lotes.capture());
+        assertEquals(valida, assertInstanceOf(SolicitudCreadaEvent.class, lotes.getValue().getFirst()).getSolicitudId());
+        assertEquals(List.of(0x300L), confirmados);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Object>> lotes() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private interface Escritura {
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+
+    private static ByteBuffer mensaje(char tipo, Escritura cuerpo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream salida = new DataOutputStream(bytes);
+        salida.writeByte(tipo);
+        cuerpo.escribir(salida);
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer inicio() throws IOException {
+        return mensaje('B', salida -> {
+            salida.writeLong(0);
+            salida.writeLong(814_000_000_000_000L);
+            salida.writeInt(750);
+        });
+    }
+
+    private static ByteBuffer commit(long lsnFin) throws IOException {
+        return mensaje('C', salida -> {
+            salida.writeByte(0);
+            salida.writeLong(lsnFin - 0x30);
+            salida.writeLong(lsnFin);
+            salida.writeLong(814_000_000_000_000L);
+        });
+    }
+
+    private static ByteBuffer relacion() throws IOException {
+        return mensaje('R', salida -> {
+            salida.writeInt(OID);
+            texto(salida, "public");
+            texto(salida, "solicitudes");
+            salida.writeByte('f');
+            salida.writeShort(COLUMNAS.length);
+            for (String columna : COLUMNAS) {
+                salida.writeByte(1);
+                texto(salida, columna);
+                salida.writeInt(25);
+                salida.writeInt(-1);
+            }
+        });
+    }
+
+    private static ByteBuffer insert(UUID id, String fechaCreacion) throws IOException {
+        return mensaje('I', salida -> {
+            salida.writeInt(OID);
+            salida.writeByte('N');
+            String[] valores = {id.toString(), "BCDF12", "Ana", "12345678-5", null,
+                    "PENDIENTE", "0", fechaCreacion, null};
+            salida.writeShort(valores.length);
+            for (String valor : valores) {
+                if (valor == null) {
+                    salida.writeByte('n');
+                } else {
+                    byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+                    salida.writeByte('t');
+                    salida.writeInt(bytes.length);
+                    salida.write(bytes);
+                }
+            }
+        });
+    }
+
+    private static void texto(DataOutputStream salida, String valor) throws IOException {
+        salida.write(valor.getBytes(StandardCharsets.UTF_8));
+        salida.writeByte(0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.management.registration.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColaPublicacionTest {
+
+    private record Evento(String clave, int secuencia) {
+    }
+
+    @Test
+    @DisplayName("Debe publicar los eventos de cada clave en orden y agrupar claves distintas en un lote")
+    void encolar_OrdenPorClaveYLotes() throws Exception {
+        Map<String, List<Integer>> publicados = new ConcurrentHashMap<>();
+        List<Integer> tamanosLote = new CopyOnWriteArrayList<>();
+        ColaPublicacion cola = new ColaPublicacion(4, 10_000, 50, Duration.ZERO, Duration.ZERO,
+                evento -> ((Evento) evento).clave(), lote -> {
+                    tamanosLote.add(lote.size());
+                    lote.forEach(evento -> publicados
+                            .computeIfAbsent(((Evento) evento).clave(), k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(((Evento) evento).secuencia()));
+                });
+
+        // Cada clave la produce un solo hilo (como las transiciones de una solicitud, que ya salen ordenadas)
+        ExecutorService productores = Executors.newFixedThreadPool(8);
+        for (int p = 0; p < 8; p++) {
+            int productor = p;
+            productores.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    assertTrue(cola.encolar(new Evento("patente-" + productor + "-" + (i % 5), i)));
+                }
+            });
+        }
+        productores.shutdown();
+        assertTrue(productores.awaitTermination(10, TimeUnit.SECONDS));
+        cola.detener(Duration.ofSeconds(10));
+
+        assertEquals(40, publicados.size());
+        publicados.values().forEach(secuencias -> {
+            assertEquals(100, secuencias.size());
+            List<Integer> ordenadas = new ArrayList<>(secuencias);
+            Collections.sort(ordenadas);
+            assertEquals(ordenadas, secuencias);
+        });
+        assertTrue(tamanosLote.stream().allMatch(tamano -> tamano <= 50));
+        assertTrue(tamanosLote.stream().anyMatch(tamano -> tamano > 1), "Con carga los lotes deberían agrupar");
+    }
+
+    @Test
+    @DisplayName("Con la cola del hilo llena debe esperar, desbordar sin adelantar a los encolados y publicar todo al detenerse")
+    void encolar_ColaLlena() throws Exception {
+        CountDownLatch bloqueo = new CountDownLatch(1);
+        List<Object> publicados = new CopyOnWriteArrayList<>();
+        ColaPublicacion cola = new ColaPublicacion(1, 2, 1, Duration.ZERO, Duration.ofMillis(50), evento -> "x", lote -> {
+            try {
+                bloqueo.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            publicados.addAll(lote);
+        });
+
+        assertTrue(cola.encolar(1));
+        // El hilo toma el primero y queda bloqueado publicándolo: caben dos más
+        while (cola.pendientes() > 0) {
+            Thread.onSpinWait();
+        }
+        assertTrue(cola.encolar(2));
+        assertTrue(cola.encolar(3));
+        long inicio = System.nanoTime();
+        assertTrue(cola.encolar(4));
+        assertTrue(System.nanoTime() - inicio >= TimeUnit.MILLISECONDS.toNanos(50), "Debe esperar lugar antes de desbordar");
+        assertTrue(cola.encolar(5));
+        assertEquals(4, cola.pendientes());
+
+        bloqueo.countDown();
+        cola.detener(Duration.ofSeconds(5));
+        assertEquals(List.of(1, 2, 3, 4, 5), publicados);
+        assertFalse(cola.encolar(6));
+    }
+}
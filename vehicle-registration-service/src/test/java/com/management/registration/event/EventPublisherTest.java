@@ -0,0 +1,166 @@
+package com.management.registration.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.resilience.DependenciaProtegida;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventPublisherTest {
+
+    private SqsClient sqsClient;
+    private DependenciaProtegida sqsDependencia;
+    private EventoPendienteStore eventoPendienteStore;
+    private EventPublisher eventPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sqsClient = mock(SqsClient.class);
+        ObjectProvider<SqsClient> proveedor = mock(ObjectProvider.class);
+        when(proveedor.getIfAvailable()).thenReturn(sqsClient);
+        when(proveedor.getObject()).thenReturn(sqsClient);
+        sqsDependencia = mock(DependenciaProtegida.class);
+        when(sqsDependencia.ejecutar(any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(0)).get());
+        eventoPendienteStore = mock(EventoPendienteStore.class);
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        EventoCodecs codecs = new EventoCodecs(List.of(new JsonEventoCodec(objectMapper)), "json");
+        eventPublisher = new EventPublisher(proveedor, objectMapper, sqsDependencia, eventoPendienteStore, codecs,
+                new SimpleMeterRegistry(), mock(ConfigurableBeanFactory.class));
+        ReflectionTestUtils.setField(eventPublisher, "queueUrl", "http://localhost/000000000000/eventos.fifo");
+        ReflectionTestUtils.setField(eventPublisher, "sqsEnabled", true);
+        ReflectionTestUtils.setField(eventPublisher, "eventosPorMensaje", 1);
+        ReflectionTestUtils.setField(eventPublisher, "grupo", "solicitud");
+    }
+
+    @Test
+    @DisplayName("FIFO: si SQS no acepta un mensaje, los siguientes de su grupo deben ir a pendientes y no a SQS")
+    void publicarLote_FalloParcial_DebeApartarLoQueSigueDelGrupo() {
+        UUID conFallo = UUID.randomUUID();
+        List<Object> eventos = new ArrayList<>();
+        IntStream.rangeClosed(1, 3).forEach(version -> eventos.add(evento(conFallo, version)));
+        IntStream.range(0, 9).forEach(i -> eventos.add(evento(UUID.randomUUID(), 1)));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            List<SendMessageBatchRequestEntry> entradas = inv.<SendMessageBatchRequest>getArgument(0).entries();
+            // Rechaza el mensaje del grupo con fallo y acepta el resto
+            return SendMessageBatchResponse.builder()
+                    .failed(entradas.stream()
+                            .filter(entrada -> entrada.messageGroupId().equals(conFallo.toString()))
+                            .map(entrada -> BatchResultErrorEntry.builder()
+                                    .id(entrada.id()).code("InternalError").senderFault(false).build())
+                            .toList())
+                    .successful(entradas.stream()
+                            .filter(entrada -> !entrada.messageGroupId().equals(conFallo.toString()))
+                            .map(entrada -> SendMessageBatchResultEntry.builder().id(entrada.id()).build())
+                            .toList())
+                    .build();
+        });
+
+        eventPublisher.publicarLote(eventos);
+
+        ArgumentCaptor<SendMessageBatchRequest> enviados = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient).sendMessageBatch(enviados.capture());
+        assertEquals(10, enviados.getValue().entries().size());
+        InOrder orden = inOrder(eventoPendienteStore);
+        orden.verify(eventoPendienteStore).guardar(deduplicaciones(clave(conFallo, 1)), eq("fallo parcial de SendMessageBatch"));
+        orden.verify(eventoPendienteStore).guardar(deduplicaciones(clave(conFallo, 2)), eq("grupo con eventos pendientes"));
+        orden.verify(eventoPendienteStore).guardar(deduplicaciones(clave(conFallo, 3)), eq("grupo con eventos pendientes"));
+        verifyNoMoreInteractions(sqsClient);
+    }
+
+    @Test
+    @DisplayName("FIFO: debe volver a consultar los grupos con pendientes antes de cada lote")
+    void publicarLote_DebeConsultarPendientesPorLote() {
+        UUID aparecePendiente = UUID.randomUUID();
+        UUID otra = UUID.randomUUID();
+        List<Object> eventos = List.of(evento(aparecePendiente, 1), evento(otra, 1),
+                evento(aparecePendiente, 2), evento(otra, 2));
+        // Otro nodo guarda un pendiente de la primera solicitud entre el primer y el segundo lote
+        when(eventoPendienteStore.gruposConPendientes(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(aparecePendiente.toString()));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder().build());
+
+        eventPublisher.publicarLote(eventos);
+
+        ArgumentCaptor<SendMessageBatchRequest> enviados = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(2)).sendMessageBatch(enviados.capture());
+        assertEquals(List.of(List.of(aparecePendiente.toString(), otra.toString()), List.of(otra.toString())),
+                enviados.getAllValues().stream()
+                        .map(request -> request.entries().stream().map(SendMessageBatchRequestEntry::messageGroupId).toList())
+                        .toList());
+        verify(eventoPendienteStore).guardar(deduplicaciones(clave(aparecePendiente, 2)), eq("grupo con eventos pendientes"));
+    }
+
+    @Test
+    @DisplayName("FIFO: cada lote debe llevar a lo más un mensaje por grupo, en el orden del grupo")
+    void lotesFifo_UnMensajePorGrupo() {
+        List<MensajeEvento> mensajes = new ArrayList<>();
+        IntStream.range(0, 3).forEach(i -> mensajes.add(mensaje("a", "a" + i)));
+        IntStream.range(0, 12).forEach(i -> mensajes.add(mensaje("g" + i, "g" + i)));
+
+        List<List<String>> lotes = EventPublisher.lotesFifo(mensajes).stream()
+                .map(lote -> lote.stream().map(MensajeEvento::deduplicacion).toList())
+                .toList();
+
+        assertEquals(List.of(
+                List.of("a0", "g0", "g1", "g2", "g3", "g4", "g5", "g6", "g7", "g8"),
+                List.of("a1", "g9", "g10", "g11"),
+                List.of("a2")), lotes);
+    }
+
+    private static MensajeEvento mensaje(String grupo, String deduplicacion) {
+        return new MensajeEvento("{}", "application/json", 1, grupo, deduplicacion);
+    }
+
+    private static List<MensajeEvento> deduplicaciones(String... claves) {
+        return argThat(mensajes -> mensajes.stream().map(MensajeEvento::deduplicacion).toList().equals(List.of(claves)));
+    }
+
+    private static String clave(UUID id, long version) {
+        return SolicitudEstadoCambiadoEvent.TIPO + ":" + id + ":" + version;
+    }
+
+    private static SolicitudEstadoCambiadoEvent evento(UUID id, long version) {
+        return SolicitudEstadoCambiadoEvent.fromCambio(CambioEstadoResponse.builder()
+                .id(id)
+                .patente("BCDF12")
+                .estadoAnterior(EstadoSolicitud.PENDIENTE)
+                .estado(EstadoSolicitud.EN_REVISION)
+                .version(version)
+                .fechaActualizacion(LocalDateTime.now())
+                .build());
+    }
+}
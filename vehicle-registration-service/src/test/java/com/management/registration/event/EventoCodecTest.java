@@ -0,0 +1,81 @@
+package com.management.registration.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventoCodecTest {
+
+    private final JsonEventoCodec json = new JsonEventoCodec(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    private final BinarioEventoCodec binario = new BinarioEventoCodec();
+    private final EventoCodecs codecs = new EventoCodecs(List.of(json, binario), "binario");
+
+    @Test
+    @DisplayName("El formato binario debe reconstruir los eventos, incluidos nulos y texto no ASCII")
+    void binario_IdaYVuelta() {
+        SolicitudCreadaEvent creada = SolicitudCreadaEvent.fromSolicitud(
+                UUID.randomUUID(), "BCDF12", "José Ñúñez", "12345678-5", null);
+        SolicitudEstadoCambiadoEvent cambio = SolicitudEstadoCambiadoEvent.fromCambio(CambioEstadoResponse.builder()
+                .id(UUID.randomUUID())
+                .patente("BCDF12")
+                .estadoAnterior(EstadoSolicitud.EN_REVISION)
+                .estado(EstadoSolicitud.APROBADA)
+                .version(7L)
+                .fechaActualizacion(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999))
+                .build());
+        SolicitudEstadoCambiadoEvent sinDatos = new SolicitudEstadoCambiadoEvent();
+        sinDatos.setEventType(SolicitudEstadoCambiadoEvent.TIPO);
+
+        List<Object> eventos = List.of(creada, cambio, sinDatos);
+
+        assertEquals(eventos, binario.decodificar(binario.codificar(eventos)));
+    }
+
+    @Test
+    @DisplayName("Un evento en binario debe ocupar al menos un 40% menos que en JSON")
+    void binario_MasCompactoQueJson() {
+        List<SolicitudCreadaEvent> evento = List.of(SolicitudCreadaEvent.fromSolicitud(
+                UUID.randomUUID(), "BCDF12", "Juan Pérez González", "12345678-5", "juan.perez@example.com"));
+
+        // Aun con el 33% extra de Base64
+        assertTrue(binario.codificar(evento).length() < json.codificar(evento).length() * 0.6);
+    }
+
+    @Test
+    @DisplayName("JSON debe mantener el objeto suelto para un evento y usar arreglo para varios")
+    void json_ObjetoOArreglo() {
+        SolicitudCreadaEvent uno = SolicitudCreadaEvent.fromSolicitud(
+                UUID.randomUUID(), "BCDF12", "Ana", "12345678-5", "ana@example.com");
+        SolicitudCreadaEvent dos = SolicitudCreadaEvent.fromSolicitud(
+                UUID.randomUUID(), "GHJK34", "Luis", "11111111-1", "luis@example.com");
+
+        assertTrue(json.codificar(List.of(uno)).startsWith("{"));
+        assertEquals(List.of(uno), json.decodificar(json.codificar(List.of(uno))));
+        assertEquals(List.of(uno, dos), json.decodificar(json.codificar(List.of(uno, dos))));
+    }
+
+    @Test
+    @DisplayName("Debe elegir el codec por content-type (JSON sin atributo) y rechazar versiones desconocidas")
+    void codecs_PorTipoContenido() {
+        assertSame(binario, codecs.publicacion());
+        assertSame(binario, codecs.porTipoContenido(binario.tipoContenido()));
+        assertSame(json, codecs.porTipoContenido(null));
+        assertThrows(IllegalArgumentException.class, () -> codecs.porTipoContenido("text/plain"));
+
+        String otraVersion = Base64.getEncoder().encodeToString(new byte[]{2, 0});
+        assertThrows(IllegalArgumentException.class, () -> binario.decodificar(otraVersion));
+    }
+}
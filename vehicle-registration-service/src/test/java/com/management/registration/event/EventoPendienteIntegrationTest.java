@@ -0,0 +1,182 @@
+package com.management.registration.event;
+
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Respaldo de eventos cuando SQS no está disponible (la cola de LocalStack aún no existe) y su reenvío
+ */
+@SpringBootTest
+@Testcontainers
+class EventoPendienteIntegrationTest {
+
+    private static final String COLA = "eventos-solicitudes";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static LocalStackContainer localstack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3"))
+            .withServices(LocalStackContainer.Service.SQS);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("aws.region", localstack::getRegion);
+        registry.add("aws.endpoint-url", () -> localstack.getEndpoint().toString());
+        registry.add("aws.s3.enabled", () -> "false");
+        registry.add("aws.sqs.enabled", () -> "true");
+        registry.add("aws.sqs.queue-url", () -> localstack.getEndpoint() + "/000000000000/" + COLA);
+        // El reenvío se ejecuta a mano en cada prueba
+        registry.add("app.resilience.sqs.redrive-interval", () -> "1h");
+        registry.add("app.warmup.enabled", () -> "false");
+    }
+
+    @BeforeAll
+    static void configurarCredenciales() {
+        System.setProperty("aws.accessKeyId", localstack.getAccessKey());
+        System.setProperty("aws.secretAccessKey", localstack.getSecretKey());
+    }
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private EventoPendienteStore eventoPendienteStore;
+
+    @Autowired
+    private EventoPendienteReenvioJob eventoPendienteReenvioJob;
+
+    @Autowired
+    private SqsClient sqsClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM eventos_pendientes");
+    }
+
+    @Test
+    @DisplayName("Con SQS no disponible los eventos quedan en eventos_pendientes y el job los reenvía al recuperarse")
+    void publicar_SqsNoDisponible_DebeGuardarYReenviar() throws Exception {
+        assertThrows(QueueDoesNotExistException.class, () -> sqsClient.getQueueUrl(r -> r.queueName(COLA)));
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        eventPublisher.publicarCambiosEstado(ids.stream().map(this::cambio).toList());
+
+        esperar(() -> pendientes() == ids.size());
+        // Sin SQS el job no debe perder lo guardado
+        eventoPendienteReenvioJob.reenviar();
+        assertEquals(ids.size(), pendientes());
+
+        String url = sqsClient.createQueue(r -> r.queueName(COLA)).queueUrl();
+        eventoPendienteReenvioJob.reenviar();
+
+        assertEquals(0, pendientes());
+        List<Message> recibidos = new ArrayList<>();
+        esperar(() -> {
+            recibidos.addAll(sqsClient.receiveMessage(r -> r.queueUrl(url).maxNumberOfMessages(10)).messages());
+            return recibidos.size() >= ids.size();
+        });
+        for (UUID id : ids) {
+            assertTrue(recibidos.stream().anyMatch(mensaje -> mensaje.body().contains(id.toString())));
+        }
+    }
+
+    @Test
+    @DisplayName("Reclamos concurrentes deben repartirse las filas (SKIP LOCKED) y un rollback debe devolverlas")
+    void reclamar_Concurrente_NoDebeRepetirFilas() throws Exception {
+        eventoPendienteStore.guardar(List.of(
+                new MensajeEvento("{\"n\":1}", "application/json", 1),
+                new MensajeEvento("{\"n\":2}", "application/json", 1),
+                new MensajeEvento("{\"n\":3}", "application/json", 1)), "prueba");
+
+        CountDownLatch reclamadas = new CountDownLatch(1);
+        CountDownLatch terminar = new CountDownLatch(1);
+        CompletableFuture<List<MensajeEvento>> primero = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<MensajeEvento> mensajes = eventoPendienteStore.reclamar(2);
+                    reclamadas.countDown();
+                    await(terminar);
+                    // Como un reenvío fallido: el lote vuelve a la tabla
+                    status.setRollbackOnly();
+                    return mensajes;
+                }));
+        assertTrue(reclamadas.await(10, TimeUnit.SECONDS));
+
+        List<MensajeEvento> segundo = transactionTemplate.execute(status -> eventoPendienteStore.reclamar(10));
+        terminar.countDown();
+
+        assertEquals(List.of("{\"n\":1}", "{\"n\":2}"),
+                primero.get(10, TimeUnit.SECONDS).stream().map(MensajeEvento::cuerpo).toList());
+        assertEquals(List.of("{\"n\":3}"), segundo.stream().map(MensajeEvento::cuerpo).toList());
+        assertEquals(2, pendientes());
+    }
+
+    private CambioEstadoResponse cambio(UUID id) {
+        return CambioEstadoResponse.builder()
+                .id(id)
+                .patente("BCDF" + (10 + (id.hashCode() & 0x3f)))
+                .estadoAnterior(EstadoSolicitud.PENDIENTE)
+                .estado(EstadoSolicitud.EN_REVISION)
+                .version(1L)
+                .fechaActualizacion(LocalDateTime.now())
+                .build();
+    }
+
+    private int pendientes() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM eventos_pendientes", Integer.class);
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Condición no alcanzada en 15 s");
+            Thread.sleep(100);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.management.registration.event;
+
+import com.management.registration.entity.EstadoSolicitud;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgOutputDecoderTest {
+
+    private static final int OID = 16385;
+    private static final String[] COLUMNAS = {"id", "patente", "nombre_propietario", "rut", "email",
+            "estado", "version", "fecha_creacion", "fecha_actualizacion"};
+
+    private final PgOutputDecoder decoder = new PgOutputDecoder();
+    private final UUID id = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Un INSERT de solicitudes debe producir SolicitudCreada con la fecha de la fila")
+    void insert_SolicitudCreada() throws IOException {
+        decoder.decodificar(relacion());
+
+        Object evento = CdcSolicitudesPublisher.evento((PgOutputDecoder.Fila) decoder.decodificar(
+                mensaje('I', salida -> {
+                    salida.writeByte('N');
+                    tupla(salida, "PENDIENTE", "0", null);
+                })));
+
+        SolicitudCreadaEvent creada = assertInstanceOf(SolicitudCreadaEvent.class, evento);
+        assertEquals(id, creada.getSolicitudId());
+        assertEquals("BCDF12", creada.getPatente());
+        assertEquals("José Ñúñez", creada.getNombrePropietario());
+        assertNull(creada.getEmail());
+        assertEquals(LocalDateTime.of(2026, 10, 19, 12, 34, 56, 123_456_000), creada.getFechaCreacion());
+        assertEquals(SolicitudCreadaEvent.TIPO, creada.getEventType());
+    }
+
+    @Test
+    @DisplayName("Un UPDATE debe publicar el cambio de estado con el de origen y omitir los que no cambian el estado")
+    void update_SoloCambiosDeEstado() throws IOException {
+        decoder.decodificar(relacion());
+
+        Object cambio = CdcSolicitudesPublisher.evento((PgOutputDecoder.Fila) decoder.decodificar(
+                mensaje('U', salida -> {
+                    salida.writeByte('O');
+                    tupla(salida, "PENDIENTE", "0", null);
+                    salida.writeByte('N');
+                    tupla(salida, "EN_REVISION", "1", "2026-10-19 13:00:00");
+                })));
+        Object sinCambio = CdcSolicitudesPublisher.evento((PgOutputDecoder.Fila) decoder.decodificar(
+                mensaje('U', salida -> {
+                    salida.writeByte('O');
+                    tupla(salida, "EN_REVISION", "1", null);
+                    salida.writeByte('N');
+                    tupla(salida, "EN_REVISION", "2", "2026-10-19 13:05:00");
+                })));
+
+        SolicitudEstadoCambiadoEvent evento = assertInstanceOf(SolicitudEstadoCambiadoEvent.class, cambio);
+        assertEquals(EstadoSolicitud.PENDIENTE, evento.getEstadoAnterior());
+        assertEquals(EstadoSolicitud.EN_REVISION, evento.getEstadoNuevo());
+        assertEquals(1L, evento.getVersion());
+        assertEquals(LocalDateTime.of(2026, 10, 19, 13, 0), evento.getFechaCambio());
+        assertNull(sinCambio);
+    }
+
+    @Test
+    @DisplayName("Debe leer los LSN de BEGIN y COMMIT e ignorar los mensajes que no interesan")
+    void inicioYConfirmacion() throws IOException {
+        PgOutputDecoder.Inicio inicio = assertInstanceOf(PgOutputDecoder.Inicio.class, decoder.decodificar(
+                mensaje('B', salida -> {
+                    salida.writeLong(0x16B3748L);
+                    salida.writeLong(814_000_000_000_000L);
+                    salida.writeInt(750);
+                })));
+        PgOutputDecoder.Confirmacion commit = assertInstanceOf(PgOutputDecoder.Confirmacion.class,
+                decoder.decodificar(mensaje('C', salida -> {
+                    salida.writeByte(0);
+                    salida.writeLong(0x16B3748L);
+                    salida.writeLong(0x16B3778L);
+                    salida.writeLong(814_000_000_000_000L);
+                })));
+
+        assertEquals(750, inicio.xid());
+        assertEquals(0x16B3778L, commit.lsnFin());
+        assertNull(decoder.decodificar(mensaje('D', salida -> salida.writeInt(OID))));
+    }
+
+    private interface Escritura {
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+
+    private static ByteBuffer mensaje(char tipo, Escritura cuerpo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream salida = new DataOutputStream(bytes);
+        salida.writeByte(tipo);
+        if (tipo == 'I' || tipo == 'U') {
+            salida.writeInt(OID);
+        }
+        cuerpo.escribir(salida);
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer relacion() throws IOException {
+        return mensaje('R', salida -> {
+            salida.writeInt(OID);
+            texto(salida, "public");
+            texto(salida, "solicitudes");
+            salida.writeByte('f');
+            salida.writeShort(COLUMNAS.length);
+            for (String columna : COLUMNAS) {
+                salida.writeByte(1);
+                texto(salida, columna);
+                salida.writeInt(25);
+                salida.writeInt(-1);
+            }
+        });
+    }
+
+    private void tupla(DataOutputStream salida, String estado, String version, String fechaActualizacion)
+            throws IOException {
+        String[] valores = {id.toString(), "BCDF12", "José Ñúñez", "12345678-5", null,
+                estado, version, "2026-10-19 12:34:56.123456", fechaActualizacion};
+        salida.writeShort(valores.length);
+        for (String valor : valores) {
+            if (valor == null) {
+                salida.writeByte('n');
+            } else {
+                byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+                salida.writeByte('t');
+                salida.writeInt(bytes.length);
+                salida.write(bytes);
+            }
+        }
+    }
+
+    private static void texto(DataOutputStream salida, String valor) throws IOException {
+        salida.write(valor.getBytes(StandardCharsets.UTF_8));
+        salida.writeByte(0);
+    }
+}
@@ -0,0 +1,136 @@
+package com.management.registration.idempotency;
+
+import com.management.registration.exception.ClaveIdempotenciaReutilizadaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(reloj::get);
+        ReflectionTestUtils.setField(store, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(store, "maxEntradas", 2);
+        ReflectionTestUtils.setField(store, "esperaMaxima", Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Debe repetir la respuesta original sin volver a ejecutar")
+    void ejecutar_MismaClave_DebeRepetirRespuesta() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        ResponseEntity<String> original = store.ejecutar("k1", "cuerpo", () -> creada(ejecuciones));
+        ResponseEntity<String> repetida = store.ejecutar("k1", "cuerpo", () -> creada(ejecuciones));
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals(original.getBody(), repetida.getBody());
+        assertEquals("true", repetida.getHeaders().getFirst(IdempotencyStore.HEADER_REPETIDA));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la misma clave con otro cuerpo")
+    void ejecutar_OtroCuerpo_DebeLanzarExcepcion() {
+        store.ejecutar("k1", "cuerpo", () -> creada(new AtomicInteger()));
+
+        assertThrows(ClaveIdempotenciaReutilizadaException.class, () ->
+                store.ejecutar("k1", "otro", () -> creada(new AtomicInteger())));
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar una sola vez con duplicados concurrentes")
+    void ejecutar_DuplicadosConcurrentes_DebeEjecutarUnaVez() throws Exception {
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<String>> primera = executor.submit(() -> store.ejecutar("k1", "cuerpo", () -> {
+                enCurso.countDown();
+                await(liberar);
+                return creada(ejecuciones);
+            }));
+            enCurso.await();
+
+            List<Future<ResponseEntity<String>>> duplicadas = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                duplicadas.add(executor.submit(() -> store.ejecutar("k1", "cuerpo", () -> creada(ejecuciones))));
+            }
+            liberar.countDown();
+
+            assertEquals(HttpStatus.CREATED, primera.get().getStatusCode());
+            for (Future<ResponseEntity<String>> duplicada : duplicadas) {
+                assertEquals(primera.get().getBody(), duplicada.get().getBody());
+            }
+            assertEquals(1, ejecuciones.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe liberar la clave si la operación falla y respetar TTL y tamaño máximo")
+    void ejecutar_FallaVencimientoYLimite() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> store.ejecutar("k1", "cuerpo", () -> {
+            throw new IllegalStateException("falla");
+        }));
+        store.ejecutar("k1", "cuerpo", () -> creada(ejecuciones));
+        assertEquals(1, ejecuciones.get());
+
+        store.ejecutar("k2", "cuerpo", () -> creada(ejecuciones));
+        store.ejecutar("k3", "cuerpo", () -> creada(ejecuciones));
+        assertEquals(2, store.getEntradas());
+
+        reloj.addAndGet(Duration.ofMinutes(11).toNanos());
+        store.ejecutar("k3", "cuerpo", () -> creada(ejecuciones));
+        assertEquals(4, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Las claves que fallan no deben quedar retenidas en la cola de vencimiento")
+    void ejecutar_ClavesUnicasQueFallan_NoDebenAcumularse() {
+        for (int i = 0; i < 100; i++) {
+            String clave = "error-" + i;
+            assertThrows(IllegalStateException.class, () -> store.ejecutar(clave, "cuerpo", () -> {
+                throw new IllegalStateException("falla");
+            }));
+        }
+        store.ejecutar("k1", "cuerpo", () -> creada(new AtomicInteger()));
+
+        assertEquals(1, store.getEntradas());
+        assertEquals(1, ((Queue<?>) ReflectionTestUtils.getField(store, "orden")).size());
+    }
+
+    private ResponseEntity<String> creada(AtomicInteger ejecuciones) {
+        return ResponseEntity.status(HttpStatus.CREATED).body("solicitud-" + ejecuciones.incrementAndGet());
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.management.registration.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.event.SolicitudCreadaEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SerializadoresModuleTest {
+
+    // La versión va en el ETag y no en el cuerpo
+    private final ObjectMapper reflexivo = mapper(false).addMixIn(SolicitudResponse.class, SinVersion.class);
+    private final ObjectMapper conModulo = mapper(false).registerModule(new SerializadoresModule());
+
+    @Test
+    @DisplayName("SolicitudResponse debe serializarse igual que con introspección, con y sin nulos")
+    void solicitudResponse_MismoJson() throws Exception {
+        SolicitudResponse completa = SolicitudResponse.builder()
+                .id(UUID.randomUUID())
+                .nombrePropietario("José \"Pepe\" Núñez\n")
+                .rut("12345678-5")
+                .email("jose@example.com")
+                .telefono("+56912345678")
+                .patente("BCDF12")
+                .marca("Toyota")
+                .modelo("Yaris")
+                .anio(2020)
+                .color("Rojo")
+                .tipoVehiculo("AUTOMOVIL")
+                .estado(EstadoSolicitud.EN_REVISION)
+                .observaciones("Revisión \\ pendiente")
+                .fechaCreacion(LocalDateTime.of(2024, 3, 1, 10, 0))
+                .fechaActualizacion(LocalDateTime.of(2024, 3, 1, 10, 0, 5, 123_456_000))
+                .version(7L)
+                .build();
+
+        assertEquals(reflexivo.writeValueAsString(completa), conModulo.writeValueAsString(completa));
+        assertFalse(conModulo.readTree(conModulo.writeValueAsString(completa)).has("version"));
+        for (LocalDateTime fecha : List.of(
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 1),
+                LocalDateTime.of(987, 1, 2, 3, 4, 5, 500_000_000),
+                LocalDateTime.of(12345, 6, 7, 8, 9))) {
+            completa.setFechaCreacion(fecha);
+            assertEquals(reflexivo.writeValueAsString(completa), conModulo.writeValueAsString(completa));
+        }
+        assertEquals(reflexivo.writeValueAsString(new SolicitudResponse()),
+                conModulo.writeValueAsString(new SolicitudResponse()));
+    }
+
+    @Test
+    @DisplayName("SolicitudCreadaEvent debe serializarse igual que con introspección, también con fechas numéricas")
+    void solicitudCreadaEvent_MismoJson() throws Exception {
+        SolicitudCreadaEvent evento = SolicitudCreadaEvent.fromSolicitud(
+                UUID.randomUUID(), "BCDF12", "José Núñez", "12345678-5", "jose@example.com");
+
+        assertEquals(reflexivo.writeValueAsString(evento), conModulo.writeValueAsString(evento));
+        assertEquals(mapper(true).writeValueAsString(evento),
+                mapper(true).registerModule(new SerializadoresModule()).writeValueAsString(evento));
+    }
+
+    private abstract static class SinVersion {
+        @JsonIgnore
+        abstract Long getVersion();
+    }
+
+    private static ObjectMapper mapper(boolean fechasNumericas) {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, fechasNumericas);
+    }
+}
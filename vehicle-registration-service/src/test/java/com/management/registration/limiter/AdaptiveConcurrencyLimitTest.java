@@ -0,0 +1,64 @@
+package com.management.registration.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long VENTANA = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Debe rechazar sobre el límite sin encolar")
+    void intentarAdquirir_SobreLimite_DebeRechazar() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(2, 1, 10, VENTANA, 0);
+
+        assertTrue(limite.intentarAdquirir());
+        assertTrue(limite.intentarAdquirir());
+        assertFalse(limite.intentarAdquirir());
+
+        limite.liberar(10 * MILIS, 0);
+        assertTrue(limite.intentarAdquirir());
+    }
+
+    @Test
+    @DisplayName("Debe crecer con latencia estable y bajar cuando la latencia se dispara")
+    void actualizar_SigueGradienteDeLatencia() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(10, 4, 100, VENTANA, 0);
+        long ahora = 0;
+
+        // Latencia estable de 10 ms con el límite completamente usado
+        for (int ventana = 0; ventana < 20; ventana++) {
+            ahora = simularVentana(limite, ahora, 10 * MILIS);
+        }
+        int limiteEstable = limite.getLimite();
+        assertTrue(limiteEstable > 10, "el límite debe crecer: " + limiteEstable);
+
+        // La base se satura: la latencia se multiplica por 5
+        for (int ventana = 0; ventana < 10; ventana++) {
+            ahora = simularVentana(limite, ahora, 50 * MILIS);
+        }
+        assertTrue(limite.getLimite() < limiteEstable / 2, "el límite debe bajar: " + limite.getLimite());
+        assertTrue(limite.getLimite() >= 4);
+    }
+
+    // Ocupa todo el límite, libera con la latencia indicada y cierra la ventana
+    private long simularVentana(AdaptiveConcurrencyLimit limite, long ahora, long rtt) {
+        int ocupados = 0;
+        while (limite.intentarAdquirir()) {
+            ocupados++;
+        }
+        for (int i = 0; i < Math.max(ocupados, 10); i++) {
+            if (i < ocupados) {
+                limite.liberar(rtt, ahora);
+            }
+        }
+        ahora += VENTANA;
+        limite.actualizar(ahora);
+        return ahora;
+    }
+}
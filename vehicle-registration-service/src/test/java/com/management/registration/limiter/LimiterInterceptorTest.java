@@ -0,0 +1,73 @@
+package com.management.registration.limiter;
+
+import com.management.registration.exception.LimiteTasaExcedidoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiterInterceptorTest {
+
+    private RequestLimiter requestLimiter;
+    private LimiterInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        requestLimiter = new RequestLimiter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(requestLimiter, "tasaPorSegundo", 1.0);
+        ReflectionTestUtils.setField(requestLimiter, "rafaga", 3);
+        ReflectionTestUtils.setField(requestLimiter, "maxClientes", 5);
+        ReflectionTestUtils.setField(requestLimiter, "limiteInicial", 100);
+        ReflectionTestUtils.setField(requestLimiter, "limiteMinimo", 1);
+        ReflectionTestUtils.setField(requestLimiter, "limiteMaximo", 100);
+        ReflectionTestUtils.setField(requestLimiter, "ventana", Duration.ofSeconds(1));
+
+        interceptor = new LimiterInterceptor(requestLimiter);
+        ReflectionTestUtils.setField(interceptor, "headerCliente", "X-Api-Key");
+        ReflectionTestUtils.setField(interceptor, "clavesConocidas", Set.of("clave-socio"));
+    }
+
+    @Test
+    @DisplayName("Una API key desconocida no debe evitar el límite de la IP")
+    void preHandle_ClavesDesconocidas_DebenLimitarsePorIp() {
+        for (int i = 0; i < 3; i++) {
+            interceptor.preHandle(peticion("10.0.0.1", "clave-" + i), new MockHttpServletResponse(), null);
+        }
+
+        assertThrows(LimiteTasaExcedidoException.class, () ->
+                interceptor.preHandle(peticion("10.0.0.1", "clave-nueva"), new MockHttpServletResponse(), null));
+        // Una clave conocida tiene su propio bucket
+        assertTrue(interceptor.preHandle(peticion("10.0.0.1", "clave-socio"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("Los buckets no deben superar el máximo de clientes, descartando el menos reciente")
+    void preHandle_MuchasIps_DebeAcotarBuckets() {
+        for (int i = 0; i < 50; i++) {
+            interceptor.preHandle(peticion("10.0.1." + i, null), new MockHttpServletResponse(), null);
+        }
+
+        Map<?, ?> buckets = (Map<?, ?>) ReflectionTestUtils.getField(requestLimiter, "buckets");
+        assertEquals(5, buckets.size());
+        assertTrue(buckets.containsKey("ip:10.0.1.49"));
+        assertFalse(buckets.containsKey("ip:10.0.1.0"));
+    }
+
+    private MockHttpServletRequest peticion(String ip, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/solicitudes");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, " + ip);
+        if (apiKey != null) {
+            request.addHeader("X-Api-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,31 @@
+package com.management.registration.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Debe permitir la ráfaga completa y luego la tasa sostenida")
+    void intentarConsumir_RafagaYRecarga() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.intentarConsumir(0));
+        }
+        long espera = bucket.intentarConsumir(0);
+        assertEquals(SEGUNDO / 10, espera);
+
+        // Tras 100 ms se recarga exactamente un token
+        assertEquals(0, bucket.intentarConsumir(SEGUNDO / 10));
+        assertTrue(bucket.intentarConsumir(SEGUNDO / 10) > 0);
+        assertFalse(bucket.estaLleno(SEGUNDO / 10));
+        assertTrue(bucket.estaLleno(SEGUNDO));
+    }
+}
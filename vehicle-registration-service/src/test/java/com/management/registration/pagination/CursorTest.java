@@ -0,0 +1,36 @@
+package com.management.registration.pagination;
+
+import com.management.registration.exception.CursorInvalidoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    @DisplayName("Un cursor codificado debe leerse con los mismos valores")
+    void codificarYLeer() {
+        UUID id = UUID.randomUUID();
+
+        String cursor = Cursor.codificar(0.73913044f, id);
+        Object[] valores = Cursor.leer(cursor, 2, partes ->
+                new Object[]{Float.parseFloat(partes[0]), UUID.fromString(partes[1])});
+
+        assertFalse(cursor.contains("="));
+        assertEquals(0.73913044f, valores[0]);
+        assertEquals(id, valores[1]);
+    }
+
+    @Test
+    @DisplayName("Un cursor que no es Base64, con otra cantidad de partes o con valores inválidos debe rechazarse")
+    void cursorInvalido() {
+        String dosPartes = Cursor.codificar(1.0f, "no-es-uuid");
+
+        assertThrows(CursorInvalidoException.class, () -> Cursor.leer("zzz", 2, partes -> partes));
+        assertThrows(CursorInvalidoException.class, () -> Cursor.leer(Cursor.codificar("a"), 2, partes -> partes));
+        assertThrows(CursorInvalidoException.class, () -> Cursor.leer(dosPartes, 2, partes -> UUID.fromString(partes[1])));
+    }
+}
@@ -0,0 +1,84 @@
+package com.management.registration.resilience;
+
+import com.management.registration.exception.DependenciaNoDisponibleException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker breaker = new CircuitBreaker("sqs", 50, 10, 4,
+            Duration.ofSeconds(30), 2, meterRegistry, reloj::get);
+
+    @Test
+    @DisplayName("Debe abrirse al superar la tasa de fallos y rechazar sin llamar a la dependencia")
+    void ejecutar_TasaDeFallos_AbreYFallaRapido() {
+        DependenciaProtegida sqs = new DependenciaProtegida("sqs", breaker,
+                new Bulkhead("sqs", 5, Duration.ZERO, meterRegistry));
+        AtomicInteger llamadas = new AtomicInteger();
+
+        sqs.ejecutar(llamadas::incrementAndGet);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> sqs.ejecutar(() -> {
+                llamadas.incrementAndGet();
+                throw new IllegalStateException("timeout");
+            }));
+        }
+        assertEquals(CircuitBreaker.Estado.ABIERTO, breaker.getEstado());
+
+        DependenciaNoDisponibleException rechazo = assertThrows(DependenciaNoDisponibleException.class,
+                () -> sqs.ejecutar(llamadas::incrementAndGet));
+        assertEquals(4, llamadas.get());
+        assertEquals(30, rechazo.getReintentarEnSegundos());
+        assertEquals(1.0, meterRegistry.get("app.circuit-breaker.state").gauge().value());
+        assertFalse(sqs.estaDisponible());
+    }
+
+    @Test
+    @DisplayName("Debe cerrarse tras las llamadas de prueba exitosas y reabrirse con un fallo en semi-abierto")
+    void permitir_SemiAbierto_CierraOReabre() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.permitir());
+            breaker.registrarFallo();
+        }
+        assertEquals(CircuitBreaker.Estado.ABIERTO, breaker.getEstado());
+
+        reloj.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.permitir());
+        assertEquals(CircuitBreaker.Estado.SEMI_ABIERTO, breaker.getEstado());
+        breaker.registrarFallo();
+        assertEquals(CircuitBreaker.Estado.ABIERTO, breaker.getEstado());
+
+        reloj.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.permitir());
+        assertTrue(breaker.permitir());
+        // Solo dos llamadas de prueba a la vez
+        assertFalse(breaker.permitir());
+        breaker.registrarExito();
+        breaker.registrarExito();
+        assertEquals(CircuitBreaker.Estado.CERRADO, breaker.getEstado());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cuando el bulkhead no tiene cupo sin contar un fallo")
+    void ejecutar_BulkheadLleno_Rechaza() {
+        Bulkhead bulkhead = new Bulkhead("s3", 1, Duration.ZERO, meterRegistry);
+        DependenciaProtegida s3 = new DependenciaProtegida("s3", breaker, bulkhead);
+
+        assertTrue(bulkhead.adquirir());
+        assertThrows(DependenciaNoDisponibleException.class, () -> s3.ejecutar(() -> "url"));
+        bulkhead.liberar();
+
+        assertEquals("url", s3.ejecutar(() -> "url"));
+        assertEquals(CircuitBreaker.Estado.CERRADO, breaker.getEstado());
+        assertEquals(1.0, meterRegistry.get("app.bulkhead.rejected").counter().count());
+    }
+}
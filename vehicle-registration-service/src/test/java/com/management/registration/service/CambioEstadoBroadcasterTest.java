@@ -0,0 +1,113 @@
+package com.management.registration.service;
+
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.exception.SuscripcionesAgotadasException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CambioEstadoBroadcasterTest {
+
+    private CambioEstadoBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new CambioEstadoBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "maxSuscriptores", 3);
+    }
+
+    @Test
+    @DisplayName("Debe enviar el cambio a los suscriptores de la solicitud y a los filtros que coinciden")
+    void publicar_DebeRespetarSuscripcionYFiltro() throws Exception {
+        UUID id = UUID.randomUUID();
+        SseEmitter deLaSolicitud = mock(SseEmitter.class);
+        SseEmitter enRevision = mock(SseEmitter.class);
+        SseEmitter aprobadas = mock(SseEmitter.class);
+        broadcaster.registrar(id, deLaSolicitud);
+        broadcaster.registrar(Set.of(EstadoSolicitud.EN_REVISION), enRevision);
+        broadcaster.registrar(Set.of(EstadoSolicitud.APROBADA), aprobadas);
+
+        broadcaster.publicar(CambioEstadoResponse.builder()
+                .id(id)
+                .estadoAnterior(EstadoSolicitud.PENDIENTE)
+                .estado(EstadoSolicitud.EN_REVISION)
+                .version(1L)
+                .build());
+
+        verify(deLaSolicitud, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(enRevision, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(aprobadas, after(200).never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar suscripciones sobre el máximo y liberar cupo al cancelar")
+    void registrar_SobreMaximo_DebeLanzarExcepcion() {
+        SseEmitter primero = mock(SseEmitter.class);
+        broadcaster.registrar(UUID.randomUUID(), primero);
+        broadcaster.registrar(UUID.randomUUID(), mock(SseEmitter.class));
+        broadcaster.registrar(Set.of(), mock(SseEmitter.class));
+
+        assertThrows(SuscripcionesAgotadasException.class, () ->
+                broadcaster.registrar(Set.of(), mock(SseEmitter.class)));
+
+        broadcaster.cancelar(primero);
+        assertEquals(2, broadcaster.getSuscripcionesActivas());
+    }
+
+    @Test
+    @DisplayName("Debe enviar en orden a cada suscriptor y descartar versiones que no son más nuevas")
+    void enviar_DebeMantenerOrdenYDescartarVersionesViejas() throws Exception {
+        UUID id = UUID.randomUUID();
+        SseEmitter emitter = mock(SseEmitter.class);
+        CountDownLatch liberarPrimerEnvio = new CountDownLatch(1);
+        doAnswer(inv -> liberarPrimerEnvio.await(1, TimeUnit.SECONDS))
+                .doNothing()
+                .when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        broadcaster.registrar(id, emitter);
+
+        // El cambio a v2 llega antes que el estado inicial (v1), leído antes de ese cambio
+        broadcaster.publicar(cambio(id, 2L));
+        broadcaster.enviar(emitter, cambio(id, 1L));
+        broadcaster.publicar(cambio(id, 3L));
+        liberarPrimerEnvio.countDown();
+
+        ArgumentCaptor<SseEmitter.SseEventBuilder> enviados = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, timeout(1000).times(2)).send(enviados.capture());
+        verify(emitter, after(200).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(List.of(id + ":2", id + ":3"), enviados.getAllValues().stream().map(this::idEvento).toList());
+    }
+
+    private CambioEstadoResponse cambio(UUID id, long version) {
+        return CambioEstadoResponse.builder()
+                .id(id)
+                .estado(EstadoSolicitud.EN_REVISION)
+                .version(version)
+                .build();
+    }
+
+    private String idEvento(SseEmitter.SseEventBuilder evento) {
+        String texto = evento.build().stream()
+                .map(parte -> parte.getData().toString())
+                .collect(Collectors.joining());
+        return texto.lines()
+                .filter(linea -> linea.startsWith("id:"))
+                .map(linea -> linea.substring(3))
+                .findFirst()
+                .orElseThrow();
+    }
+}
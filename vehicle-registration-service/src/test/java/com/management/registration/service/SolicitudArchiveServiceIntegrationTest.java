@@ -0,0 +1,126 @@
+package com.management.registration.service;
+
+import com.management.registration.dto.response.SolicitudResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.repository.SolicitudArchivadaRepository;
+import com.management.registration.repository.SolicitudRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class SolicitudArchiveServiceIntegrationTest {
+
+    private static final String BUCKET = "fleet-documents";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static LocalStackContainer localstack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3"))
+            .withServices(LocalStackContainer.Service.S3);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("aws.region", localstack::getRegion);
+        registry.add("aws.endpoint-url", () -> localstack.getEndpoint().toString());
+        registry.add("aws.s3.enabled", () -> "true");
+        registry.add("aws.s3.bucket-name", () -> BUCKET);
+        registry.add("aws.sqs.enabled", () -> "false");
+        registry.add("app.archival.older-than", () -> "30d");
+    }
+
+    @BeforeAll
+    static void configurarCredenciales() {
+        // DefaultCredentialsProvider toma las credenciales de LocalStack desde las propiedades del sistema
+        System.setProperty("aws.accessKeyId", localstack.getAccessKey());
+        System.setProperty("aws.secretAccessKey", localstack.getSecretKey());
+    }
+
+    @Autowired
+    private SolicitudArchiveService solicitudArchiveService;
+
+    @Autowired
+    private SolicitudService solicitudService;
+
+    @Autowired
+    private SolicitudRepository solicitudRepository;
+
+    @Autowired
+    private SolicitudArchivadaRepository solicitudArchivadaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() {
+        if (s3Client.listBuckets().buckets().stream().noneMatch(b -> b.name().equals(BUCKET))) {
+            s3Client.createBucket(b -> b.bucket(BUCKET));
+        }
+        solicitudArchivadaRepository.deleteAll();
+        solicitudRepository.deleteAll();
+    }
+
+    private UUID insertar(String patente, EstadoSolicitud estado, LocalDateTime actualizada) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO solicitudes (id, nombre_propietario, rut, email, patente, marca, modelo, anio,
+                                         estado, version, fecha_creacion, fecha_actualizacion)
+                VALUES (?, 'Juan Pérez', '123456789', 'juan@example.com', ?, 'Toyota', 'Corolla', 2020,
+                        ?, 0, ?, ?)
+                """, id, patente, estado.name(), actualizada.minusDays(10), actualizada);
+        return id;
+    }
+
+    @Test
+    @DisplayName("Debe mover a S3 solo las solicitudes terminales antiguas y recuperarlas por ID")
+    void archivarLote_DebeMoverTerminalesYPermitirLectura() {
+        UUID archivable = insertar("ABCD12", EstadoSolicitud.COMPLETADA, LocalDateTime.now().minusDays(60));
+        UUID reciente = insertar("ABCD13", EstadoSolicitud.RECHAZADA, LocalDateTime.now().minusDays(1));
+        UUID pendiente = insertar("ABCD14", EstadoSolicitud.PENDIENTE, LocalDateTime.now().minusDays(60));
+
+        int archivadas = solicitudArchiveService.archivarLote();
+
+        assertEquals(1, archivadas);
+        assertFalse(solicitudRepository.existsById(archivable));
+        assertTrue(solicitudRepository.existsById(reciente));
+        assertTrue(solicitudRepository.existsById(pendiente));
+        assertEquals(1, s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(BUCKET).prefix("archivo/solicitudes/").build()).keyCount());
+
+        SolicitudResponse recuperada = solicitudService.obtenerSolicitudPorId(archivable);
+        assertEquals("ABCD12", recuperada.getPatente());
+        assertEquals(EstadoSolicitud.COMPLETADA, recuperada.getEstado());
+        // El archivo guarda la versión para el ETag, aunque el cuerpo de la API no la lleve
+        assertEquals(0L, recuperada.getVersion());
+
+        // La patente archivada sigue registrada
+        assertTrue(solicitudRepository.existsByPatente("ABCD12"));
+        assertEquals(0, solicitudArchiveService.archivarLote());
+    }
+}
@@ -1,6 +1,9 @@
 package com.management.registration.service;
 
+import com.management.registration.concurrency.SingleFlight;
+import com.management.registration.datasource.RecentWritesTracker;
 import com.management.registration.dto.request.CrearSolicitudRequest;
+import com.management.registration.dto.response.CompactPageResponse;
 import com.management.registration.dto.response.SolicitudResponse;
 import com.management.registration.entity.EstadoSolicitud;
 import com.management.registration.entity.Solicitud;
@@ -9,6 +12,7 @@ import com.management.registration.exception.PatenteYaRegistradaException;
 import com.management.registration.exception.SolicitudNotFoundException;
 import com.management.registration.repository.SolicitudRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -25,7 +30,9 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +49,16 @@ public class SolicitudServiceTest {
     @Mock
     private EventPublisher eventPublisher;
 
+    @Mock
+    private RecentWritesTracker recentWritesTracker;
+
+    @Mock
+    private SolicitudArchiveService solicitudArchiveService;
+
+    @Spy
+    private SingleFlight<UUID, SolicitudResponse> lecturasSolicitud =
+            new SingleFlight<>("solicitud-por-id", new SimpleMeterRegistry());
+
     @InjectMocks
     private SolicitudService solicitudService;
 
@@ -167,8 +184,11 @@ public class SolicitudServiceTest {
     void obtenerSolicitudes_ConPaginacion_DebeRetornarPagina() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Solicitud> page = new PageImpl<>(List.of(solicitudMock));
-        when(solicitudRepository.findAll(pageable)).thenReturn(page);
+        Page<SolicitudResponse> page = new PageImpl<>(List.of(SolicitudResponse.builder()
+                .id(solicitudMock.getId())
+                .patente(solicitudMock.getPatente())
+                .build()));
+        when(solicitudRepository.findAllProyectadas(pageable)).thenReturn(page);
 
         // When
         Page<SolicitudResponse> result = solicitudService.obtenerSolicitudes(pageable);
@@ -176,7 +196,8 @@ public class SolicitudServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(solicitudRepository).findAll(pageable);
+        verify(solicitudRepository).findAllProyectadas(pageable);
+        verify(solicitudRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -195,6 +216,23 @@ public class SolicitudServiceTest {
         verify(solicitudRepository).findById(id);
     }
 
+    @Test
+    @DisplayName("Tras una escritura reciente no debe sumarse a una lectura compartida ya en curso")
+    void obtenerSolicitudPorId_EscrituraReciente_NoDebeUsarSingleFlight() {
+        // Given
+        UUID id = solicitudMock.getId();
+        solicitudMock.setVersion(3L);
+        when(recentWritesTracker.esReciente(id)).thenReturn(true);
+        when(solicitudRepository.findById(id)).thenReturn(Optional.of(solicitudMock));
+
+        // When
+        SolicitudResponse response = solicitudService.obtenerSolicitudPorId(id);
+
+        // Then
+        assertEquals(3L, response.getVersion());
+        verify(lecturasSolicitud, never()).ejecutar(any(), any());
+    }
+
     @Test
     @DisplayName("Debe lanzar excepción cuando solicitud no existe")
     void obtenerSolicitudPorId_IdInvalido_DebeLanzarExcepcion() {
@@ -207,4 +245,24 @@ public class SolicitudServiceTest {
                 solicitudService.obtenerSolicitudPorId(id)
         );
     }
+
+    @Test
+    @DisplayName("Debe indicar hasNext leyendo una fila extra sin contar")
+    void obtenerSolicitudesCompactas_FilaExtra_DebeIndicarHasNext() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 2);
+        Set<String> campos = Set.of("patente");
+        List<Map<String, Object>> filas = List.of(
+                Map.of("patente", "ABCD12"), Map.of("patente", "BCDF34"), Map.of("patente", "CDFG56"));
+        when(solicitudRepository.findCampos(campos, null, null, pageable, 3)).thenReturn(filas);
+
+        // When
+        CompactPageResponse<Map<String, Object>> response =
+                solicitudService.obtenerSolicitudesCompactas(campos, null, null, pageable);
+
+        // Then
+        assertEquals(2, response.getItems().size());
+        assertTrue(response.isHasNext());
+        verify(solicitudRepository, never()).count();
+    }
 }
@@ -0,0 +1,211 @@
+package com.management.registration.service;
+
+import com.management.registration.datasource.RecentWritesTracker;
+import com.management.registration.dto.response.CambioEstadoResponse;
+import com.management.registration.dto.response.TransicionLoteResponse;
+import com.management.registration.entity.EstadoSolicitud;
+import com.management.registration.entity.Solicitud;
+import com.management.registration.event.EventPublisher;
+import com.management.registration.exception.SolicitudAsignadaException;
+import com.management.registration.exception.TransicionInvalidaException;
+import com.management.registration.repository.SolicitudRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransicionEstadoServiceTest {
+
+    @Mock
+    private SolicitudRepository solicitudRepository;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private RecentWritesTracker recentWritesTracker;
+
+    @InjectMocks
+    private TransicionEstadoService transicionEstadoService;
+
+    private final UUID id = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transicionEstadoService, "maxIntentos", 3);
+        ReflectionTestUtils.setField(transicionEstadoService, "backoffInicial", Duration.ofMillis(1));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Debe reintentar ante conflicto de versión y publicar un solo evento")
+    void transicionar_ConflictoDeVersion_DebeReintentar() {
+        when(solicitudRepository.findById(id))
+                .thenAnswer(invocation -> Optional.of(solicitud(EstadoSolicitud.PENDIENTE, 0L)));
+        when(solicitudRepository.saveAndFlush(any(Solicitud.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Solicitud.class, id))
+                .thenAnswer(invocation -> {
+                    Solicitud guardada = invocation.getArgument(0);
+                    guardada.setVersion(1L);
+                    return guardada;
+                });
+
+        CambioEstadoResponse cambio = transicionEstadoService.transicionar(id, EstadoSolicitud.EN_REVISION, null, null, null);
+
+        assertEquals(EstadoSolicitud.PENDIENTE, cambio.getEstadoAnterior());
+        assertEquals(EstadoSolicitud.EN_REVISION, cambio.getEstado());
+        assertEquals(1L, cambio.getVersion());
+        verify(solicitudRepository, times(2)).saveAndFlush(any(Solicitud.class));
+        verify(eventPublisher).publicarCambiosEstado(List.of(cambio));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar transiciones no permitidas sin guardar ni publicar")
+    void transicionar_TransicionInvalida_DebeLanzarExcepcion() {
+        when(solicitudRepository.findById(id))
+                .thenReturn(Optional.of(solicitud(EstadoSolicitud.RECHAZADA, 3L)));
+
+        assertThrows(TransicionInvalidaException.class, () ->
+                transicionEstadoService.transicionar(id, EstadoSolicitud.COMPLETADA, null, null, null));
+
+        verify(solicitudRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Una solicitud reclamada solo la resuelve el dueño del lease vigente, que queda liberado")
+    void transicionar_SolicitudReclamada_DebeExigirDuenoDelLease() {
+        Solicitud reclamada = solicitud(EstadoSolicitud.EN_REVISION, 1L);
+        reclamada.setRevisor("ana");
+        reclamada.setLeaseExpira(LocalDateTime.now().plusMinutes(10));
+        when(solicitudRepository.findById(id)).thenReturn(Optional.of(reclamada));
+        when(solicitudRepository.saveAndFlush(any(Solicitud.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(SolicitudAsignadaException.class, () ->
+                transicionEstadoService.transicionar(id, EstadoSolicitud.APROBADA, null, "luis", null));
+        assertThrows(SolicitudAsignadaException.class, () ->
+                transicionEstadoService.transicionar(id, EstadoSolicitud.APROBADA, null, null, null));
+        verify(solicitudRepository, never()).saveAndFlush(any());
+
+        transicionEstadoService.transicionar(id, EstadoSolicitud.APROBADA, null, "ana", null);
+
+        assertNull(reclamada.getRevisor());
+        assertNull(reclamada.getLeaseExpira());
+        assertEquals(EstadoSolicitud.APROBADA, reclamada.getEstado());
+    }
+
+    @Test
+    @DisplayName("Con el lease vencido ni su dueño puede resolverla: debe volver a reclamarse")
+    void transicionar_LeaseVencido_DebeRechazar() {
+        Solicitud reclamada = solicitud(EstadoSolicitud.EN_REVISION, 1L);
+        reclamada.setRevisor("ana");
+        reclamada.setLeaseExpira(LocalDateTime.now().minusSeconds(1));
+        when(solicitudRepository.findById(id)).thenReturn(Optional.of(reclamada));
+
+        assertThrows(SolicitudAsignadaException.class, () ->
+                transicionEstadoService.transicionar(id, EstadoSolicitud.RECHAZADA, null, "ana", null));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Lote mixto: debe publicar solo las aplicadas e informar el motivo de cada rechazo")
+    void transicionarLote_Mixto_DebeInformarRechazos() throws Exception {
+        UUID enRevision = UUID.randomUUID();
+        UUID yaAprobada = UUID.randomUUID();
+        UUID deOtroRevisor = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+        CambioEstadoResponse aplicada = CambioEstadoResponse.builder()
+                .id(enRevision)
+                .estadoAnterior(EstadoSolicitud.EN_REVISION)
+                .estado(EstadoSolicitud.APROBADA)
+                .version(2L)
+                .build();
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), ArgumentMatchers.<RowMapper<CambioEstadoResponse>>any()))
+                .thenReturn(List.of(aplicada));
+        LocalDateTime leaseAjeno = LocalDateTime.now().plusMinutes(10);
+        ResultSet filaAprobada = fila(yaAprobada, EstadoSolicitud.APROBADA, null, null);
+        ResultSet filaAjena = fila(deOtroRevisor, EstadoSolicitud.EN_REVISION, "luis", leaseAjeno);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(filaAprobada);
+            handler.processRow(filaAjena);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        TransicionLoteResponse respuesta = transicionEstadoService.transicionarLote(
+                List.of(enRevision, yaAprobada, deOtroRevisor, inexistente, enRevision), EstadoSolicitud.APROBADA,
+                null, "ana");
+
+        assertEquals(List.of(aplicada), respuesta.getAplicadas());
+        assertEquals(List.of(
+                new TransicionLoteResponse.Rechazo(yaAprobada, "No puede pasar de APROBADA a APROBADA"),
+                new TransicionLoteResponse.Rechazo(deOtroRevisor, "Asignada a luis hasta " + leaseAjeno),
+                new TransicionLoteResponse.Rechazo(inexistente, "Solicitud no encontrada")), respuesta.getRechazadas());
+        verify(recentWritesTracker).registrar(enRevision);
+        verify(eventPublisher).publicarCambiosEstado(List.of(aplicada));
+    }
+
+    @Test
+    @DisplayName("Lote hacia un estado sin orígenes: debe rechazar todo sin consultar la base")
+    void transicionarLote_DestinoSinOrigenes_DebeRechazarTodo() {
+        UUID otro = UUID.randomUUID();
+
+        TransicionLoteResponse respuesta = transicionEstadoService.transicionarLote(
+                List.of(id, otro, id), EstadoSolicitud.PENDIENTE, null, null);
+
+        assertTrue(respuesta.getAplicadas().isEmpty());
+        assertEquals(List.of(id, otro), respuesta.getRechazadas().stream()
+                .map(TransicionLoteResponse.Rechazo::getId).toList());
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    private ResultSet fila(UUID id, EstadoSolicitud estado, String revisor, LocalDateTime leaseExpira) throws Exception {
+        ResultSet fila = mock(ResultSet.class);
+        when(fila.getObject("id", UUID.class)).thenReturn(id);
+        when(fila.getString("estado")).thenReturn(estado.name());
+        lenient().when(fila.getString("revisor")).thenReturn(revisor);
+        lenient().when(fila.getObject("lease_expira", LocalDateTime.class)).thenReturn(leaseExpira);
+        return fila;
+    }
+
+    private Solicitud solicitud(EstadoSolicitud estado, Long version) {
+        return Solicitud.builder()
+                .id(id)
+                .patente("ABCD12")
+                .estado(estado)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.management.registration.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de humo contra una instancia ya levantada (por defecto http://localhost:8080).
+ * Recorren los caminos que en la imagen nativa dependen de metadatos de reflexión:
+ * Jackson, Bean Validation, Hibernate, manejo de errores y el presigner de S3.
+ * No corren con {@code test}: {@code ./gradlew smokeTest -PsmokeBaseUrl=...}
+ */
+@Tag("smoke")
+class ApiSmokeTest {
+
+    private static final String BASE_URL = System.getProperty("smoke.base-url", "http://localhost:8080");
+    private static final String SOLICITUDES = BASE_URL + "/api/v1/solicitudes";
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Health responde UP")
+    void health() throws Exception {
+        HttpResponse<String> response = get(BASE_URL + "/actuator/health");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("UP", json(response).get("status").asText());
+    }
+
+    @Test
+    @DisplayName("Crear y obtener una solicitud, con ETag y 304")
+    void crearYObtener() throws Exception {
+        String patente = patenteAleatoria();
+        HttpResponse<String> creada = post(SOLICITUDES, cuerpoSolicitud(patente), null);
+        assertEquals(201, creada.statusCode(), creada.body());
+        String id = json(creada).get("id").asText();
+
+        HttpResponse<String> obtenida = get(SOLICITUDES + "/" + id);
+        assertEquals(200, obtenida.statusCode());
+        assertEquals(patente, json(obtenida).get("patente").asText());
+        String etag = obtenida.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> sinCambios = http.send(HttpRequest.newBuilder(URI.create(SOLICITUDES + "/" + id))
+                .header("If-None-Match", etag)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, sinCambios.statusCode());
+    }
+
+    @Test
+    @DisplayName("Un reintento con la misma Idempotency-Key repite la respuesta")
+    void idempotencia() throws Exception {
+        String cuerpo = cuerpoSolicitud(patenteAleatoria());
+        String clave = UUID.randomUUID().toString();
+
+        HttpResponse<String> primera = post(SOLICITUDES, cuerpo, clave);
+        HttpResponse<String> repetida = post(SOLICITUDES, cuerpo, clave);
+
+        assertEquals(201, primera.statusCode(), primera.body());
+        assertEquals(201, repetida.statusCode());
+        assertEquals("true", repetida.headers().firstValue("Idempotent-Replayed").orElse(null));
+        assertEquals(json(primera).get("id"), json(repetida).get("id"));
+    }
+
+    @Test
+    @DisplayName("Validación, 404 y JSON malformado responden ErrorResponse")
+    void errores() throws Exception {
+        HttpResponse<String> invalida = post(SOLICITUDES,
+                cuerpoSolicitud(patenteAleatoria()).replace("12345678-5", "12345678-0"), null);
+        assertEquals(400, invalida.statusCode());
+        assertTrue(json(invalida).has("errors"), invalida.body());
+
+        HttpResponse<String> inexistente = get(SOLICITUDES + "/" + UUID.randomUUID());
+        assertEquals(404, inexistente.statusCode());
+        assertEquals(404, json(inexistente).get("status").asInt());
+
+        HttpResponse<String> malformada = post(SOLICITUDES, "{", null);
+        assertEquals(400, malformada.statusCode());
+    }
+
+    @Test
+    @DisplayName("Listado paginado y formato compacto")
+    void listados() throws Exception {
+        HttpResponse<String> pagina = get(SOLICITUDES + "?size=5");
+        assertEquals(200, pagina.statusCode());
+        assertTrue(json(pagina).get("content").isArray());
+
+        HttpResponse<String> compacta = get(SOLICITUDES + "?format=compact&size=5&fields=id,patente,estado");
+        assertEquals(200, compacta.statusCode(), compacta.body());
+    }
+
+    @Test
+    @DisplayName("Transición de estado y URL prefirmada")
+    void transicionYDocumento() throws Exception {
+        HttpResponse<String> creada = post(SOLICITUDES, cuerpoSolicitud(patenteAleatoria()), null);
+        String id = json(creada).get("id").asText();
+
+        HttpResponse<String> transicion = http.send(HttpRequest.newBuilder(URI.create(SOLICITUDES + "/" + id + "/estado"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"estado\":\"EN_REVISION\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, transicion.statusCode(), transicion.body());
+        assertEquals("EN_REVISION", json(transicion).get("estado").asText());
+
+        HttpResponse<String> url = post(SOLICITUDES + "/" + id + "/documentos/upload-url", "", null);
+        assertEquals(200, url.statusCode(), url.body());
+        assertTrue(json(url).get("uploadUrl").asText().startsWith("http"));
+    }
+
+    private HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String url, String cuerpo, String idempotencyKey)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String cuerpoSolicitud(String patente) {
+        return """
+                {"nombrePropietario":"Juan Pérez","rut":"12345678-5","email":"juan.perez@example.com",
+                 "telefono":"+56912345678","patente":"%s","marca":"Toyota","modelo":"Corolla","anio":2023}
+                """.formatted(patente);
+    }
+
+    // Formato nuevo (4 letras + 2 dígitos); las pruebas crean solicitudes reales, la patente no debe repetirse
+    private static String patenteAleatoria() {
+        String letras = "BCDFGHJKLPRSTVWXYZ";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder patente = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            patente.append(letras.charAt(random.nextInt(letras.length())));
+        }
+        return patente.append(String.format("%02d", random.nextInt(100))).toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.management.registration.startup;
+
+import com.management.registration.VehicleRegistrationServiceApplication;
+import com.management.registration.config.AwsClientWarmup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Mientras el warm-up no termina la tarea no debe recibir tráfico del ALB
+ */
+@Testcontainers
+class WarmUpReadinessIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final CountDownLatch liberarWarmUp = new CountDownLatch(1);
+    private static final CountDownLatch warmUpIniciado = new CountDownLatch(1);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Readiness debe responder 503 hasta que termina el warm-up y 200 después")
+    void readiness_DuranteWarmUp_DebeRechazarTrafico() throws Exception {
+        CompletableFuture<Integer> puerto = new CompletableFuture<>();
+        SpringApplication aplicacion = new SpringApplicationBuilder(
+                VehicleRegistrationServiceApplication.class, WarmUpBloqueado.class)
+                .listeners((ApplicationListener<WebServerInitializedEvent>) evento ->
+                        puerto.complete(evento.getWebServer().getPort()))
+                .build();
+        CompletableFuture<ConfigurableApplicationContext> contexto = CompletableFuture.supplyAsync(() -> aplicacion.run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--aws.s3.enabled=false",
+                "--aws.sqs.enabled=false",
+                "--app.warmup.timeout=60s"));
+
+        try {
+            int port = puerto.get(60, TimeUnit.SECONDS);
+            assertTrue(warmUpIniciado.await(60, TimeUnit.SECONDS));
+
+            assertEquals(503, estado(port, "/actuator/health/readiness"));
+            assertEquals(503, estado(port, "/api/v1/solicitudes/health"));
+            // La tarea está viva: ECS no debe reiniciarla mientras calienta
+            assertEquals(200, estado(port, "/actuator/health/liveness"));
+            assertFalse(contexto.isDone());
+
+            liberarWarmUp.countDown();
+            contexto.get(60, TimeUnit.SECONDS);
+
+            assertEquals(200, estado(port, "/actuator/health/readiness"));
+            assertEquals(200, estado(port, "/api/v1/solicitudes/health"));
+        } finally {
+            liberarWarmUp.countDown();
+            contexto.thenAccept(ConfigurableApplicationContext::close).get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private int estado(int port, String ruta) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ruta)).build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class WarmUpBloqueado {
+
+        // Reemplaza la inicialización de clientes de AWS por una que espera a la prueba
+        @Bean
+        @Primary
+        AwsClientWarmup awsClientWarmupBloqueado() {
+            AwsClientWarmup warmup = mock(AwsClientWarmup.class);
+            doAnswer(inv -> {
+                warmUpIniciado.countDown();
+                return liberarWarmUp.await(60, TimeUnit.SECONDS);
+            }).when(warmup).inicializar();
+            return warmup;
+        }
+    }
+}